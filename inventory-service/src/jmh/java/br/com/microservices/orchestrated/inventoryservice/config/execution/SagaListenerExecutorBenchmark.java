@@ -0,0 +1,112 @@
+package br.com.microservices.orchestrated.inventoryservice.config.execution;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import br.com.microservices.orchestrated.inventoryservice.core.enums.EExecutionMode;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, batchSize = 1)
+@Measurement(iterations = 5, batchSize = 1)
+@Fork(1)
+public class SagaListenerExecutorBenchmark {
+    
+    private static final int LANES = 1024;
+    
+    private static final String STEP_QUERY = "SELECT 1 FROM pg_sleep(0.002)";
+    
+    @Param({"CONTAINER", "PLATFORM", "VIRTUAL"})
+    private EExecutionMode mode;
+    
+    @Param({"1000", "10000", "50000"})
+    private int sagas;
+    
+    @Param({"20"})
+    private int poolSize;
+    
+    private HikariDataSource dataSource;
+    
+    private JdbcTemplate jdbcTemplate;
+    
+    private SagaListenerExecutor executor;
+    
+    private long[] latencies;
+    
+    private final List<Long> p99s = new ArrayList<>();
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.dataSource = new HikariDataSource();
+        this.dataSource.setJdbcUrl("jdbc:postgresql://%s:%s/%s".formatted(env("DB_HOST", "localhost"), env("DB_PORT", "5434"), env("DB_NAME", "inventory-db")));
+        this.dataSource.setUsername(env("DB_USER", "postgres"));
+        this.dataSource.setPassword(env("DB_PASSWORD", "postgres"));
+        this.dataSource.setMaximumPoolSize(this.poolSize);
+        
+        this.jdbcTemplate = new JdbcTemplate(this.dataSource);
+        this.executor = new SagaListenerExecutor(this.mode, LANES, this.poolSize, new KafkaListenerEndpointRegistry());
+        this.latencies = new long[this.sagas];
+    }
+    
+    @TearDown(Level.Iteration)
+    public void recordP99() {
+        final var sorted = Arrays.copyOf(this.latencies, this.latencies.length);
+        Arrays.sort(sorted);
+        this.p99s.add(sorted[(int) Math.ceil(sorted.length * 0.99) - 1]);
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        System.out.printf("%n%s with %d sagas: p99 per iteration (us) %s%n", this.mode, this.sagas,
+                          this.p99s.stream().map(nanos -> TimeUnit.NANOSECONDS.toMicros(nanos)).toList());
+        this.executor.shutdown();
+        this.dataSource.close();
+    }
+    
+    @Benchmark
+    public void concurrentSagas() throws InterruptedException {
+        final var completed = new CountDownLatch(this.sagas);
+        
+        for (int i = 0; i < this.sagas; i++) {
+            final var saga = i;
+            final var startedAt = System.nanoTime();
+            
+            this.executor.execute("transaction-" + saga,
+                                  () -> {
+                                      this.latencies[saga] = System.nanoTime() - startedAt;
+                                      completed.countDown();
+                                  },
+                                  () -> this.jdbcTemplate.queryForObject(STEP_QUERY, Integer.class));
+        }
+        
+        completed.await();
+    }
+    
+    private static String env(final String name, final String defaultValue) {
+        final var value = System.getenv(name);
+        return value == null ? defaultValue : value;
+    }
+    
+}
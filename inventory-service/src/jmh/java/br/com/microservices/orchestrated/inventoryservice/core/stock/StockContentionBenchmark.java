@@ -0,0 +1,99 @@
+package br.com.microservices.orchestrated.inventoryservice.core.stock;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import br.com.microservices.orchestrated.inventoryservice.core.dto.OrderProduct;
+import br.com.microservices.orchestrated.inventoryservice.core.dto.Product;
+import br.com.microservices.orchestrated.inventoryservice.core.repository.InventoryStockRepository;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class StockContentionBenchmark {
+    
+    private static final String PRODUCT_CODE = "BENCHMARK_HOT_PRODUCT";
+    
+    private static final int INITIAL_STOCK = 100_000_000;
+    
+    private static final List<OrderProduct> ORDER = List.of(new OrderProduct(new Product(PRODUCT_CODE, 10.0), 1));
+    
+    private HikariDataSource dataSource;
+    
+    private NamedParameterJdbcTemplate jdbcTemplate;
+    
+    private TransactionTemplate transactionTemplate;
+    
+    private DatabaseInventoryStock databaseStock;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.dataSource = new HikariDataSource();
+        this.dataSource.setJdbcUrl("jdbc:postgresql://%s:%s/%s".formatted(env("DB_HOST", "localhost"), env("DB_PORT", "5434"), env("DB_NAME", "inventory-db")));
+        this.dataSource.setUsername(env("DB_USER", "postgres"));
+        this.dataSource.setPassword(env("DB_PASSWORD", "postgres"));
+        this.dataSource.setMaximumPoolSize(16);
+        
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(this.dataSource);
+        this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(this.dataSource));
+        this.databaseStock = new DatabaseInventoryStock(new InventoryStockRepository(this.jdbcTemplate), this.transactionTemplate);
+        
+        this.jdbcTemplate.getJdbcTemplate().execute("CREATE TABLE IF NOT EXISTS inventory (id SERIAL PRIMARY KEY, product_code VARCHAR(255) NOT NULL, available INTEGER NOT NULL)");
+        this.jdbcTemplate.update("DELETE FROM inventory WHERE product_code = :productCode", Map.of("productCode", PRODUCT_CODE));
+        this.jdbcTemplate.update("INSERT INTO inventory (product_code, available) VALUES (:productCode, :available)",
+                                 Map.of("productCode", PRODUCT_CODE, "available", INITIAL_STOCK));
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.jdbcTemplate.update("DELETE FROM inventory WHERE product_code = :productCode", Map.of("productCode", PRODUCT_CODE));
+        this.dataSource.close();
+    }
+    
+    @Benchmark
+    public List<StockReservation> conditionalDecrement() {
+        return this.databaseStock.reserve(ORDER);
+    }
+    
+    @Benchmark
+    public Integer readModifyWrite() {
+        return this.transactionTemplate.execute(status -> {
+            final var available = this.jdbcTemplate.queryForObject("SELECT available FROM inventory WHERE product_code = :productCode",
+                                                                   Map.of("productCode", PRODUCT_CODE),
+                                                                   Integer.class);
+            this.jdbcTemplate.update("UPDATE inventory SET available = :available WHERE product_code = :productCode",
+                                     Map.of("productCode", PRODUCT_CODE, "available", available - 1));
+            return available;
+        });
+    }
+    
+    private static String env(final String name, final String defaultValue) {
+        final var value = System.getenv(name);
+        return value == null ? defaultValue : value;
+    }
+    
+}
@@ -0,0 +1,30 @@
+package br.com.microservices.orchestrated.inventoryservice.config.kafka;
+
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Deserializer;
+
+import br.com.microservices.orchestrated.inventoryservice.core.dto.Event;
+import br.com.microservices.orchestrated.inventoryservice.core.utils.JsonUtil;
+import lombok.AllArgsConstructor;
+
+@AllArgsConstructor
+public class EventDeserializer implements Deserializer<Event> {
+    
+    private final JsonUtil jsonUtil;
+    
+    @Override
+    public Event deserialize(final String topic, final byte[] data) {
+        if (data == null) {
+            return null;
+        }
+        
+        final var event = this.jsonUtil.toEvent(data);
+        
+        if (event == null) {
+            throw new SerializationException("Could not read event from topic " + topic);
+        }
+        
+        return event;
+    }
+    
+}
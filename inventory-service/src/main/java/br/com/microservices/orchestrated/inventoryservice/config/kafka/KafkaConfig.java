@@ -1,24 +1,35 @@
 package br.com.microservices.orchestrated.inventoryservice.config.kafka;
 
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
 
 import org.apache.kafka.clients.admin.NewTopic;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.annotation.EnableKafka;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.config.TopicBuilder;
 import org.springframework.kafka.core.ConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaProducerFactory;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.support.serializer.DelegatingByTypeSerializer;
+import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
 
+import br.com.microservices.orchestrated.inventoryservice.config.execution.SagaListenerExecutor;
+import br.com.microservices.orchestrated.inventoryservice.core.cache.ProcessedTransactionCache;
+import br.com.microservices.orchestrated.inventoryservice.core.dto.Event;
+import br.com.microservices.orchestrated.inventoryservice.core.enums.EProducerProfile;
+import br.com.microservices.orchestrated.inventoryservice.core.utils.JsonUtil;
 import lombok.RequiredArgsConstructor;
 
 @EnableKafka
@@ -26,19 +37,46 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class KafkaConfig {
     
-    private static final Integer PARTITION_COUNT = 1;
-    
     private static final Integer REPLICA_COUNT = 1;
     
+    private static final String DEAD_LETTER_SUFFIX = "-dlt";
+    
+    private final JsonUtil jsonUtil;
+    
+    private final ProcessedTransactionCache processedTransactionCache;
+    
+    private final SagaListenerExecutor sagaListenerExecutor;
+    
     @Value("${spring.kafka.bootstrap-servers}")
     private String bootstrapServers;
     
+    @Value("${spring.kafka.producer.profile}")
+    private EProducerProfile producerProfile;
+    
+    @Value("${spring.kafka.producer.compression-type}")
+    private String compressionType;
+    
+    @Value("${spring.kafka.producer.delivery-timeout}")
+    private Duration deliveryTimeout;
+    
+    @Value("${spring.kafka.producer.send-retry-backoff}")
+    private Duration sendRetryBackoff;
+    
     @Value("${spring.kafka.consumer.group-id}")
     private String groupId;
     
     @Value("${spring.kafka.consumer.auto-offset-reset}")
     private String autoOffsetReset;
     
+    @Value("${spring.kafka.consumer.isolation-level}")
+    private String isolationLevel;
+    
+    @Value("${spring.kafka.partitions}")
+    private Integer partitionCount;
+    
+    @Value("${spring.kafka.listener.concurrency}")
+    private Integer listenerConcurrency;
+    
     @Value("${spring.kafka.topic.orchestrator}")
     private String orchestratorTopic;
     
@@ -49,8 +87,8 @@ public class KafkaConfig {
     private String inventoryFailTopic;
     
     @Bean
-    public ConsumerFactory<String, String> consumerFactory() {
-        return new DefaultKafkaConsumerFactory<>(this.consumerProps());
+    public ConsumerFactory<String, Event> consumerFactory() {
+        return new DefaultKafkaConsumerFactory<>(this.consumerProps(), new StringDeserializer(), new ErrorHandlingDeserializer<>(new EventDeserializer(this.jsonUtil)));
     }
     
     private Map<String, Object> consumerProps() {
@@ -58,38 +96,66 @@ public class KafkaConfig {
         
         props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, this.bootstrapServers);
         props.put(ConsumerConfig.GROUP_ID_CONFIG, this.groupId);
-        props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
-        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
         props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, this.autoOffsetReset);
+        props.put(ConsumerConfig.ISOLATION_LEVEL_CONFIG, this.isolationLevel);
         
         return props;
     }
     
     @Bean
-    public ProducerFactory<String, String> producerFactory() {
-        return new DefaultKafkaProducerFactory<>(this.producerProps());
+    public ConcurrentKafkaListenerContainerFactory<String, Event> kafkaListenerContainerFactory(
+            final ConsumerFactory<String, Event> consumerFactory) {
+        
+        final var factory = new ConcurrentKafkaListenerContainerFactory<String, Event>();
+        factory.setConsumerFactory(consumerFactory);
+        factory.setConcurrency(this.listenerConcurrency);
+        factory.getContainerProperties().setConsumerRebalanceListener(new CacheWarmingRebalanceListener(this.processedTransactionCache));
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+        factory.getContainerProperties().setAsyncAcks(this.sagaListenerExecutor.isAsync());
+        factory.setRecordInterceptor(new SagaLogInterceptor());
+        
+        return factory;
+    }
+    
+    @Bean
+    public ProducerFactory<String, byte[]> producerFactory() {
+        return new DefaultKafkaProducerFactory<>(this.producerProps(), new StringSerializer(), new ByteArraySerializer());
     }
     
     private Map<String, Object> producerProps() {
         final Map<String, Object> props = new HashMap<>();
         
         props.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, this.bootstrapServers);
-        props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        props.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        props.put(ProducerConfig.ACKS_CONFIG, "all");
+        props.put(ProducerConfig.LINGER_MS_CONFIG, this.producerProfile.getLingerMs());
+        props.put(ProducerConfig.BATCH_SIZE_CONFIG, this.producerProfile.getBatchSize());
+        props.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, this.compressionType);
+        props.put(ProducerConfig.RETRIES_CONFIG, Integer.MAX_VALUE);
+        props.put(ProducerConfig.RETRY_BACKOFF_MS_CONFIG, (int) this.sendRetryBackoff.toMillis());
+        props.put(ProducerConfig.DELIVERY_TIMEOUT_MS_CONFIG, (int) this.deliveryTimeout.toMillis());
         
         return props;
     }
     
     @Bean
-    public KafkaTemplate<String, String> kafkaTemplate(final ProducerFactory<String, String> producerFactory) {
+    public KafkaTemplate<String, byte[]> kafkaTemplate(final ProducerFactory<String, byte[]> producerFactory) {
         return new KafkaTemplate<>(producerFactory);
     }
     
+    @Bean
+    public KafkaTemplate<String, Object> retryTopicKafkaTemplate() {
+        final var valueSerializer = new DelegatingByTypeSerializer(Map.of(byte[].class, new ByteArraySerializer(),
+                                                                          Event.class, new EventSerializer(this.jsonUtil)));
+        
+        return new KafkaTemplate<>(new DefaultKafkaProducerFactory<>(this.producerProps(), new StringSerializer(), valueSerializer));
+    }
+    
     private NewTopic buildTopic(final String name) {
         return TopicBuilder
                 .name(name)
                 .replicas(REPLICA_COUNT)
-                .partitions(PARTITION_COUNT)
+                .partitions(this.partitionCount)
                 .build();
     }
     
@@ -98,6 +164,11 @@ public class KafkaConfig {
         return this.buildTopic(this.orchestratorTopic);
     }
     
+    @Bean
+    public NewTopic orchestratorDeadLetterTopic() {
+        return this.buildTopic(this.orchestratorTopic + DEAD_LETTER_SUFFIX);
+    }
+    
     @Bean
     public NewTopic inventorySuccessTopic() {
         return this.buildTopic(this.inventorySuccessTopic);
@@ -0,0 +1,103 @@
+package br.com.microservices.orchestrated.inventoryservice.core.cache;
+
+import static org.springframework.util.ObjectUtils.isEmpty;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import br.com.microservices.orchestrated.inventoryservice.core.dto.ProcessedTransaction;
+import br.com.microservices.orchestrated.inventoryservice.core.repository.OrderInventoryRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Component
+public class ProcessedTransactionCache {
+    
+    private static final String KEY_SEPARATOR = "|";
+    
+    private final OrderInventoryRepository orderInventoryRepository;
+    
+    private final Cache<String, Boolean> processed;
+    
+    private final Counter databaseDuplicates;
+    
+    private final Counter databaseMisses;
+    
+    private final Duration ttl;
+    
+    private final int warmSize;
+    
+    public ProcessedTransactionCache(final OrderInventoryRepository orderInventoryRepository,
+                                     final MeterRegistry meterRegistry,
+                                     @Value("${saga.idempotency.maximum-size}") final long maximumSize,
+                                     @Value("${saga.idempotency.ttl}") final Duration ttl,
+                                     @Value("${saga.idempotency.warm-size}") final int warmSize) {
+        this.orderInventoryRepository = orderInventoryRepository;
+        this.processed = Caffeine.newBuilder().maximumSize(maximumSize).expireAfterWrite(ttl).recordStats().build();
+        this.databaseDuplicates = meterRegistry.counter("saga.idempotency.database.lookups", "result", "duplicate");
+        this.databaseMisses = meterRegistry.counter("saga.idempotency.database.lookups", "result", "new");
+        this.ttl = ttl;
+        this.warmSize = warmSize;
+        
+        CaffeineCacheMetrics.monitor(meterRegistry, this.processed, "saga.idempotency");
+    }
+    
+    public Optional<Boolean> findReleased(final String orderId, final String transactionId) {
+        final var key = this.key(orderId, transactionId);
+        final var released = this.processed.getIfPresent(key);
+        
+        if (!isEmpty(released)) {
+            return Optional.of(released);
+        }
+        
+        final var transactions = this.orderInventoryRepository.findByOrderIdAndTransactionId(orderId, transactionId);
+        
+        if (transactions.isEmpty()) {
+            this.databaseMisses.increment();
+            return Optional.empty();
+        }
+        
+        final var recorded = transactions.stream().anyMatch(ProcessedTransaction::isReleased);
+        this.databaseDuplicates.increment();
+        this.processed.put(key, recorded);
+        
+        return Optional.of(recorded);
+    }
+    
+    public void markProcessed(final String orderId, final String transactionId) {
+        this.processed.put(this.key(orderId, transactionId), Boolean.FALSE);
+    }
+    
+    public void markReleased(final String orderId, final String transactionId) {
+        this.processed.put(this.key(orderId, transactionId), Boolean.TRUE);
+    }
+    
+    public void warm() {
+        final var page = PageRequest.of(0, this.warmSize, Sort.by(Sort.Direction.DESC, "createdAt"));
+        final var transactions = this.orderInventoryRepository.findByCreatedAtAfter(LocalDateTime.now().minus(this.ttl), page);
+        
+        transactions.forEach(this::markProcessed);
+        log.info("Idempotency cache warmed with {} processed transactions", transactions.size());
+    }
+    
+    private void markProcessed(final ProcessedTransaction transaction) {
+        this.processed.asMap().merge(this.key(transaction.getOrderId(), transaction.getTransactionId()), transaction.isReleased(), Boolean::logicalOr);
+    }
+    
+    private String key(final String orderId, final String transactionId) {
+        return orderId + KEY_SEPARATOR + transactionId;
+    }
+    
+}
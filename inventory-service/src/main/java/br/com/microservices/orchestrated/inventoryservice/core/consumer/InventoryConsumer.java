@@ -1,40 +1,119 @@
 package br.com.microservices.orchestrated.inventoryservice.core.consumer;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.kafka.annotation.DltHandler;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.annotation.RetryableTopic;
+import org.springframework.kafka.listener.adapter.ConsumerRecordMetadata;
+import org.springframework.kafka.retrytopic.DltStrategy;
+import org.springframework.kafka.retrytopic.TopicSuffixingStrategy;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.retry.annotation.Backoff;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
 
+import br.com.microservices.orchestrated.inventoryservice.config.execution.SagaFailureRoute;
+import br.com.microservices.orchestrated.inventoryservice.config.execution.SagaListenerExecutor;
+import br.com.microservices.orchestrated.inventoryservice.core.dto.Event;
+import br.com.microservices.orchestrated.inventoryservice.core.producer.RetryTopicProducer;
 import br.com.microservices.orchestrated.inventoryservice.core.service.InventoryService;
-import br.com.microservices.orchestrated.inventoryservice.core.utils.JsonUtil;
-import lombok.AllArgsConstructor;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
-@AllArgsConstructor
+@RequiredArgsConstructor
 @Component
 public class InventoryConsumer {
     
-    private JsonUtil jsonUtil;
-    
     private final InventoryService inventoryService;
     
+    private final SagaListenerExecutor sagaListenerExecutor;
+    
+    private final RetryTopicProducer retryTopicProducer;
+    
+    @Value("${spring.kafka.topic.inventory-success}")
+    private String inventorySuccessTopic;
+    
+    @Value("${spring.kafka.topic.inventory-fail}")
+    private String inventoryFailTopic;
+    
+    @RetryableTopic(
+            attempts = "${saga.retry-topic.attempts}",
+            backoff = @Backoff(
+                    delayExpression = "${saga.retry-topic.initial-delay}",
+                    multiplierExpression = "${saga.retry-topic.multiplier}",
+                    maxDelayExpression = "${saga.retry-topic.max-delay}"
+            ),
+            include = {TransientDataAccessException.class, DataAccessResourceFailureException.class, CannotCreateTransactionException.class},
+            traversingCauses = "true",
+            numPartitions = "${spring.kafka.partitions}",
+            replicationFactor = "1",
+            kafkaTemplate = "retryTopicKafkaTemplate",
+            dltStrategy = DltStrategy.FAIL_ON_ERROR,
+            topicSuffixingStrategy = TopicSuffixingStrategy.SUFFIX_WITH_INDEX_VALUE
+    )
     @KafkaListener(
             groupId = "${spring.kafka.consumer.group-id}",
             topics = "${spring.kafka.topic.inventory-success}"
     )
-    public void consumeSuccessEvent(final String payload) {
-        log.info("Receiving success event {} from inventory-success topic", payload);
-        final var event = this.jsonUtil.toEvent(payload);
-        this.inventoryService.updateInventory(event);
+    public void consumeSuccessEvent(final Event event, final ConsumerRecordMetadata metadata, final Acknowledgment acknowledgment) {
+        log.info("Receiving success event from inventory-success topic");
+        log.debug("Event payload {}", event);
+        this.sagaListenerExecutor.execute(event.getTransactionId(), metadata, acknowledgment, () -> this.inventoryService.updateInventory(event),
+                                          this.failureRoute(this.inventorySuccessTopic, event));
     }
     
+    @RetryableTopic(
+            attempts = "${saga.retry-topic.attempts}",
+            backoff = @Backoff(
+                    delayExpression = "${saga.retry-topic.initial-delay}",
+                    multiplierExpression = "${saga.retry-topic.multiplier}",
+                    maxDelayExpression = "${saga.retry-topic.max-delay}"
+            ),
+            include = {TransientDataAccessException.class, DataAccessResourceFailureException.class, CannotCreateTransactionException.class},
+            traversingCauses = "true",
+            numPartitions = "${spring.kafka.partitions}",
+            replicationFactor = "1",
+            kafkaTemplate = "retryTopicKafkaTemplate",
+            dltStrategy = DltStrategy.FAIL_ON_ERROR,
+            topicSuffixingStrategy = TopicSuffixingStrategy.SUFFIX_WITH_INDEX_VALUE
+    )
     @KafkaListener(
             groupId = "${spring.kafka.consumer.group-id}",
             topics = "${spring.kafka.topic.inventory-fail}"
     )
-    public void consumeFailEvent(final String payload) {
-        log.info("Receiving rollback event {} from inventory-fail topic", payload);
-        final var event = this.jsonUtil.toEvent(payload);
-        this.inventoryService.rollbackInventory(event);
+    public void consumeFailEvent(final Event event, final ConsumerRecordMetadata metadata, final Acknowledgment acknowledgment) {
+        log.info("Receiving rollback event from inventory-fail topic");
+        log.debug("Event payload {}", event);
+        this.sagaListenerExecutor.execute(event.getTransactionId(), metadata, acknowledgment, () -> this.inventoryService.rollbackInventory(event),
+                                          this.failureRoute(this.inventoryFailTopic, event));
+    }
+    
+    @DltHandler
+    public void consumeDeadLetter(final Event event,
+                                  @Header(KafkaHeaders.RECEIVED_TOPIC) final String topic,
+                                  @Header(name = KafkaHeaders.DLT_EXCEPTION_MESSAGE, required = false) final byte[] exceptionMessage,
+                                  final Acknowledgment acknowledgment) {
+        final var message = exceptionMessage == null ? null : new String(exceptionMessage, UTF_8);
+        log.error("Receiving event parked on dead letter topic {}: {}", topic, message);
+        
+        if (topic.startsWith(this.inventoryFailTopic)) {
+            this.inventoryService.abandonInventoryRollback(event, message);
+        } else {
+            this.inventoryService.abandonInventoryUpdate(event, message);
+        }
+        
+        acknowledgment.acknowledge();
+    }
+    
+    private SagaFailureRoute failureRoute(final String topic, final Event event) {
+        return new SagaFailureRoute(topic, e -> this.retryTopicProducer.send(topic, event, e));
     }
     
 }
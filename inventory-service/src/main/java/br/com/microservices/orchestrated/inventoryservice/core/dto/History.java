@@ -2,6 +2,8 @@ package br.com.microservices.orchestrated.inventoryservice.core.dto;
 
 import java.time.LocalDateTime;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import br.com.microservices.orchestrated.inventoryservice.core.enums.ESagaStatus;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -12,6 +14,7 @@ import lombok.NoArgsConstructor;
 @Builder
 @AllArgsConstructor
 @NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class History {
     
     private String source;
@@ -22,4 +25,10 @@ public class History {
     
     private LocalDateTime createdAt;
     
+    private String code;
+    
+    private String detail;
+    
+    private Long timestamp;
+    
 }
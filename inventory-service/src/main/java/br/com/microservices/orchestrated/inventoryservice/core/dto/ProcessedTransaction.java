@@ -0,0 +1,11 @@
+package br.com.microservices.orchestrated.inventoryservice.core.dto;
+
+public interface ProcessedTransaction {
+    
+    String getOrderId();
+    
+    String getTransactionId();
+    
+    boolean isReleased();
+    
+}
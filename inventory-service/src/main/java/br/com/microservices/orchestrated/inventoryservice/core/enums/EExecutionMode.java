@@ -0,0 +1,9 @@
+package br.com.microservices.orchestrated.inventoryservice.core.enums;
+
+public enum EExecutionMode {
+    
+    CONTAINER,
+    PLATFORM,
+    VIRTUAL
+    
+}
@@ -0,0 +1,23 @@
+package br.com.microservices.orchestrated.inventoryservice.core.enums;
+
+import static org.springframework.util.ObjectUtils.isEmpty;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public enum EHistoryMessage {
+    
+    INVENTORY_SUCCESS("Inventory updated successfully!"),
+    INVENTORY_FAIL("Fail to update inventory"),
+    INVENTORY_ROLLBACK("Rollback executed for inventory!"),
+    INVENTORY_ROLLBACK_FAIL("Rollback not executed for inventory");
+    
+    private final String message;
+    
+    public String describe(final String detail) {
+        return isEmpty(detail) ? this.message : this.message.concat(": ").concat(detail);
+    }
+    
+}
@@ -48,6 +48,9 @@ public class OrderInventory {
     @Column(nullable = false)
     private Integer newQuantity;
     
+    @Column(nullable = false)
+    private boolean released;
+    
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
     
@@ -0,0 +1,71 @@
+package br.com.microservices.orchestrated.inventoryservice.core.producer;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
+
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.retrytopic.RetryTopicHeaders;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import br.com.microservices.orchestrated.inventoryservice.core.dto.Event;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Component
+public class RetryTopicProducer {
+    
+    private static final String FIRST_RETRY_SUFFIX = "-retry-0";
+    
+    private static final String DEAD_LETTER_SUFFIX = "-dlt";
+    
+    private static final int FIRST_RETRY_ATTEMPT = 2;
+    
+    private final KafkaTemplate<String, Object> retryTopicKafkaTemplate;
+    
+    private final long initialDelay;
+    
+    public RetryTopicProducer(final KafkaTemplate<String, Object> retryTopicKafkaTemplate,
+                              @Value("${saga.retry-topic.initial-delay}") final long initialDelay) {
+        this.retryTopicKafkaTemplate = retryTopicKafkaTemplate;
+        this.initialDelay = initialDelay;
+    }
+    
+    public CompletableFuture<SendResult<String, Object>> send(final String topic, final Event event, final Exception exception) {
+        final var retryable = isTransient(exception);
+        final var record = new ProducerRecord<String, Object>(topic + (retryable ? FIRST_RETRY_SUFFIX : DEAD_LETTER_SUFFIX), event.getTransactionId(), event);
+        record.headers().add(KafkaHeaders.DLT_ORIGINAL_TOPIC, topic.getBytes(UTF_8));
+        record.headers().add(KafkaHeaders.DLT_EXCEPTION_FQCN, exception.getClass().getName().getBytes(UTF_8));
+        record.headers().add(KafkaHeaders.DLT_EXCEPTION_MESSAGE, String.valueOf(exception.getMessage()).getBytes(UTF_8));
+        
+        if (retryable) {
+            record.headers().add(RetryTopicHeaders.DEFAULT_HEADER_ATTEMPTS, ByteBuffer.allocate(Integer.BYTES).putInt(FIRST_RETRY_ATTEMPT).array());
+            record.headers().add(RetryTopicHeaders.DEFAULT_HEADER_BACKOFF_TIMESTAMP, BigInteger.valueOf(System.currentTimeMillis() + this.initialDelay).toByteArray());
+        }
+        
+        log.error("Routing event {} that failed off the listener thread to {}", event.getTransactionId(), record.topic());
+        return this.retryTopicKafkaTemplate.send(record);
+    }
+    
+    private static boolean isTransient(final Throwable exception) {
+        for (var cause = exception; cause != null; cause = cause.getCause()) {
+            if (cause instanceof TransientDataAccessException
+                    || cause instanceof DataAccessResourceFailureException
+                    || cause instanceof CannotCreateTransactionException) {
+                return true;
+            }
+        }
+        
+        return false;
+    }
+    
+}
@@ -0,0 +1,80 @@
+package br.com.microservices.orchestrated.inventoryservice.core.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+import br.com.microservices.orchestrated.inventoryservice.core.model.Inventory;
+import lombok.AllArgsConstructor;
+
+@Repository
+@AllArgsConstructor
+public class InventoryStockRepository {
+    
+    private static final String APPEND_JOURNAL = "INSERT INTO inventory_journal (inventory_id, delta) VALUES (:id, :delta)";
+    
+    private static final String APPLY_JOURNAL = "WITH drained AS (DELETE FROM inventory_journal RETURNING inventory_id, delta) "
+            + "UPDATE inventory SET available = inventory.available + journal.delta "
+            + "FROM (SELECT inventory_id, SUM(delta) AS delta FROM drained GROUP BY inventory_id) journal "
+            + "WHERE inventory.id = journal.inventory_id";
+    
+    private static final String FIND_JOURNAL_DELTAS = "SELECT inventory_id, SUM(delta) AS delta FROM inventory_journal GROUP BY inventory_id";
+    
+    private static final String DECREMENT_IF_AVAILABLE = "UPDATE inventory SET available = available - :quantity WHERE product_code = :productCode AND available >= :quantity";
+    
+    private static final String INCREMENT = "UPDATE inventory SET available = available + :quantity WHERE product_code = :productCode";
+    
+    private static final String FIND_BY_PRODUCT_CODES = "SELECT id, product_code, available FROM inventory WHERE product_code IN (:productCodes)";
+    
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    
+    public void appendJournal(final Map<Integer, Integer> deltas) {
+        final var parameters = deltas.entrySet()
+                                     .stream()
+                                     .map(entry -> new MapSqlParameterSource().addValue("id", entry.getKey()).addValue("delta", entry.getValue()))
+                                     .toArray(SqlParameterSource[]::new);
+        
+        this.jdbcTemplate.batchUpdate(APPEND_JOURNAL, parameters);
+    }
+    
+    public int applyJournal() {
+        return this.jdbcTemplate.update(APPLY_JOURNAL, Map.of());
+    }
+    
+    public Map<Integer, Integer> findJournalDeltas() {
+        return this.jdbcTemplate
+                .query(FIND_JOURNAL_DELTAS, (resultSet, rowNum) -> Map.entry(resultSet.getInt("inventory_id"), resultSet.getInt("delta")))
+                .stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+    }
+    
+    public int[] decrementIfAvailable(final Map<String, Integer> quantities) {
+        return this.jdbcTemplate.batchUpdate(DECREMENT_IF_AVAILABLE, this.toParameters(quantities));
+    }
+    
+    public int[] increment(final Map<String, Integer> quantities) {
+        return this.jdbcTemplate.batchUpdate(INCREMENT, this.toParameters(quantities));
+    }
+    
+    public List<Inventory> findByProductCodes(final Collection<String> productCodes) {
+        return this.jdbcTemplate.query(FIND_BY_PRODUCT_CODES,
+                                       Map.of("productCodes", productCodes),
+                                       (resultSet, rowNum) -> new Inventory(resultSet.getInt("id"),
+                                                                            resultSet.getString("product_code"),
+                                                                            resultSet.getInt("available")));
+    }
+    
+    private SqlParameterSource[] toParameters(final Map<String, Integer> quantities) {
+        return quantities.entrySet()
+                         .stream()
+                         .map(entry -> new MapSqlParameterSource().addValue("productCode", entry.getKey()).addValue("quantity", entry.getValue()))
+                         .toArray(SqlParameterSource[]::new);
+    }
+    
+}
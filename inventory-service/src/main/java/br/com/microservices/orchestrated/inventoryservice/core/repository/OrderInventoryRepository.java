@@ -1,15 +1,27 @@
 package br.com.microservices.orchestrated.inventoryservice.core.repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import br.com.microservices.orchestrated.inventoryservice.core.dto.ProcessedTransaction;
 import br.com.microservices.orchestrated.inventoryservice.core.model.OrderInventory;
 
 public interface OrderInventoryRepository extends JpaRepository<OrderInventory, Integer> {
     
-    Boolean existsByOrderIdAndTransactionId(String orderId, String transactionId);
+    List<ProcessedTransaction> findByOrderIdAndTransactionId(String orderId, String transactionId);
     
-    List<OrderInventory> findByOrderIdAndTransactionId(String orderId, String transactionId);
+    List<OrderInventory> findByOrderIdAndTransactionIdAndReleasedFalse(String orderId, String transactionId);
+    
+    @Modifying
+    @Query("UPDATE OrderInventory o SET o.released = true, o.updatedAt = CURRENT_TIMESTAMP WHERE o.id = :id AND o.released = false")
+    int markReleased(@Param("id") Integer id);
+    
+    List<ProcessedTransaction> findByCreatedAtAfter(LocalDateTime createdAt, Pageable pageable);
     
 }
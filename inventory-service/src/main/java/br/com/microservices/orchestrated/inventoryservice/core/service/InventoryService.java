@@ -1,21 +1,25 @@
 package br.com.microservices.orchestrated.inventoryservice.core.service;
 
-import java.time.LocalDateTime;
+import java.util.Optional;
 
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.TransientDataAccessException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import br.com.microservices.orchestrated.inventoryservice.config.exception.ValidationException;
+import br.com.microservices.orchestrated.inventoryservice.core.cache.ProcessedTransactionCache;
 import br.com.microservices.orchestrated.inventoryservice.core.dto.Event;
-import br.com.microservices.orchestrated.inventoryservice.core.dto.History;
-import br.com.microservices.orchestrated.inventoryservice.core.dto.Order;
-import br.com.microservices.orchestrated.inventoryservice.core.dto.OrderProduct;
+import br.com.microservices.orchestrated.inventoryservice.core.enums.EHistoryMessage;
 import br.com.microservices.orchestrated.inventoryservice.core.enums.ESagaStatus;
-import br.com.microservices.orchestrated.inventoryservice.core.model.Inventory;
 import br.com.microservices.orchestrated.inventoryservice.core.model.OrderInventory;
 import br.com.microservices.orchestrated.inventoryservice.core.producer.KafkaProducer;
 import br.com.microservices.orchestrated.inventoryservice.core.repository.InventoryRepository;
 import br.com.microservices.orchestrated.inventoryservice.core.repository.OrderInventoryRepository;
-import br.com.microservices.orchestrated.inventoryservice.core.utils.JsonUtil;
+import br.com.microservices.orchestrated.inventoryservice.core.stock.InventoryStock;
+import br.com.microservices.orchestrated.inventoryservice.core.stock.StockReservation;
+import br.com.microservices.orchestrated.inventoryservice.core.utils.HistoryUtil;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -26,80 +30,99 @@ public class InventoryService {
     
     private static final String CURRENT_SOURCE = "INVENTORY_SERVICE";
     
-    private final JsonUtil jsonUtil;
-    
     private final KafkaProducer producer;
     
+    private final HistoryUtil historyUtil;
+    
     private final InventoryRepository inventoryRepository;
     
     private final OrderInventoryRepository orderInventoryRepository;
     
+    private final InventoryStock inventoryStock;
+    
+    private final ProcessedTransactionCache processedTransactionCache;
+    
+    private final TransactionTemplate transactionTemplate;
+    
     public void updateInventory(final Event event) {
         try {
-            this.checkCurrentValidation(event);
-            this.createOrderInventory(event);
-            this.updateInventory(event.getPayload());
+            final var recordedRelease = this.findRecordedRelease(event);
+            
+            if (recordedRelease.isPresent()) {
+                this.replayReservation(event, recordedRelease.get());
+            } else {
+                this.reserveInventory(event);
+            }
+            
             this.handleSuccess(event);
             
+        } catch (final TransientDataAccessException | DataAccessResourceFailureException | CannotCreateTransactionException e) {
+            log.warn("Transient error trying to update inventory, scheduling retry: {}", e.getMessage());
+            throw e;
+            
         } catch (final Exception e) {
             log.error("Error trying to update inventory: ", e);
             this.handleFailCurrentNotExecuted(event, e.getMessage());
         }
         
-        this.producer.sendEvent(this.jsonUtil.toJson(event));
+        this.producer.sendEvent(event);
+    }
+    
+    public void abandonInventoryUpdate(final Event event, final String message) {
+        this.handleFailCurrentNotExecuted(event, message);
+        this.producer.sendEvent(event);
+    }
+    
+    private Optional<Boolean> findRecordedRelease(final Event event) {
+        return this.processedTransactionCache.findReleased(event.getPayload().getId(), event.getTransactionId());
     }
     
-    private void checkCurrentValidation(final Event event) {
-        if (this.orderInventoryRepository.existsByOrderIdAndTransactionId(event.getPayload().getId(), event.getTransactionId())) {
-            throw new ValidationException("There's another transactionId for this validation.");
+    private void replayReservation(final Event event, final boolean released) {
+        if (released) {
+            throw new ValidationException("Inventory was already released for this transaction.");
         }
+        
+        log.info("Replaying recorded inventory reservation for transaction {}", event.getTransactionId());
     }
     
-    private void createOrderInventory(final Event event) {
-        event.getPayload().getProducts().forEach(product -> {
-            final var inventory = this.findInventoryByProductCode(product.getProduct().getCode());
-            final var orderInventory = this.createOrderInventory(event, product, inventory);
-            this.orderInventoryRepository.save(orderInventory);
-        });
+    private void reserveInventory(final Event event) {
+        final var reservations = this.inventoryStock.reserve(event.getPayload().getProducts());
+        
+        try {
+            this.transactionTemplate.executeWithoutResult(status -> {
+                this.orderInventoryRepository.saveAll(reservations.stream().map(reservation -> this.createOrderInventory(event, reservation)).toList());
+                this.inventoryStock.confirm(reservations);
+            });
+            
+        } catch (final RuntimeException e) {
+            this.inventoryStock.release(reservations);
+            throw e;
+        }
         
+        this.processedTransactionCache.markProcessed(event.getPayload().getId(), event.getTransactionId());
     }
     
-    private OrderInventory createOrderInventory(final Event event, final OrderProduct product, final Inventory inventory) {
+    private OrderInventory createOrderInventory(final Event event, final StockReservation reservation) {
         return OrderInventory.builder()
-                             .inventory(inventory)
-                             .oldQuantity(inventory.getAvailable())
-                             .orderQuantity(product.getQuantity())
-                             .newQuantity(inventory.getAvailable() - product.getQuantity())
+                             .inventory(this.inventoryRepository.getReferenceById(reservation.inventoryId()))
+                             .oldQuantity(reservation.oldQuantity())
+                             .orderQuantity(reservation.quantity())
+                             .newQuantity(reservation.newQuantity())
                              .orderId(event.getPayload().getId())
                              .transactionId(event.getTransactionId())
                              .build();
     }
     
-    private void updateInventory(final Order order) {
-        order.getProducts().forEach(product -> {
-            final var inventory = this.findInventoryByProductCode(product.getProduct().getCode());
-            this.checkInventory(inventory.getAvailable(), product.getQuantity());
-            inventory.setAvailable(inventory.getAvailable() - product.getQuantity());
-            this.inventoryRepository.save(inventory);
-        });
-    }
-    
-    private void checkInventory(final Integer available, final Integer orderQuantity) {
-        if (orderQuantity > available) {
-            throw new ValidationException("Product is out of stock!");
-        }
-    }
-    
     private void handleSuccess(final Event event) {
         event.setStatus(ESagaStatus.SUCCESS);
         event.setSource(CURRENT_SOURCE);
-        this.addHistory(event, "Inventory updated successfully!");
+        this.addHistory(event, EHistoryMessage.INVENTORY_SUCCESS);
     }
     
     private void handleFailCurrentNotExecuted(final Event event, final String message) {
         event.setStatus(ESagaStatus.ROLLBACK_PENDING);
         event.setSource(CURRENT_SOURCE);
-        this.addHistory(event, "Fail to update inventory: " + message);
+        this.addHistory(event, EHistoryMessage.INVENTORY_FAIL, message);
     }
     
     public void rollbackInventory(final Event event) {
@@ -108,44 +131,61 @@ public class InventoryService {
         
         try {
             this.returnInventoryToPreviousValues(event);
-            this.addHistory(event, "Rollback executed for inventory!");
+            this.addHistory(event, EHistoryMessage.INVENTORY_ROLLBACK);
+            
+        } catch (final TransientDataAccessException | DataAccessResourceFailureException | CannotCreateTransactionException e) {
+            log.warn("Transient error trying to rollback inventory, scheduling retry: {}", e.getMessage());
+            throw e;
             
         } catch (final Exception e) {
-            this.addHistory(event, "Rollback not executed for inventory: ".concat(e.getMessage()));
+            this.addHistory(event, EHistoryMessage.INVENTORY_ROLLBACK_FAIL, e.getMessage());
         }
         
-        this.producer.sendEvent(this.jsonUtil.toJson(event));
+        this.producer.sendEvent(event);
+    }
+    
+    public void abandonInventoryRollback(final Event event, final String message) {
+        event.setStatus(ESagaStatus.FAIL);
+        event.setSource(CURRENT_SOURCE);
+        this.addHistory(event, EHistoryMessage.INVENTORY_ROLLBACK_FAIL, message);
+        this.producer.sendEvent(event);
     }
     
     private void returnInventoryToPreviousValues(final Event event) {
-        this.orderInventoryRepository
-                .findByOrderIdAndTransactionId(event.getPayload().getId(), event.getTransactionId())
-                .forEach(orderInventory -> {
-                    final var inventory = orderInventory.getInventory();
-                    inventory.setAvailable(orderInventory.getOldQuantity());
-                    this.inventoryRepository.save(inventory);
-                    log.info("Restored inventory for order {} from {} to {}",
-                             event.getPayload().getId(),
-                             orderInventory.getNewQuantity(),
-                             orderInventory.getOldQuantity());
-                });
+        final var released = this.transactionTemplate.execute(status -> {
+            final var orderInventories = this.orderInventoryRepository
+                    .findByOrderIdAndTransactionIdAndReleasedFalse(event.getPayload().getId(), event.getTransactionId());
+            
+            orderInventories.forEach(orderInventory -> this.releaseOrderInventory(event, orderInventory));
+            return !orderInventories.isEmpty();
+        });
+        
+        if (Boolean.TRUE.equals(released)) {
+            this.processedTransactionCache.markReleased(event.getPayload().getId(), event.getTransactionId());
+        }
     }
     
-    private void addHistory(final Event event, final String message) {
-        final var history = History
-                .builder()
-                .source(event.getSource())
-                .status(event.getStatus())
-                .message(message)
-                .createdAt(LocalDateTime.now())
-                .build();
+    private void releaseOrderInventory(final Event event, final OrderInventory orderInventory) {
+        if (this.orderInventoryRepository.markReleased(orderInventory.getId()) == 0) {
+            log.info("Inventory of {} for order {} was already released",
+                     orderInventory.getInventory().getProductCode(),
+                     event.getPayload().getId());
+            return;
+        }
         
-        event.addHistory(history);
+        this.inventoryStock.release(orderInventory.getInventory().getProductCode(), orderInventory.getOrderQuantity());
+        log.info("Released {} units of {} for order {}",
+                 orderInventory.getOrderQuantity(),
+                 orderInventory.getInventory().getProductCode(),
+                 event.getPayload().getId());
+    }
+    
+    private void addHistory(final Event event, final EHistoryMessage message) {
+        this.addHistory(event, message, null);
     }
     
-    private Inventory findInventoryByProductCode(final String productCode) {
-        return this.inventoryRepository.findByProductCode(productCode)
-                                       .orElseThrow(() -> new ValidationException("Inventory not found by informed product."));
+    private void addHistory(final Event event, final EHistoryMessage message, final String detail) {
+        event.addHistory(this.historyUtil.create(event, message, detail));
     }
     
 }
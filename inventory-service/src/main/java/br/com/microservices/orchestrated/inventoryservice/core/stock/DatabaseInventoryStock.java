@@ -0,0 +1,73 @@
+package br.com.microservices.orchestrated.inventoryservice.core.stock;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.com.microservices.orchestrated.inventoryservice.config.exception.ValidationException;
+import br.com.microservices.orchestrated.inventoryservice.core.dto.OrderProduct;
+import br.com.microservices.orchestrated.inventoryservice.core.repository.InventoryStockRepository;
+import lombok.AllArgsConstructor;
+
+@Component
+@AllArgsConstructor
+@ConditionalOnProperty(name = "inventory.stock-control", havingValue = "database")
+public class DatabaseInventoryStock implements InventoryStock {
+    
+    private final InventoryStockRepository inventoryStockRepository;
+    
+    private final TransactionTemplate transactionTemplate;
+    
+    @Override
+    public List<StockReservation> reserve(final List<OrderProduct> products) {
+        final var quantities = new TreeMap<String, Integer>();
+        products.forEach(product -> quantities.merge(product.getProduct().getCode(), product.getQuantity(), Integer::sum));
+        
+        return this.transactionTemplate.execute(status -> this.reserve(quantities));
+    }
+    
+    private List<StockReservation> reserve(final Map<String, Integer> quantities) {
+        final var updatedRows = this.inventoryStockRepository.decrementIfAvailable(quantities);
+        
+        for (final var rows : updatedRows) {
+            if (rows == 0) {
+                throw new ValidationException("Product is out of stock!");
+            }
+        }
+        
+        return this.inventoryStockRepository
+                .findByProductCodes(quantities.keySet())
+                .stream()
+                .map(inventory -> {
+                    final var quantity = quantities.get(inventory.getProductCode());
+                    return new StockReservation(inventory.getId(),
+                                                inventory.getProductCode(),
+                                                quantity,
+                                                inventory.getAvailable() + quantity,
+                                                inventory.getAvailable());
+                })
+                .toList();
+    }
+    
+    @Override
+    public void confirm(final List<StockReservation> reservations) {
+    }
+    
+    @Override
+    public void release(final List<StockReservation> reservations) {
+        final var quantities = new TreeMap<String, Integer>();
+        reservations.forEach(reservation -> quantities.merge(reservation.productCode(), reservation.quantity(), Integer::sum));
+        
+        this.transactionTemplate.executeWithoutResult(status -> this.inventoryStockRepository.increment(quantities));
+    }
+    
+    @Override
+    public void release(final String productCode, final int quantity) {
+        this.inventoryStockRepository.increment(Map.of(productCode, quantity));
+    }
+    
+}
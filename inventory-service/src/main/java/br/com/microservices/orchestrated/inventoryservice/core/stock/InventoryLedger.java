@@ -0,0 +1,135 @@
+package br.com.microservices.orchestrated.inventoryservice.core.stock;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import br.com.microservices.orchestrated.inventoryservice.config.exception.ValidationException;
+import br.com.microservices.orchestrated.inventoryservice.core.dto.OrderProduct;
+import br.com.microservices.orchestrated.inventoryservice.core.repository.InventoryRepository;
+import br.com.microservices.orchestrated.inventoryservice.core.repository.InventoryStockRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Component
+@AllArgsConstructor
+@ConditionalOnProperty(name = "inventory.stock-control", havingValue = "ledger", matchIfMissing = true)
+public class InventoryLedger implements InventoryStock {
+    
+    private final Map<String, StockCounter> counters = new ConcurrentHashMap<>();
+    
+    private final InventoryRepository inventoryRepository;
+    
+    private final InventoryStockRepository inventoryStockRepository;
+    
+    @PostConstruct
+    public void load() {
+        final var journal = this.inventoryStockRepository.findJournalDeltas();
+        
+        this.inventoryRepository
+                .findAll()
+                .forEach(inventory -> this.counters.put(inventory.getProductCode(),
+                                                        new StockCounter(inventory.getId(),
+                                                                         inventory.getProductCode(),
+                                                                         inventory.getAvailable() + journal.getOrDefault(inventory.getId(), 0))));
+        
+        log.info("Inventory ledger loaded with {} products and {} journaled changes", this.counters.size(), journal.size());
+    }
+    
+    @Override
+    public List<StockReservation> reserve(final List<OrderProduct> products) {
+        final var reservations = new ArrayList<StockReservation>(products.size());
+        
+        try {
+            products.forEach(product -> reservations.add(this.reserve(product.getProduct().getCode(), product.getQuantity())));
+            
+        } catch (final RuntimeException e) {
+            this.release(reservations);
+            throw e;
+        }
+        
+        return reservations;
+    }
+    
+    @Override
+    public void confirm(final List<StockReservation> reservations) {
+        this.inventoryStockRepository.appendJournal(reservations
+                                                            .stream()
+                                                            .collect(Collectors.toMap(StockReservation::inventoryId,
+                                                                                      reservation -> -reservation.quantity(),
+                                                                                      Integer::sum)));
+    }
+    
+    @Override
+    public void release(final List<StockReservation> reservations) {
+        reservations.forEach(reservation -> this.findCounter(reservation.productCode()).release(reservation.quantity()));
+    }
+    
+    @Override
+    public void release(final String productCode, final int quantity) {
+        final var counter = this.findCounter(productCode);
+        this.inventoryStockRepository.appendJournal(Map.of(counter.getInventoryId(), quantity));
+        
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            counter.release(quantity);
+            return;
+        }
+        
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            
+            @Override
+            public void afterCommit() {
+                counter.release(quantity);
+            }
+            
+        });
+    }
+    
+    private StockReservation reserve(final String productCode, final int quantity) {
+        final var counter = this.findCounter(productCode);
+        final var oldQuantity = counter.tryReserve(quantity);
+        
+        if (oldQuantity < 0) {
+            throw new ValidationException("Product is out of stock!");
+        }
+        
+        return new StockReservation(counter.getInventoryId(), productCode, quantity, oldQuantity, oldQuantity - quantity);
+    }
+    
+    @PreDestroy
+    @Scheduled(fixedDelayString = "${inventory.ledger.flush-interval}")
+    public void flush() {
+        try {
+            final var updatedRows = this.inventoryStockRepository.applyJournal();
+            
+            if (updatedRows > 0) {
+                log.debug("Inventory journal flushed into {} products", updatedRows);
+            }
+            
+        } catch (final Exception e) {
+            log.error("Error trying to flush the inventory journal, it will be retried: ", e);
+        }
+    }
+    
+    private StockCounter findCounter(final String productCode) {
+        final var counter = this.counters.get(productCode);
+        
+        if (counter == null) {
+            throw new ValidationException("Inventory not found by informed product.");
+        }
+        
+        return counter;
+    }
+    
+}
@@ -0,0 +1,17 @@
+package br.com.microservices.orchestrated.inventoryservice.core.stock;
+
+import java.util.List;
+
+import br.com.microservices.orchestrated.inventoryservice.core.dto.OrderProduct;
+
+public interface InventoryStock {
+    
+    List<StockReservation> reserve(List<OrderProduct> products);
+    
+    void confirm(List<StockReservation> reservations);
+    
+    void release(List<StockReservation> reservations);
+    
+    void release(String productCode, int quantity);
+    
+}
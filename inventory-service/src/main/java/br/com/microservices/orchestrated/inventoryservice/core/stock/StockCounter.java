@@ -0,0 +1,45 @@
+package br.com.microservices.orchestrated.inventoryservice.core.stock;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import lombok.Getter;
+
+class StockCounter {
+    
+    @Getter
+    private final Integer inventoryId;
+    
+    @Getter
+    private final String productCode;
+    
+    private final AtomicInteger available;
+    
+    StockCounter(final Integer inventoryId, final String productCode, final int available) {
+        this.inventoryId = inventoryId;
+        this.productCode = productCode;
+        this.available = new AtomicInteger(available);
+    }
+    
+    int tryReserve(final int quantity) {
+        while (true) {
+            final var current = this.available.get();
+            
+            if (quantity > current) {
+                return -1;
+            }
+            
+            if (this.available.compareAndSet(current, current - quantity)) {
+                return current;
+            }
+        }
+    }
+    
+    void release(final int quantity) {
+        this.available.addAndGet(quantity);
+    }
+    
+    int getAvailable() {
+        return this.available.get();
+    }
+    
+}
@@ -0,0 +1,5 @@
+package br.com.microservices.orchestrated.inventoryservice.core.stock;
+
+public record StockReservation(Integer inventoryId, String productCode, int quantity, int oldQuantity, int newQuantity) {
+    
+}
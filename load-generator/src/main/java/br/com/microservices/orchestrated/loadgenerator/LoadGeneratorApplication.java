@@ -0,0 +1,20 @@
+package br.com.microservices.orchestrated.loadgenerator;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+
+@SpringBootApplication
+public class LoadGeneratorApplication {
+
+	public static void main(String[] args) {
+		final var context = new SpringApplicationBuilder(LoadGeneratorApplication.class)
+				.properties("spring.config.name=load-generator")
+				.web(WebApplicationType.NONE)
+				.run(args);
+		
+		System.exit(SpringApplication.exit(context));
+	}
+
+}
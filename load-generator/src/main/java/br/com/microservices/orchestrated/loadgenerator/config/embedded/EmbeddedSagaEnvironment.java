@@ -0,0 +1,55 @@
+package br.com.microservices.orchestrated.loadgenerator.config.embedded;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.stereotype.Component;
+
+import br.com.microservices.orchestrated.orchestratorservice.OrchestratorServiceApplication;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "load.embedded", havingValue = "true")
+public class EmbeddedSagaEnvironment {
+    
+    @Value("${spring.kafka.partitions}")
+    private Integer partitionCount;
+    
+    private EmbeddedKafkaBroker broker;
+    
+    private ConfigurableApplicationContext orchestrator;
+    
+    @PostConstruct
+    public void start() {
+        this.broker = new EmbeddedKafkaBroker(1, false, this.partitionCount)
+                .brokerProperty("transaction.state.log.replication.factor", "1")
+                .brokerProperty("transaction.state.log.min.isr", "1");
+        this.broker.afterPropertiesSet();
+        log.info("Embedded Kafka broker started at {}", this.broker.getBrokersAsString());
+        
+        this.orchestrator = new SpringApplicationBuilder(OrchestratorServiceApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.kafka.bootstrap-servers=" + this.broker.getBrokersAsString(),
+                     "--spring.kafka.partitions=" + this.partitionCount,
+                     "--spring.kafka.consumer.auto-offset-reset=earliest",
+                     "--logging.level.br.com.microservices.orchestrated.orchestratorservice=WARN");
+        log.info("Orchestrator started against the embedded broker");
+    }
+    
+    public String getBootstrapServers() {
+        return this.broker.getBrokersAsString();
+    }
+    
+    @PreDestroy
+    public void stop() {
+        this.orchestrator.close();
+        this.broker.destroy();
+    }
+    
+}
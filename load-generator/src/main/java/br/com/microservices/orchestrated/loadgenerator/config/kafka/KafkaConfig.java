@@ -0,0 +1,101 @@
+package br.com.microservices.orchestrated.loadgenerator.config.kafka;
+
+import static org.springframework.util.ObjectUtils.isEmpty;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.annotation.EnableKafka;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+
+import br.com.microservices.orchestrated.loadgenerator.config.embedded.EmbeddedSagaEnvironment;
+import br.com.microservices.orchestrated.loadgenerator.core.dto.Event;
+import br.com.microservices.orchestrated.loadgenerator.core.utils.JsonUtil;
+import lombok.RequiredArgsConstructor;
+
+@EnableKafka
+@Configuration
+@RequiredArgsConstructor
+public class KafkaConfig {
+    
+    private final JsonUtil jsonUtil;
+    
+    private final ObjectProvider<EmbeddedSagaEnvironment> embeddedSagaEnvironment;
+    
+    @Value("${spring.kafka.bootstrap-servers}")
+    private String bootstrapServers;
+    
+    @Value("${spring.kafka.consumer.auto-offset-reset}")
+    private String autoOffsetReset;
+    
+    @Value("${spring.kafka.consumer.isolation-level}")
+    private String isolationLevel;
+    
+    @Value("${spring.kafka.listener.concurrency}")
+    private Integer listenerConcurrency;
+    
+    @Bean
+    public ConsumerFactory<String, Event> consumerFactory() {
+        return new DefaultKafkaConsumerFactory<>(this.consumerProps(), new StringDeserializer(), new EventDeserializer(this.jsonUtil));
+    }
+    
+    private Map<String, Object> consumerProps() {
+        final Map<String, Object> props = new HashMap<>();
+        
+        props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, this.resolveBootstrapServers());
+        props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, this.autoOffsetReset);
+        props.put(ConsumerConfig.ISOLATION_LEVEL_CONFIG, this.isolationLevel);
+        
+        return props;
+    }
+    
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, Event> kafkaListenerContainerFactory(
+            final ConsumerFactory<String, Event> consumerFactory) {
+        
+        final var factory = new ConcurrentKafkaListenerContainerFactory<String, Event>();
+        factory.setConsumerFactory(consumerFactory);
+        factory.setConcurrency(this.listenerConcurrency);
+        
+        return factory;
+    }
+    
+    @Bean
+    public ProducerFactory<String, Event> producerFactory() {
+        return new DefaultKafkaProducerFactory<>(this.producerProps(), new StringSerializer(), new EventSerializer(this.jsonUtil));
+    }
+    
+    private Map<String, Object> producerProps() {
+        final Map<String, Object> props = new HashMap<>();
+        
+        props.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, this.resolveBootstrapServers());
+        props.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        props.put(ProducerConfig.ACKS_CONFIG, "all");
+        
+        return props;
+    }
+    
+    @Bean
+    public KafkaTemplate<String, Event> kafkaTemplate(final ProducerFactory<String, Event> producerFactory) {
+        return new KafkaTemplate<>(producerFactory);
+    }
+    
+    private String resolveBootstrapServers() {
+        final var environment = this.embeddedSagaEnvironment.getIfAvailable();
+        return isEmpty(environment) ? this.bootstrapServers : environment.getBootstrapServers();
+    }
+    
+}
@@ -0,0 +1,27 @@
+package br.com.microservices.orchestrated.loadgenerator.config.load;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(LoadGeneratorProperties.class)
+public class LoadGeneratorConfig {
+    
+    private static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(5);
+    
+    @Bean
+    @ConditionalOnProperty(name = "load.mode", havingValue = "HTTP")
+    public HttpClient httpClient() {
+        return HttpClient
+                .newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(CONNECT_TIMEOUT)
+                .build();
+    }
+    
+}
@@ -0,0 +1,46 @@
+package br.com.microservices.orchestrated.loadgenerator.config.load;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import br.com.microservices.orchestrated.loadgenerator.core.enums.ELoadMode;
+
+@ConfigurationProperties(prefix = "load")
+public record LoadGeneratorProperties(
+        ELoadMode mode,
+        
+        boolean embedded,
+        
+        int rate,
+        
+        Duration warmup,
+        
+        Duration duration,
+        
+        Duration drainTimeout,
+        
+        String orderUrl,
+        
+        String sagaType,
+        
+        int maxOrderLines,
+        
+        List<ProductMix> products,
+        
+        FailureRatios failureRatios,
+        
+        StandIn standIn
+) {
+    
+    public record ProductMix(String code, double unitValue, int weight, int maxQuantity) {
+    }
+    
+    public record FailureRatios(double validation, double payment, double inventory) {
+    }
+    
+    public record StandIn(List<String> catalog, int initialStock) {
+    }
+    
+}
@@ -0,0 +1,46 @@
+package br.com.microservices.orchestrated.loadgenerator.core.consumer;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.ConsumerSeekAware;
+import org.springframework.stereotype.Component;
+
+import br.com.microservices.orchestrated.loadgenerator.core.dto.Event;
+import br.com.microservices.orchestrated.loadgenerator.core.service.SagaLatencyTracker;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class NotifyEndingConsumer implements ConsumerSeekAware {
+    
+    private final SagaLatencyTracker sagaLatencyTracker;
+    
+    private final CountDownLatch assigned = new CountDownLatch(1);
+    
+    @KafkaListener(
+            groupId = "load-generator-${random.uuid}",
+            topics = "${spring.kafka.topic.notify-ending}"
+    )
+    public void consumeNotifyEndingEvent(final Event event) {
+        log.debug("Saga {} finished with status {}", event.getTransactionId(), event.getStatus());
+        this.sagaLatencyTracker.complete(event, System.nanoTime());
+    }
+    
+    @Override
+    public void onPartitionsAssigned(final Map<TopicPartition, Long> assignments, final ConsumerSeekCallback callback) {
+        log.info("Listening for finished sagas on {}", assignments.keySet());
+        this.assigned.countDown();
+    }
+    
+    public boolean awaitAssignment(final Duration timeout) throws InterruptedException {
+        return this.assigned.await(timeout.toMillis(), TimeUnit.MILLISECONDS);
+    }
+    
+}
@@ -0,0 +1,34 @@
+package br.com.microservices.orchestrated.loadgenerator.core.dto;
+
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import br.com.microservices.orchestrated.loadgenerator.core.enums.ESagaStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class History {
+    
+    private String source;
+    
+    private ESagaStatus status;
+    
+    private String message;
+    
+    private LocalDateTime createdAt;
+    
+    private String code;
+    
+    private String detail;
+    
+    private Long timestamp;
+    
+}
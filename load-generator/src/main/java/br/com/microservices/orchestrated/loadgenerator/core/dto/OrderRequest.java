@@ -0,0 +1,18 @@
+package br.com.microservices.orchestrated.loadgenerator.core.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderRequest {
+    
+    private List<OrderProduct> products;
+    
+    private String sagaType;
+    
+}
@@ -0,0 +1,6 @@
+package br.com.microservices.orchestrated.loadgenerator.core.enums;
+
+public enum ELoadMode {
+    HTTP,
+    KAFKA
+}
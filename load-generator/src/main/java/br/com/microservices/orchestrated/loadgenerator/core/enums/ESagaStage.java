@@ -0,0 +1,27 @@
+package br.com.microservices.orchestrated.loadgenerator.core.enums;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public enum ESagaStage {
+    
+    VALIDATION("PRODUCT_VALIDATION_SERVICE", "PRODUCT_VALIDATION"),
+    PAYMENT("PAYMENT_SERVICE", "PAYMENT"),
+    INVENTORY("INVENTORY_SERVICE", "INVENTORY");
+    
+    private final String source;
+    
+    private final String historyPrefix;
+    
+    public static Optional<ESagaStage> fromSource(final String source) {
+        return Arrays.stream(values())
+                     .filter(stage -> stage.getSource().equals(source))
+                     .findFirst();
+    }
+    
+}
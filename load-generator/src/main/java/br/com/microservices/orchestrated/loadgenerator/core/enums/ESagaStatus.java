@@ -0,0 +1,7 @@
+package br.com.microservices.orchestrated.loadgenerator.core.enums;
+
+public enum ESagaStatus {
+    SUCCESS,
+    ROLLBACK_PENDING,
+    FAIL
+}
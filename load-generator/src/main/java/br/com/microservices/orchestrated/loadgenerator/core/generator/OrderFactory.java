@@ -0,0 +1,83 @@
+package br.com.microservices.orchestrated.loadgenerator.core.generator;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.stereotype.Component;
+
+import br.com.microservices.orchestrated.loadgenerator.config.load.LoadGeneratorProperties;
+import br.com.microservices.orchestrated.loadgenerator.config.load.LoadGeneratorProperties.ProductMix;
+import br.com.microservices.orchestrated.loadgenerator.core.dto.OrderProduct;
+import br.com.microservices.orchestrated.loadgenerator.core.dto.Product;
+
+@Component
+public class OrderFactory {
+    
+    private static final String UNKNOWN_PRODUCT_CODE = "LOAD_GENERATOR_UNKNOWN_PRODUCT";
+    
+    private static final double FREE_UNIT_VALUE = 0.0;
+    
+    private static final int OUT_OF_STOCK_QUANTITY = Integer.MAX_VALUE / 2;
+    
+    private final LoadGeneratorProperties properties;
+    
+    private final List<ProductMix> products;
+    
+    private final int totalWeight;
+    
+    public OrderFactory(final LoadGeneratorProperties properties) {
+        this.properties = properties;
+        this.products = properties.products().stream().filter(product -> product.weight() > 0).toList();
+        this.totalWeight = this.products.stream().mapToInt(ProductMix::weight).sum();
+        
+        if (this.products.isEmpty()) {
+            throw new IllegalStateException("At least one product with a positive weight must be informed.");
+        }
+    }
+    
+    public List<OrderProduct> create() {
+        final var random = ThreadLocalRandom.current();
+        final var lineCount = 1 + random.nextInt(Math.min(this.properties.maxOrderLines(), this.products.size()));
+        final Map<String, OrderProduct> lines = new LinkedHashMap<>();
+        
+        while (lines.size() < lineCount) {
+            final var product = this.pick(random);
+            lines.putIfAbsent(product.code(), new OrderProduct(new Product(product.code(), product.unitValue()),
+                                                               1 + random.nextInt(product.maxQuantity())));
+        }
+        
+        final var orderProducts = new ArrayList<>(lines.values());
+        this.injectFailure(orderProducts, random.nextDouble());
+        return orderProducts;
+    }
+    
+    private ProductMix pick(final ThreadLocalRandom random) {
+        var target = random.nextInt(this.totalWeight);
+        
+        for (final var product : this.products) {
+            target -= product.weight();
+            
+            if (target < 0) {
+                return product;
+            }
+        }
+        
+        return this.products.get(this.products.size() - 1);
+    }
+    
+    private void injectFailure(final List<OrderProduct> orderProducts, final double draw) {
+        final var ratios = this.properties.failureRatios();
+        
+        if (draw < ratios.validation()) {
+            orderProducts.add(new OrderProduct(new Product(UNKNOWN_PRODUCT_CODE, FREE_UNIT_VALUE), 1));
+        } else if (draw < ratios.validation() + ratios.payment()) {
+            orderProducts.forEach(orderProduct -> orderProduct.getProduct().setUnitValue(FREE_UNIT_VALUE));
+        } else if (draw < ratios.validation() + ratios.payment() + ratios.inventory()) {
+            orderProducts.get(0).setQuantity(OUT_OF_STOCK_QUANTITY);
+        }
+    }
+    
+}
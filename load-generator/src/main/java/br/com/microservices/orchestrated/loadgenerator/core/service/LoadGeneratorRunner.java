@@ -0,0 +1,93 @@
+package br.com.microservices.orchestrated.loadgenerator.core.service;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import br.com.microservices.orchestrated.loadgenerator.config.load.LoadGeneratorProperties;
+import br.com.microservices.orchestrated.loadgenerator.core.consumer.NotifyEndingConsumer;
+import br.com.microservices.orchestrated.loadgenerator.core.enums.ELoadMode;
+import br.com.microservices.orchestrated.loadgenerator.core.generator.OrderFactory;
+import br.com.microservices.orchestrated.loadgenerator.core.starter.SagaStarter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LoadGeneratorRunner implements ApplicationRunner {
+    
+    private static final Duration ASSIGNMENT_TIMEOUT = Duration.ofSeconds(30);
+    
+    private static final Duration DRAIN_POLL_INTERVAL = Duration.ofMillis(100);
+    
+    private final LoadGeneratorProperties properties;
+    
+    private final OrderFactory orderFactory;
+    
+    private final SagaStarter sagaStarter;
+    
+    private final SagaLatencyTracker sagaLatencyTracker;
+    
+    private final NotifyEndingConsumer notifyEndingConsumer;
+    
+    @Override
+    public void run(final ApplicationArguments args) throws InterruptedException {
+        if (this.properties.mode() == ELoadMode.HTTP && this.properties.embedded()) {
+            throw new IllegalStateException("HTTP mode drives a running order-service, disable load.embedded to use it.");
+        }
+        
+        if (!this.notifyEndingConsumer.awaitAssignment(ASSIGNMENT_TIMEOUT)) {
+            throw new IllegalStateException("No notify-ending partition was assigned to the load generator.");
+        }
+        
+        log.info("Driving {} sagas/s through {} for {} after a {} warmup",
+                 this.properties.rate(), this.properties.mode(), this.properties.duration(), this.properties.warmup());
+        
+        this.generate();
+        this.drain();
+        this.sagaLatencyTracker.report(this.properties.duration());
+    }
+    
+    private void generate() {
+        final var interval = TimeUnit.SECONDS.toNanos(1) / this.properties.rate();
+        final var startedAt = System.nanoTime();
+        final var measuredFrom = startedAt + this.properties.warmup().toNanos();
+        final var finishedAt = measuredFrom + this.properties.duration().toNanos();
+        
+        for (long sequence = 0; ; sequence++) {
+            final var intendedStart = startedAt + sequence * interval;
+            
+            if (intendedStart >= finishedAt) {
+                return;
+            }
+            
+            this.waitUntil(intendedStart);
+            this.sagaStarter.start(this.orderFactory.create(), intendedStart, intendedStart >= measuredFrom);
+        }
+    }
+    
+    private void waitUntil(final long deadline) {
+        var remaining = deadline - System.nanoTime();
+        
+        while (remaining > 0) {
+            LockSupport.parkNanos(remaining);
+            remaining = deadline - System.nanoTime();
+        }
+    }
+    
+    private void drain() throws InterruptedException {
+        final var deadline = System.nanoTime() + this.properties.drainTimeout().toNanos();
+        
+        while (this.sagaLatencyTracker.getInFlight() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(DRAIN_POLL_INTERVAL.toMillis());
+        }
+        
+        log.info("Stopped waiting with {} sagas still in flight", this.sagaLatencyTracker.getInFlight());
+    }
+    
+}
@@ -0,0 +1,201 @@
+package br.com.microservices.orchestrated.loadgenerator.core.service;
+
+import static org.springframework.util.ObjectUtils.isEmpty;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.stereotype.Component;
+
+import br.com.microservices.orchestrated.loadgenerator.config.load.LoadGeneratorProperties;
+import br.com.microservices.orchestrated.loadgenerator.core.dto.Event;
+import br.com.microservices.orchestrated.loadgenerator.core.dto.History;
+import br.com.microservices.orchestrated.loadgenerator.core.enums.ESagaStage;
+import br.com.microservices.orchestrated.loadgenerator.core.enums.ESagaStatus;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Component
+public class SagaLatencyTracker {
+    
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(10);
+    
+    private static final int SIGNIFICANT_DIGITS = 3;
+    
+    private static final String END_TO_END = "END_TO_END";
+    
+    private static final String REPORT_FORMAT = "%-12s %8d %10.2f %10.2f %10.2f %10.2f %10.2f";
+    
+    private final Map<String, Object> correlations = new ConcurrentHashMap<>();
+    
+    private final AtomicInteger inFlight = new AtomicInteger();
+    
+    private final LongAdder started = new LongAdder();
+    
+    private final LongAdder rejected = new LongAdder();
+    
+    private final Map<ESagaStatus, LongAdder> completed = new EnumMap<>(ESagaStatus.class);
+    
+    private final Histogram endToEnd = this.createHistogram();
+    
+    private final Map<ESagaStage, Histogram> stages = new EnumMap<>(ESagaStage.class);
+    
+    private final boolean stagesMeasured;
+    
+    public SagaLatencyTracker(final LoadGeneratorProperties properties) {
+        this.stagesMeasured = !properties.embedded();
+        
+        for (final var status : ESagaStatus.values()) {
+            this.completed.put(status, new LongAdder());
+        }
+        
+        for (final var stage : ESagaStage.values()) {
+            this.stages.put(stage, this.createHistogram());
+        }
+    }
+    
+    public void submit(final boolean measured) {
+        this.inFlight.incrementAndGet();
+        
+        if (measured) {
+            this.started.increment();
+        }
+    }
+    
+    public void register(final String transactionId, final long intendedStartNanos, final boolean measured) {
+        final var start = new SagaStart(intendedStartNanos, measured);
+        
+        this.correlations.compute(transactionId, (key, current) -> {
+            if (current instanceof SagaCompletion completion) {
+                this.record(start, completion);
+                return null;
+            }
+            
+            return start;
+        });
+    }
+    
+    public void complete(final Event event, final long receivedNanos) {
+        final var completion = new SagaCompletion(event, receivedNanos);
+        
+        this.correlations.compute(event.getTransactionId(), (key, current) -> {
+            if (current instanceof SagaStart start) {
+                this.record(start, completion);
+                return null;
+            }
+            
+            return completion;
+        });
+    }
+    
+    public void reject(final String transactionId, final boolean measured) {
+        if (!isEmpty(transactionId)) {
+            this.correlations.remove(transactionId);
+        }
+        
+        this.inFlight.decrementAndGet();
+        
+        if (measured) {
+            this.rejected.increment();
+        }
+    }
+    
+    public int getInFlight() {
+        return this.inFlight.get();
+    }
+    
+    public void report(final Duration measuredDuration) {
+        final var success = this.completed.get(ESagaStatus.SUCCESS).sum();
+        final var fail = this.completed.get(ESagaStatus.FAIL).sum();
+        final var throughput = (success + fail) / (double) Math.max(1L, measuredDuration.toSeconds());
+        
+        log.info("Sagas started {}, completed {} (success {}, fail {}), rejected {}, still in flight {}",
+                 this.started.sum(), success + fail, success, fail, this.rejected.sum(), this.inFlight.get());
+        log.info("Achieved throughput {} sagas/s", String.format("%.1f", throughput));
+        log.info(String.format("%-12s %8s %10s %10s %10s %10s %10s", "stage", "count", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms"));
+        log.info(this.format(END_TO_END, this.endToEnd));
+        
+        if (!this.stagesMeasured) {
+            log.info("Per-stage latency is not reported in embedded mode, the participants are in-memory stand-ins");
+            return;
+        }
+        
+        this.stages.forEach((stage, histogram) -> log.info(this.format(stage.name(), histogram)));
+    }
+    
+    private String format(final String name, final Histogram histogram) {
+        return String.format(REPORT_FORMAT,
+                             name,
+                             histogram.getTotalCount(),
+                             histogram.getValueAtPercentile(50) / 1_000.0,
+                             histogram.getValueAtPercentile(90) / 1_000.0,
+                             histogram.getValueAtPercentile(99) / 1_000.0,
+                             histogram.getValueAtPercentile(99.9) / 1_000.0,
+                             histogram.getMaxValue() / 1_000.0);
+    }
+    
+    private void record(final SagaStart start, final SagaCompletion completion) {
+        this.inFlight.decrementAndGet();
+        
+        if (!start.measured()) {
+            return;
+        }
+        
+        this.completed.get(completion.event().getStatus()).increment();
+        this.recordValue(this.endToEnd, TimeUnit.NANOSECONDS.toMicros(completion.receivedNanos() - start.intendedStartNanos()));
+        
+        if (this.stagesMeasured) {
+            this.recordStages(completion.event());
+        }
+    }
+    
+    private void recordStages(final Event event) {
+        if (isEmpty(event.getEventHistory())) {
+            return;
+        }
+        
+        final var history = event.getEventHistory();
+        
+        for (int i = 1; i < history.size(); i++) {
+            final var current = history.get(i);
+            final var elapsed = this.toMicros(current) - this.toMicros(history.get(i - 1));
+            
+            if (current.getStatus() != ESagaStatus.FAIL) {
+                ESagaStage.fromSource(current.getSource()).ifPresent(stage -> this.recordValue(this.stages.get(stage), elapsed));
+            }
+        }
+    }
+    
+    private long toMicros(final History history) {
+        if (!isEmpty(history.getCreatedAt())) {
+            return ChronoUnit.MICROS.between(Instant.EPOCH, history.getCreatedAt().atZone(ZoneId.systemDefault()).toInstant());
+        }
+        
+        return isEmpty(history.getTimestamp()) ? 0L : TimeUnit.MILLISECONDS.toMicros(history.getTimestamp());
+    }
+    
+    private void recordValue(final Histogram histogram, final long micros) {
+        histogram.recordValue(Math.max(0L, Math.min(micros, HIGHEST_TRACKABLE_MICROS)));
+    }
+    
+    private Histogram createHistogram() {
+        return new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+    }
+    
+    private record SagaStart(long intendedStartNanos, boolean measured) {
+    }
+    
+    private record SagaCompletion(Event event, long receivedNanos) {
+    }
+    
+}
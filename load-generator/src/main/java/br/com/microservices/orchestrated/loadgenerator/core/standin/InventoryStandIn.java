@@ -0,0 +1,104 @@
+package br.com.microservices.orchestrated.loadgenerator.core.standin;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import br.com.microservices.orchestrated.loadgenerator.config.load.LoadGeneratorProperties;
+import br.com.microservices.orchestrated.loadgenerator.core.dto.Event;
+import br.com.microservices.orchestrated.loadgenerator.core.dto.OrderProduct;
+import br.com.microservices.orchestrated.loadgenerator.core.enums.ESagaStage;
+
+@Component
+@ConditionalOnProperty(name = "load.embedded", havingValue = "true")
+public class InventoryStandIn extends ParticipantStandIn {
+    
+    private final Map<String, AtomicInteger> stock = new ConcurrentHashMap<>();
+    
+    private final Map<String, Map<String, Integer>> reservations = new ConcurrentHashMap<>();
+    
+    public InventoryStandIn(final KafkaTemplate<String, Event> kafkaTemplate,
+                            @Value("${spring.kafka.topic.orchestrator}") final String orchestratorTopic,
+                            final LoadGeneratorProperties properties) {
+        super(kafkaTemplate, orchestratorTopic, ESagaStage.INVENTORY);
+        properties.standIn().catalog().forEach(code -> this.stock.put(code, new AtomicInteger(properties.standIn().initialStock())));
+    }
+    
+    @KafkaListener(
+            groupId = "load-generator-inventory",
+            topics = "${spring.kafka.topic.inventory-success}",
+            properties = "auto.offset.reset=earliest"
+    )
+    public void consumeSuccessEvent(final Event event) {
+        this.handleExecution(event);
+    }
+    
+    @KafkaListener(
+            groupId = "load-generator-inventory",
+            topics = "${spring.kafka.topic.inventory-fail}",
+            properties = "auto.offset.reset=earliest"
+    )
+    public void consumeFailEvent(final Event event) {
+        this.handleRollback(event);
+    }
+    
+    @Override
+    protected String execute(final Event event) {
+        final Map<String, Integer> reserved = new HashMap<>();
+        
+        for (final OrderProduct product : event.getPayload().getProducts()) {
+            final var code = product.getProduct().getCode();
+            
+            if (!this.decrement(code, product.getQuantity())) {
+                reserved.forEach(this::increment);
+                return "Product is out of stock!";
+            }
+            
+            reserved.merge(code, product.getQuantity(), Integer::sum);
+        }
+        
+        this.reservations.put(event.getTransactionId(), reserved);
+        return null;
+    }
+    
+    @Override
+    protected void rollback(final Event event) {
+        final var reserved = this.reservations.remove(event.getTransactionId());
+        
+        if (reserved != null) {
+            reserved.forEach(this::increment);
+        }
+    }
+    
+    private boolean decrement(final String code, final int quantity) {
+        final var available = this.stock.get(code);
+        
+        if (available == null) {
+            return false;
+        }
+        
+        var current = available.get();
+        
+        while (current >= quantity) {
+            if (available.compareAndSet(current, current - quantity)) {
+                return true;
+            }
+            
+            current = available.get();
+        }
+        
+        return false;
+    }
+    
+    private void increment(final String code, final int quantity) {
+        this.stock.get(code).addAndGet(quantity);
+    }
+    
+}
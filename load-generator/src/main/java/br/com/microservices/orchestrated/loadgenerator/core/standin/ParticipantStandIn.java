@@ -0,0 +1,70 @@
+package br.com.microservices.orchestrated.loadgenerator.core.standin;
+
+import static org.springframework.util.ObjectUtils.isEmpty;
+
+import java.time.LocalDateTime;
+
+import org.springframework.kafka.core.KafkaTemplate;
+
+import br.com.microservices.orchestrated.loadgenerator.core.dto.Event;
+import br.com.microservices.orchestrated.loadgenerator.core.dto.History;
+import br.com.microservices.orchestrated.loadgenerator.core.enums.ESagaStage;
+import br.com.microservices.orchestrated.loadgenerator.core.enums.ESagaStatus;
+
+public abstract class ParticipantStandIn {
+    
+    private static final String SUCCESS_SUFFIX = "_SUCCESS";
+    
+    private static final String FAIL_SUFFIX = "_FAIL";
+    
+    private static final String ROLLBACK_SUFFIX = "_ROLLBACK";
+    
+    private final KafkaTemplate<String, Event> kafkaTemplate;
+    
+    private final String orchestratorTopic;
+    
+    private final ESagaStage stage;
+    
+    protected ParticipantStandIn(final KafkaTemplate<String, Event> kafkaTemplate, final String orchestratorTopic, final ESagaStage stage) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.orchestratorTopic = orchestratorTopic;
+        this.stage = stage;
+    }
+    
+    protected abstract String execute(Event event);
+    
+    protected abstract void rollback(Event event);
+    
+    protected void handleExecution(final Event event) {
+        final var failure = this.execute(event);
+        
+        if (isEmpty(failure)) {
+            this.reply(event, ESagaStatus.SUCCESS, SUCCESS_SUFFIX, null);
+        } else {
+            this.reply(event, ESagaStatus.ROLLBACK_PENDING, FAIL_SUFFIX, failure);
+        }
+    }
+    
+    protected void handleRollback(final Event event) {
+        this.rollback(event);
+        this.reply(event, ESagaStatus.FAIL, ROLLBACK_SUFFIX, null);
+    }
+    
+    private void reply(final Event event, final ESagaStatus status, final String suffix, final String detail) {
+        event.setStatus(status);
+        event.setSource(this.stage.getSource());
+        final var history = History
+                .builder()
+                .source(this.stage.getSource())
+                .status(status)
+                .code(this.stage.getHistoryPrefix().concat(suffix))
+                .detail(detail)
+                .createdAt(LocalDateTime.now())
+                .build();
+        
+        event.addHistory(history);
+        
+        this.kafkaTemplate.send(this.orchestratorTopic, event.getTransactionId(), event);
+    }
+    
+}
@@ -0,0 +1,69 @@
+package br.com.microservices.orchestrated.loadgenerator.core.standin;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import br.com.microservices.orchestrated.loadgenerator.core.dto.Event;
+import br.com.microservices.orchestrated.loadgenerator.core.enums.ESagaStage;
+
+@Component
+@ConditionalOnProperty(name = "load.embedded", havingValue = "true")
+public class PaymentStandIn extends ParticipantStandIn {
+    
+    private static final double MIN_AMOUNT_VALUE = 0.1;
+    
+    private final Map<String, Double> payments = new ConcurrentHashMap<>();
+    
+    public PaymentStandIn(final KafkaTemplate<String, Event> kafkaTemplate,
+                          @Value("${spring.kafka.topic.orchestrator}") final String orchestratorTopic) {
+        super(kafkaTemplate, orchestratorTopic, ESagaStage.PAYMENT);
+    }
+    
+    @KafkaListener(
+            groupId = "load-generator-payment",
+            topics = "${spring.kafka.topic.payment-success}",
+            properties = "auto.offset.reset=earliest"
+    )
+    public void consumeSuccessEvent(final Event event) {
+        this.handleExecution(event);
+    }
+    
+    @KafkaListener(
+            groupId = "load-generator-payment",
+            topics = "${spring.kafka.topic.payment-fail}",
+            properties = "auto.offset.reset=earliest"
+    )
+    public void consumeFailEvent(final Event event) {
+        this.handleRollback(event);
+    }
+    
+    @Override
+    protected String execute(final Event event) {
+        final var products = event.getPayload().getProducts();
+        final var totalAmount = products
+                .stream()
+                .mapToDouble(product -> product.getQuantity() * product.getProduct().getUnitValue())
+                .sum();
+        
+        if (totalAmount < MIN_AMOUNT_VALUE) {
+            return "The minimum amount available is " + MIN_AMOUNT_VALUE;
+        }
+        
+        event.getPayload().setTotalAmount(totalAmount);
+        event.getPayload().setTotalItems(products.stream().mapToInt(product -> product.getQuantity()).sum());
+        this.payments.put(event.getTransactionId(), totalAmount);
+        return null;
+    }
+    
+    @Override
+    protected void rollback(final Event event) {
+        this.payments.remove(event.getTransactionId());
+    }
+    
+}
@@ -0,0 +1,77 @@
+package br.com.microservices.orchestrated.loadgenerator.core.standin;
+
+import static org.springframework.util.ObjectUtils.isEmpty;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import br.com.microservices.orchestrated.loadgenerator.config.load.LoadGeneratorProperties;
+import br.com.microservices.orchestrated.loadgenerator.core.dto.Event;
+import br.com.microservices.orchestrated.loadgenerator.core.enums.ESagaStage;
+
+@Component
+@ConditionalOnProperty(name = "load.embedded", havingValue = "true")
+public class ProductValidationStandIn extends ParticipantStandIn {
+    
+    private final Set<String> catalog;
+    
+    private final Map<String, Boolean> validations = new ConcurrentHashMap<>();
+    
+    public ProductValidationStandIn(final KafkaTemplate<String, Event> kafkaTemplate,
+                                    @Value("${spring.kafka.topic.orchestrator}") final String orchestratorTopic,
+                                    final LoadGeneratorProperties properties) {
+        super(kafkaTemplate, orchestratorTopic, ESagaStage.VALIDATION);
+        this.catalog = Set.copyOf(properties.standIn().catalog());
+    }
+    
+    @KafkaListener(
+            groupId = "load-generator-product-validation",
+            topics = "${spring.kafka.topic.product-validation-success}",
+            properties = "auto.offset.reset=earliest"
+    )
+    public void consumeSuccessEvent(final Event event) {
+        this.handleExecution(event);
+    }
+    
+    @KafkaListener(
+            groupId = "load-generator-product-validation",
+            topics = "${spring.kafka.topic.product-validation-fail}",
+            properties = "auto.offset.reset=earliest"
+    )
+    public void consumeFailEvent(final Event event) {
+        this.handleRollback(event);
+    }
+    
+    @Override
+    protected String execute(final Event event) {
+        if (isEmpty(event.getPayload()) || isEmpty(event.getPayload().getProducts())) {
+            return "Products list is empty!";
+        }
+        
+        final var unknownProduct = event
+                .getPayload()
+                .getProducts()
+                .stream()
+                .anyMatch(product -> isEmpty(product.getProduct()) || !this.catalog.contains(product.getProduct().getCode()));
+        
+        if (unknownProduct) {
+            return "Product does not exists in database!";
+        }
+        
+        this.validations.put(event.getTransactionId(), true);
+        return null;
+    }
+    
+    @Override
+    protected void rollback(final Event event) {
+        this.validations.put(event.getTransactionId(), false);
+    }
+    
+}
@@ -0,0 +1,93 @@
+package br.com.microservices.orchestrated.loadgenerator.core.starter;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.microservices.orchestrated.loadgenerator.config.load.LoadGeneratorProperties;
+import br.com.microservices.orchestrated.loadgenerator.core.dto.Order;
+import br.com.microservices.orchestrated.loadgenerator.core.dto.OrderProduct;
+import br.com.microservices.orchestrated.loadgenerator.core.dto.OrderRequest;
+import br.com.microservices.orchestrated.loadgenerator.core.service.SagaLatencyTracker;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "load.mode", havingValue = "HTTP")
+public class HttpSagaStarter implements SagaStarter {
+    
+    private static final String CONTENT_TYPE_HEADER = "Content-Type";
+    
+    private static final String APPLICATION_JSON = "application/json";
+    
+    private final HttpClient httpClient;
+    
+    private final ObjectMapper objectMapper;
+    
+    private final SagaLatencyTracker sagaLatencyTracker;
+    
+    private final URI orderUri;
+    
+    private final String sagaType;
+    
+    public HttpSagaStarter(final HttpClient httpClient,
+                           final ObjectMapper objectMapper,
+                           final SagaLatencyTracker sagaLatencyTracker,
+                           final LoadGeneratorProperties properties) {
+        this.httpClient = httpClient;
+        this.objectMapper = objectMapper;
+        this.sagaLatencyTracker = sagaLatencyTracker;
+        this.orderUri = URI.create(properties.orderUrl());
+        this.sagaType = properties.sagaType();
+    }
+    
+    @Override
+    public void start(final List<OrderProduct> products, final long intendedStartNanos, final boolean measured) {
+        this.sagaLatencyTracker.submit(measured);
+        
+        final HttpRequest request;
+        
+        try {
+            request = HttpRequest
+                    .newBuilder(this.orderUri)
+                    .header(CONTENT_TYPE_HEADER, APPLICATION_JSON)
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(this.objectMapper.writeValueAsBytes(new OrderRequest(products, this.sagaType))))
+                    .build();
+            
+        } catch (final JsonProcessingException e) {
+            log.error("Error trying to write order request: ", e);
+            this.sagaLatencyTracker.reject(null, measured);
+            return;
+        }
+        
+        this.httpClient
+                .sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                .whenComplete((response, e) -> this.onResponse(response, e, intendedStartNanos, measured));
+    }
+    
+    private void onResponse(final HttpResponse<byte[]> response, final Throwable e, final long intendedStartNanos, final boolean measured) {
+        if (e != null || response.statusCode() / 100 != 2) {
+            log.warn("Error trying to create order: {}", e != null ? e.getMessage() : "HTTP " + response.statusCode());
+            this.sagaLatencyTracker.reject(null, measured);
+            return;
+        }
+        
+        try {
+            final var order = this.objectMapper.readValue(response.body(), Order.class);
+            this.sagaLatencyTracker.register(order.getTransactionId(), intendedStartNanos, measured);
+            
+        } catch (final Exception ex) {
+            log.error("Error trying to read created order: ", ex);
+            this.sagaLatencyTracker.reject(null, measured);
+        }
+    }
+    
+}
@@ -0,0 +1,83 @@
+package br.com.microservices.orchestrated.loadgenerator.core.starter;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import br.com.microservices.orchestrated.loadgenerator.config.load.LoadGeneratorProperties;
+import br.com.microservices.orchestrated.loadgenerator.core.dto.Event;
+import br.com.microservices.orchestrated.loadgenerator.core.dto.Order;
+import br.com.microservices.orchestrated.loadgenerator.core.dto.OrderProduct;
+import br.com.microservices.orchestrated.loadgenerator.core.service.SagaLatencyTracker;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "load.mode", havingValue = "KAFKA")
+public class KafkaSagaStarter implements SagaStarter {
+    
+    private static final String TRANSACTION_ID_FORMAT = "%s_%s";
+    
+    private final KafkaTemplate<String, Event> kafkaTemplate;
+    
+    private final SagaLatencyTracker sagaLatencyTracker;
+    
+    private final String sagaType;
+    
+    private final String startSagaTopic;
+    
+    public KafkaSagaStarter(final KafkaTemplate<String, Event> kafkaTemplate,
+                            final SagaLatencyTracker sagaLatencyTracker,
+                            final LoadGeneratorProperties properties,
+                            @Value("${spring.kafka.topic.start-saga}") final String startSagaTopic) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.sagaLatencyTracker = sagaLatencyTracker;
+        this.sagaType = properties.sagaType();
+        this.startSagaTopic = startSagaTopic;
+    }
+    
+    @Override
+    public void start(final List<OrderProduct> products, final long intendedStartNanos, final boolean measured) {
+        final var event = this.createEvent(products);
+        final var transactionId = event.getTransactionId();
+        
+        this.sagaLatencyTracker.submit(measured);
+        this.sagaLatencyTracker.register(transactionId, intendedStartNanos, measured);
+        
+        this.kafkaTemplate
+                .send(this.startSagaTopic, transactionId, event)
+                .whenComplete((result, e) -> {
+                    if (e != null) {
+                        log.warn("Error trying to start saga {}: {}", transactionId, e.getMessage());
+                        this.sagaLatencyTracker.reject(transactionId, measured);
+                    }
+                });
+    }
+    
+    private Event createEvent(final List<OrderProduct> products) {
+        final var order = Order
+                .builder()
+                .id(UUID.randomUUID().toString())
+                .products(products)
+                .createdAt(LocalDateTime.now())
+                .transactionId(String.format(TRANSACTION_ID_FORMAT, Instant.now().toEpochMilli(), UUID.randomUUID()))
+                .build();
+        
+        return Event
+                .builder()
+                .id(UUID.randomUUID().toString())
+                .orderId(order.getId())
+                .sagaType(this.sagaType)
+                .transactionId(order.getTransactionId())
+                .payload(order)
+                .createdAt(order.getCreatedAt())
+                .build();
+    }
+    
+}
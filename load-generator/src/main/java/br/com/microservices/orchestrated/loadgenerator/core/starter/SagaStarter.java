@@ -0,0 +1,11 @@
+package br.com.microservices.orchestrated.loadgenerator.core.starter;
+
+import java.util.List;
+
+import br.com.microservices.orchestrated.loadgenerator.core.dto.OrderProduct;
+
+public interface SagaStarter {
+    
+    void start(List<OrderProduct> products, long intendedStartNanos, boolean measured);
+    
+}
@@ -0,0 +1,77 @@
+package br.com.microservices.orchestrated.orchestratorservice.core.dto;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import br.com.microservices.orchestrated.orchestratorservice.core.enums.EEventSource;
+import br.com.microservices.orchestrated.orchestratorservice.core.enums.EHistoryMessage;
+import br.com.microservices.orchestrated.orchestratorservice.core.enums.EHistoryMode;
+import br.com.microservices.orchestrated.orchestratorservice.core.enums.ESagaStatus;
+import br.com.microservices.orchestrated.orchestratorservice.core.utils.HistoryUtil;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventHistoryBenchmark {
+    
+    @Param({"FULL", "COMPACT"})
+    private EHistoryMode historyMode;
+    
+    @Param({"2", "8", "32"})
+    private int historyEntries;
+    
+    private HistoryUtil historyUtil;
+    
+    private History history;
+    
+    @Setup
+    public void setUp() {
+        this.historyUtil = new HistoryUtil(this.historyMode);
+        this.history = this.historyUtil.create(this.createEvent(), EHistoryMessage.SAGA_FINISHED_FAIL, "Product is out of stock!");
+    }
+    
+    @Benchmark
+    public Event addHistory() {
+        final var event = this.createEvent();
+        
+        for (int entry = 0; entry < this.historyEntries; entry++) {
+            event.addHistory(this.history);
+        }
+        
+        return event;
+    }
+    
+    @Benchmark
+    public Event createAndAddHistory() {
+        final var event = this.createEvent();
+        
+        for (int entry = 0; entry < this.historyEntries; entry++) {
+            event.addHistory(this.historyUtil.create(event, EHistoryMessage.SAGA_FINISHED_FAIL, entry % 2 == 0 ? null : "Product is out of stock!"));
+        }
+        
+        return event;
+    }
+    
+    private Event createEvent() {
+        final var event = new Event();
+        event.setSource(EEventSource.INVENTORY_SERVICE);
+        event.setStatus(ESagaStatus.FAIL);
+        
+        return event;
+    }
+    
+}
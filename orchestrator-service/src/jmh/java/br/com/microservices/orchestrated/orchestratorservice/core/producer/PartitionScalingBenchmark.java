@@ -0,0 +1,203 @@
+package br.com.microservices.orchestrated.orchestratorservice.core.producer;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRebalanceListener;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.WakeupException;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+
+import br.com.microservices.orchestrated.orchestratorservice.core.enums.EEventCodec;
+import br.com.microservices.orchestrated.orchestratorservice.core.enums.EHistoryMode;
+import br.com.microservices.orchestrated.orchestratorservice.core.utils.EventCodecBenchmark;
+import br.com.microservices.orchestrated.orchestratorservice.core.utils.JsonUtil;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PartitionScalingBenchmark {
+    
+    private static final int RECORDS = 2_000;
+    
+    private static final int SAGAS = 200;
+    
+    private static final int ORDER_LINES = 10;
+    
+    private static final String TOPIC = "partition-scaling-benchmark";
+    
+    private static final Duration POLL_TIMEOUT = Duration.ofMillis(50);
+    
+    private static final long PROCESSING_NANOS = TimeUnit.MICROSECONDS.toNanos(500);
+    
+    @Param({"1", "2", "4", "8"})
+    private int partitions;
+    
+    private final AtomicInteger assignedPartitions = new AtomicInteger();
+    
+    private final Map<String, Integer> lastHopBySaga = new ConcurrentHashMap<>();
+    
+    private final LongAdder outOfOrderHops = new LongAdder();
+    
+    private final List<KafkaConsumer<String, byte[]>> consumers = new ArrayList<>();
+    
+    private final List<Thread> consumerThreads = new ArrayList<>();
+    
+    private EmbeddedKafkaBroker broker;
+    
+    private KafkaProducer<String, byte[]> producer;
+    
+    private byte[] payload;
+    
+    private volatile CountDownLatch consumed = new CountDownLatch(0);
+    
+    private volatile boolean running = true;
+    
+    private int hop;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.broker = new EmbeddedKafkaBroker(1, false, this.partitions, TOPIC);
+        this.broker.afterPropertiesSet();
+        
+        final Map<String, Object> producerProps = new HashMap<>();
+        producerProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, this.broker.getBrokersAsString());
+        producerProps.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        producerProps.put(ProducerConfig.ACKS_CONFIG, "all");
+        this.producer = new KafkaProducer<>(producerProps, new StringSerializer(), new ByteArraySerializer());
+        
+        this.payload = new JsonUtil(EventCodecBenchmark.createObjectMapper(), EEventCodec.JSON)
+                .toPayload(EventCodecBenchmark.createEvent(ORDER_LINES, EHistoryMode.FULL));
+        
+        for (int i = 0; i < this.partitions; i++) {
+            final var consumer = new KafkaConsumer<>(this.consumerProps(), new StringDeserializer(), new ByteArrayDeserializer());
+            consumer.subscribe(List.of(TOPIC), new AssignmentCounter());
+            this.consumers.add(consumer);
+            
+            final var thread = new Thread(() -> this.consume(consumer), "partition-scaling-consumer-" + i);
+            this.consumerThreads.add(thread);
+            thread.start();
+        }
+        
+        while (this.assignedPartitions.get() < this.partitions) {
+            LockSupport.parkNanos(POLL_TIMEOUT.toNanos());
+        }
+    }
+    
+    private Map<String, Object> consumerProps() {
+        final Map<String, Object> props = new HashMap<>();
+        
+        props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, this.broker.getBrokersAsString());
+        props.put(ConsumerConfig.GROUP_ID_CONFIG, "partition-scaling-benchmark-group");
+        props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        
+        return props;
+    }
+    
+    private void consume(final KafkaConsumer<String, byte[]> consumer) {
+        try {
+            while (this.running) {
+                consumer.poll(POLL_TIMEOUT).forEach(record -> {
+                    LockSupport.parkNanos(PROCESSING_NANOS);
+                    this.checkOrder(record.key(), Integer.parseInt(new String(record.headers().lastHeader("hop").value())));
+                    this.consumed.countDown();
+                });
+            }
+            
+        } catch (final WakeupException e) {
+            return;
+            
+        } finally {
+            consumer.close();
+        }
+    }
+    
+    private void checkOrder(final String key, final int hop) {
+        this.lastHopBySaga.merge(key, hop, (previous, current) -> {
+            if (current < previous) {
+                this.outOfOrderHops.increment();
+            }
+            
+            return current;
+        });
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        System.out.printf("%n%d partitions: %d saga hops consumed out of order%n", this.partitions, this.outOfOrderHops.sum());
+        this.running = false;
+        this.consumers.forEach(KafkaConsumer::wakeup);
+        
+        for (final var thread : this.consumerThreads) {
+            thread.join();
+        }
+        
+        this.producer.close();
+        this.broker.destroy();
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(RECORDS)
+    public void keyedSagaHops() throws InterruptedException {
+        this.consumed = new CountDownLatch(RECORDS);
+        
+        for (int i = 0; i < RECORDS; i++) {
+            final var record = new ProducerRecord<>(TOPIC, "transaction-" + (i % SAGAS), this.payload);
+            record.headers().add("hop", String.valueOf(this.hop++).getBytes());
+            this.producer.send(record);
+        }
+        
+        this.consumed.await();
+    }
+    
+    private class AssignmentCounter implements ConsumerRebalanceListener {
+        
+        @Override
+        public void onPartitionsRevoked(final Collection<TopicPartition> partitions) {
+            assignedPartitions.addAndGet(-partitions.size());
+        }
+        
+        @Override
+        public void onPartitionsAssigned(final Collection<TopicPartition> partitions) {
+            assignedPartitions.addAndGet(partitions.size());
+        }
+        
+    }
+    
+}
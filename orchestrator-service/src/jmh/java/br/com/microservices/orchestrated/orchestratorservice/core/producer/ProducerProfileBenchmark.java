@@ -0,0 +1,121 @@
+package br.com.microservices.orchestrated.orchestratorservice.core.producer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+
+import br.com.microservices.orchestrated.orchestratorservice.core.enums.EEventCodec;
+import br.com.microservices.orchestrated.orchestratorservice.core.enums.EHistoryMode;
+import br.com.microservices.orchestrated.orchestratorservice.core.enums.EProducerProfile;
+import br.com.microservices.orchestrated.orchestratorservice.core.utils.EventCodecBenchmark;
+import br.com.microservices.orchestrated.orchestratorservice.core.utils.JsonUtil;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProducerProfileBenchmark {
+    
+    private static final int RECORDS = 10_000;
+    
+    private static final int PARTITIONS = 8;
+    
+    private static final int ORDER_LINES = 10;
+    
+    private static final String TOPIC = "producer-profile-benchmark";
+    
+    @Param({"LATENCY", "THROUGHPUT"})
+    private EProducerProfile profile;
+    
+    @Param({"lz4", "zstd"})
+    private String compressionType;
+    
+    private final long[] latencies = new long[RECORDS];
+    
+    private final List<Long> p99s = new ArrayList<>();
+    
+    private EmbeddedKafkaBroker broker;
+    
+    private KafkaProducer<String, byte[]> producer;
+    
+    private byte[] payload;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.broker = new EmbeddedKafkaBroker(1, false, PARTITIONS, TOPIC);
+        this.broker.afterPropertiesSet();
+        
+        final Map<String, Object> props = new HashMap<>();
+        props.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, this.broker.getBrokersAsString());
+        props.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        props.put(ProducerConfig.ACKS_CONFIG, "all");
+        props.put(ProducerConfig.LINGER_MS_CONFIG, this.profile.getLingerMs());
+        props.put(ProducerConfig.BATCH_SIZE_CONFIG, this.profile.getBatchSize());
+        props.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, this.compressionType);
+        
+        this.producer = new KafkaProducer<>(props, new StringSerializer(), new ByteArraySerializer());
+        this.payload = new JsonUtil(EventCodecBenchmark.createObjectMapper(), EEventCodec.JSON)
+                .toPayload(EventCodecBenchmark.createEvent(ORDER_LINES, EHistoryMode.FULL));
+    }
+    
+    @TearDown(Level.Iteration)
+    public void recordP99() {
+        final var sorted = Arrays.copyOf(this.latencies, this.latencies.length);
+        Arrays.sort(sorted);
+        this.p99s.add(sorted[(int) Math.ceil(sorted.length * 0.99) - 1]);
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.out.printf("%n%s/%s: p99 send latency per iteration (us) %s%n", this.profile, this.compressionType,
+                          this.p99s.stream().map(nanos -> TimeUnit.NANOSECONDS.toMicros(nanos)).toList());
+        this.producer.close();
+        this.broker.destroy();
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(RECORDS)
+    public void send() throws InterruptedException {
+        final var acknowledged = new CountDownLatch(RECORDS);
+        
+        for (int i = 0; i < RECORDS; i++) {
+            final var record = i;
+            final var sentAt = System.nanoTime();
+            
+            this.producer.send(new ProducerRecord<>(TOPIC, "transaction-" + record, this.payload), (metadata, e) -> {
+                this.latencies[record] = System.nanoTime() - sentAt;
+                acknowledged.countDown();
+            });
+        }
+        
+        acknowledged.await();
+    }
+    
+}
@@ -0,0 +1,194 @@
+package br.com.microservices.orchestrated.orchestratorservice.core.producer;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+
+import br.com.microservices.orchestrated.orchestratorservice.core.enums.EEventCodec;
+import br.com.microservices.orchestrated.orchestratorservice.core.enums.EHistoryMode;
+import br.com.microservices.orchestrated.orchestratorservice.core.enums.EProducerProfile;
+import br.com.microservices.orchestrated.orchestratorservice.core.utils.EventCodecBenchmark;
+import br.com.microservices.orchestrated.orchestratorservice.core.utils.JsonUtil;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TransactionalRelayBenchmark {
+    
+    private static final int RECORDS = 5_000;
+    
+    private static final int PARTITIONS = 8;
+    
+    private static final int ORDER_LINES = 10;
+    
+    private static final String INPUT_TOPIC = "orchestrator-relay-benchmark";
+    
+    private static final String OUTPUT_TOPIC = "payment-success-relay-benchmark";
+    
+    private static final Duration POLL_TIMEOUT = Duration.ofMillis(100);
+    
+    @Param({"false", "true"})
+    private boolean transactional;
+    
+    @Param({"1", "50", "500"})
+    private int sagasPerTransaction;
+    
+    private EmbeddedKafkaBroker broker;
+    
+    private KafkaProducer<String, byte[]> seeder;
+    
+    private KafkaProducer<String, byte[]> producer;
+    
+    private KafkaConsumer<String, byte[]> consumer;
+    
+    private byte[] payload;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.broker = new EmbeddedKafkaBroker(1, false, PARTITIONS, INPUT_TOPIC, OUTPUT_TOPIC)
+                .brokerProperty("transaction.state.log.replication.factor", "1")
+                .brokerProperty("transaction.state.log.min.isr", "1");
+        this.broker.afterPropertiesSet();
+        
+        this.seeder = new KafkaProducer<>(this.producerProps(), new StringSerializer(), new ByteArraySerializer());
+        
+        final var producerProps = this.producerProps();
+        if (this.transactional) {
+            producerProps.put(ProducerConfig.TRANSACTIONAL_ID_CONFIG, "orchestrator-relay-benchmark-tx");
+        }
+        
+        this.producer = new KafkaProducer<>(producerProps, new StringSerializer(), new ByteArraySerializer());
+        if (this.transactional) {
+            this.producer.initTransactions();
+        }
+        
+        this.consumer = new KafkaConsumer<>(this.consumerProps(), new StringDeserializer(), new ByteArrayDeserializer());
+        this.consumer.subscribe(List.of(INPUT_TOPIC));
+        
+        this.payload = new JsonUtil(EventCodecBenchmark.createObjectMapper(), EEventCodec.JSON)
+                .toPayload(EventCodecBenchmark.createEvent(ORDER_LINES, EHistoryMode.FULL));
+    }
+    
+    private Map<String, Object> producerProps() {
+        final Map<String, Object> props = new HashMap<>();
+        
+        props.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, this.broker.getBrokersAsString());
+        props.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        props.put(ProducerConfig.ACKS_CONFIG, "all");
+        props.put(ProducerConfig.LINGER_MS_CONFIG, EProducerProfile.LATENCY.getLingerMs());
+        props.put(ProducerConfig.BATCH_SIZE_CONFIG, EProducerProfile.LATENCY.getBatchSize());
+        props.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, "lz4");
+        
+        return props;
+    }
+    
+    private Map<String, Object> consumerProps() {
+        final Map<String, Object> props = new HashMap<>();
+        
+        props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, this.broker.getBrokersAsString());
+        props.put(ConsumerConfig.GROUP_ID_CONFIG, "orchestrator-relay-benchmark-group");
+        props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        props.put(ConsumerConfig.ISOLATION_LEVEL_CONFIG, "read_committed");
+        props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, this.sagasPerTransaction);
+        
+        return props;
+    }
+    
+    @Setup(Level.Invocation)
+    public void seed() {
+        for (int i = 0; i < RECORDS; i++) {
+            this.seeder.send(new ProducerRecord<>(INPUT_TOPIC, "transaction-" + i, this.payload));
+        }
+        
+        this.seeder.flush();
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.consumer.close();
+        this.producer.close();
+        this.seeder.close();
+        this.broker.destroy();
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(RECORDS)
+    public int relay() {
+        var relayed = 0;
+        
+        while (relayed < RECORDS) {
+            final var records = this.consumer.poll(POLL_TIMEOUT);
+            if (records.isEmpty()) {
+                continue;
+            }
+            
+            if (this.transactional) {
+                this.relayExactlyOnce(records);
+            } else {
+                this.relayAtLeastOnce(records);
+            }
+            
+            relayed += records.count();
+        }
+        
+        return relayed;
+    }
+    
+    private void relayAtLeastOnce(final ConsumerRecords<String, byte[]> records) {
+        records.forEach(record -> this.producer.send(new ProducerRecord<>(OUTPUT_TOPIC, record.key(), record.value())));
+        this.consumer.commitSync(this.nextOffsets(records));
+    }
+    
+    private void relayExactlyOnce(final ConsumerRecords<String, byte[]> records) {
+        this.producer.beginTransaction();
+        records.forEach(record -> this.producer.send(new ProducerRecord<>(OUTPUT_TOPIC, record.key(), record.value())));
+        this.producer.sendOffsetsToTransaction(this.nextOffsets(records), this.consumer.groupMetadata());
+        this.producer.commitTransaction();
+    }
+    
+    private Map<TopicPartition, OffsetAndMetadata> nextOffsets(final ConsumerRecords<String, byte[]> records) {
+        final Map<TopicPartition, OffsetAndMetadata> offsets = new HashMap<>();
+        
+        for (final var partition : records.partitions()) {
+            final var partitionRecords = records.records(partition);
+            offsets.put(partition, new OffsetAndMetadata(partitionRecords.get(partitionRecords.size() - 1).offset() + 1));
+        }
+        
+        return offsets;
+    }
+    
+}
@@ -0,0 +1,83 @@
+package br.com.microservices.orchestrated.orchestratorservice.core.saga;
+
+import static br.com.microservices.orchestrated.orchestratorservice.core.enums.EEventSource.INVENTORY_SERVICE;
+import static br.com.microservices.orchestrated.orchestratorservice.core.enums.EEventSource.PAYMENT_SERVICE;
+import static br.com.microservices.orchestrated.orchestratorservice.core.enums.EEventSource.PRODUCT_VALIDATION_SERVICE;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import br.com.microservices.orchestrated.orchestratorservice.config.saga.SagaProperties;
+import br.com.microservices.orchestrated.orchestratorservice.core.dto.Event;
+import br.com.microservices.orchestrated.orchestratorservice.core.enums.EEventSource;
+import br.com.microservices.orchestrated.orchestratorservice.core.enums.ESagaStatus;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SagaExecutionControllerBenchmark {
+    
+    private static final String CHECKOUT = "checkout";
+    
+    private static final String PRE_ORDER = "pre-order";
+    
+    @Param({"checkout", "pre-order"})
+    private String sagaType;
+    
+    @Param({"PRODUCT_VALIDATION_SERVICE", "PAYMENT_SERVICE"})
+    private EEventSource source;
+    
+    @Param({"SUCCESS", "ROLLBACK_PENDING", "FAIL"})
+    private ESagaStatus status;
+    
+    private SagaExecutionController sagaExecutionController;
+    
+    private Event event;
+    
+    @Setup
+    public void setUp() {
+        final var checkout = new SagaDefinition(List.of(
+                new SagaStep(PRODUCT_VALIDATION_SERVICE, "product-validation-success", "product-validation-fail", null),
+                new SagaStep(PAYMENT_SERVICE, "payment-success", "payment-fail", null),
+                new SagaStep(INVENTORY_SERVICE, "inventory-success", "inventory-fail", null)
+        ));
+        final var preOrder = new SagaDefinition(List.of(
+                new SagaStep(PRODUCT_VALIDATION_SERVICE, "product-validation-success", "product-validation-fail", null),
+                new SagaStep(PAYMENT_SERVICE, "payment-success", "payment-fail", null)
+        ));
+        
+        final var registry = new SagaDefinitionRegistry(new SagaProperties(CHECKOUT, null, Map.of(CHECKOUT, checkout, PRE_ORDER, preOrder)));
+        this.sagaExecutionController = new SagaExecutionController(registry);
+        
+        this.event = new Event();
+        this.event.setSagaType(this.sagaType);
+        this.event.setSource(this.source);
+        this.event.setStatus(this.status);
+        
+        ((ch.qos.logback.classic.Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME)).setLevel(ch.qos.logback.classic.Level.WARN);
+    }
+    
+    @Benchmark
+    public String getNextTopic() {
+        return this.sagaExecutionController.getNextTopic(this.event);
+    }
+    
+}
@@ -0,0 +1,88 @@
+package br.com.microservices.orchestrated.orchestratorservice.core.saga;
+
+import static br.com.microservices.orchestrated.orchestratorservice.core.enums.EEventSource.INVENTORY_SERVICE;
+import static br.com.microservices.orchestrated.orchestratorservice.core.enums.EEventSource.ORCHESTRATOR;
+import static br.com.microservices.orchestrated.orchestratorservice.core.enums.EEventSource.PAYMENT_SERVICE;
+import static br.com.microservices.orchestrated.orchestratorservice.core.enums.EEventSource.PRODUCT_VALIDATION_SERVICE;
+import static br.com.microservices.orchestrated.orchestratorservice.core.enums.ESagaStatus.FAIL;
+import static br.com.microservices.orchestrated.orchestratorservice.core.enums.ESagaStatus.ROLLBACK_PENDING;
+import static br.com.microservices.orchestrated.orchestratorservice.core.enums.ESagaStatus.SUCCESS;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import br.com.microservices.orchestrated.orchestratorservice.core.enums.EEventSource;
+import br.com.microservices.orchestrated.orchestratorservice.core.enums.ESagaStatus;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SagaRoutingBenchmark {
+    
+    private static final SagaDefinition CHECKOUT = new SagaDefinition(List.of(
+            new SagaStep(PRODUCT_VALIDATION_SERVICE, "product-validation-success", "product-validation-fail", null),
+            new SagaStep(PAYMENT_SERVICE, "payment-success", "payment-fail", null),
+            new SagaStep(INVENTORY_SERVICE, "inventory-success", "inventory-fail", null)
+    ));
+    
+    private static final Object[][] STREAM_SAGA_HANDLER = {
+            {ORCHESTRATOR, SUCCESS, "product-validation-success"},
+            {ORCHESTRATOR, FAIL, "finish-fail"},
+        
+            {PRODUCT_VALIDATION_SERVICE, ROLLBACK_PENDING, "product-validation-fail"},
+            {PRODUCT_VALIDATION_SERVICE, FAIL, "finish-fail"},
+            {PRODUCT_VALIDATION_SERVICE, SUCCESS, "payment-success"},
+        
+            {PAYMENT_SERVICE, ROLLBACK_PENDING, "payment-fail"},
+            {PAYMENT_SERVICE, FAIL, "product-validation-fail"},
+            {PAYMENT_SERVICE, SUCCESS, "inventory-success"},
+        
+            {INVENTORY_SERVICE, ROLLBACK_PENDING, "inventory-fail"},
+            {INVENTORY_SERVICE, FAIL, "payment-fail"},
+            {INVENTORY_SERVICE, SUCCESS, "finish-success"}
+    };
+    
+    @Param({"PRODUCT_VALIDATION_SERVICE", "PAYMENT_SERVICE", "INVENTORY_SERVICE"})
+    private EEventSource source;
+    
+    @Param({"SUCCESS", "FAIL"})
+    private ESagaStatus status;
+    
+    private SagaRoutingTable routingTable;
+    
+    @Setup
+    public void setUp() {
+        this.routingTable = SagaRoutingTable.compile(CHECKOUT);
+    }
+    
+    @Benchmark
+    public String routingTable() {
+        return this.routingTable.find(this.source, this.status);
+    }
+    
+    @Benchmark
+    public String streamScan() {
+        return (String) Arrays.stream(STREAM_SAGA_HANDLER)
+                              .filter(row -> row[0].equals(this.source) && row[1].equals(this.status))
+                              .map(row -> row[2])
+                              .findFirst()
+                              .orElseThrow();
+    }
+    
+}
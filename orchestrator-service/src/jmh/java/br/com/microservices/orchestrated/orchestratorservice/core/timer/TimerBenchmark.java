@@ -0,0 +1,105 @@
+package br.com.microservices.orchestrated.orchestratorservice.core.timer;
+
+import java.time.Duration;
+import java.util.SplittableRandom;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class TimerBenchmark {
+    
+    private static final int TIMERS = 1_000_000;
+    
+    private static final long MAX_DELAY_MILLIS = TimeUnit.MINUTES.toMillis(10);
+    
+    private static final Runnable NOOP = () -> {
+    };
+    
+    private final long[] delays = new long[TIMERS];
+    
+    private final Timeout[] timeouts = new Timeout[TIMERS];
+    
+    private final ScheduledFuture<?>[] futures = new ScheduledFuture<?>[TIMERS];
+    
+    private HierarchicalWheelTimer timer;
+    
+    private ScheduledThreadPoolExecutor executor;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        final var random = new SplittableRandom(42);
+        
+        for (int i = 0; i < TIMERS; i++) {
+            this.delays[i] = random.nextLong(TimeUnit.SECONDS.toMillis(1), MAX_DELAY_MILLIS);
+        }
+        
+        this.timer = new HierarchicalWheelTimer("benchmark-timer", Duration.ofMillis(1), 512, 1);
+        this.executor = new ScheduledThreadPoolExecutor(1);
+        this.executor.setRemoveOnCancelPolicy(true);
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.timer.stop();
+        this.executor.shutdownNow();
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(TIMERS)
+    public long hierarchicalWheel() {
+        for (int i = 0; i < TIMERS; i++) {
+            this.timeouts[i] = this.timer.newTimeout(NOOP, Duration.ofMillis(this.delays[i]));
+        }
+        
+        this.awaitDrained();
+        
+        for (int i = 0; i < TIMERS; i++) {
+            this.timeouts[i].cancel();
+        }
+        
+        this.awaitDrained();
+        
+        return this.timer.pendingTimeouts();
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(TIMERS)
+    public long scheduledThreadPoolExecutor() {
+        for (int i = 0; i < TIMERS; i++) {
+            this.futures[i] = this.executor.schedule(NOOP, this.delays[i], TimeUnit.MILLISECONDS);
+        }
+        
+        for (int i = 0; i < TIMERS; i++) {
+            this.futures[i].cancel(false);
+        }
+        
+        return this.executor.getQueue().size();
+    }
+    
+    private void awaitDrained() {
+        while (!this.timer.isDrained()) {
+            Thread.onSpinWait();
+        }
+    }
+    
+}
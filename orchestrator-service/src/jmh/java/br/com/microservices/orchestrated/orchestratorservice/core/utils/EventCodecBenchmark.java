@@ -0,0 +1,128 @@
+package br.com.microservices.orchestrated.orchestratorservice.core.utils;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+import br.com.microservices.orchestrated.orchestratorservice.core.dto.Event;
+import br.com.microservices.orchestrated.orchestratorservice.core.dto.Order;
+import br.com.microservices.orchestrated.orchestratorservice.core.dto.OrderProduct;
+import br.com.microservices.orchestrated.orchestratorservice.core.dto.Product;
+import br.com.microservices.orchestrated.orchestratorservice.core.enums.EEventCodec;
+import br.com.microservices.orchestrated.orchestratorservice.core.enums.EEventSource;
+import br.com.microservices.orchestrated.orchestratorservice.core.enums.EHistoryMessage;
+import br.com.microservices.orchestrated.orchestratorservice.core.enums.EHistoryMode;
+import br.com.microservices.orchestrated.orchestratorservice.core.enums.ESagaStatus;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventCodecBenchmark {
+    
+    private static final int COMPENSATED_SAGA_HOPS = 8;
+    
+    @Param({"JSON", "SMILE"})
+    private EEventCodec codec;
+    
+    @Param({"1", "10", "100"})
+    private int orderLines;
+    
+    @Param({"FULL", "COMPACT"})
+    private EHistoryMode historyMode;
+    
+    @Param({"2", "8", "32"})
+    private int historyEntries;
+    
+    private JsonUtil jsonUtil;
+    
+    private Event event;
+    
+    private byte[] payload;
+    
+    @Setup
+    public void setUp() {
+        this.jsonUtil = new JsonUtil(createObjectMapper(), this.codec);
+        this.event = createEvent(this.orderLines, this.historyMode, this.historyEntries);
+        this.payload = this.jsonUtil.toPayload(this.event);
+        
+        System.out.printf("%n%s event with %d order lines and %d %s history entries: %d bytes%n", this.codec, this.orderLines, this.historyEntries,
+                          this.historyMode, this.payload.length);
+    }
+    
+    @Benchmark
+    public byte[] encode() {
+        return this.jsonUtil.toPayload(this.event);
+    }
+    
+    @Benchmark
+    public Event decode() {
+        return this.jsonUtil.toEvent(this.payload);
+    }
+    
+    public static ObjectMapper createObjectMapper() {
+        return JsonMapper.builder()
+                         .findAndAddModules()
+                         .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                         .build();
+    }
+    
+    public static Event createEvent(final int orderLines, final EHistoryMode historyMode) {
+        return createEvent(orderLines, historyMode, COMPENSATED_SAGA_HOPS);
+    }
+    
+    public static Event createEvent(final int orderLines, final EHistoryMode historyMode, final int historyEntries) {
+        final var transactionId = UUID.randomUUID().toString();
+        final var products = IntStream.range(0, orderLines)
+                                      .mapToObj(line -> new OrderProduct(new Product("PRODUCT_" + line, 10.5 + line), line + 1))
+                                      .toList();
+        
+        final var order = Order.builder()
+                               .id(UUID.randomUUID().toString())
+                               .products(products)
+                               .createdAt(LocalDateTime.now())
+                               .transactionId(transactionId)
+                               .totalAmount(products.stream().mapToDouble(product -> product.getProduct().getUnitValue() * product.getQuantity()).sum())
+                               .totalItems(products.stream().mapToInt(OrderProduct::getQuantity).sum())
+                               .build();
+        
+        final var event = Event.builder()
+                               .id(UUID.randomUUID().toString())
+                               .transactionId(transactionId)
+                               .orderId(order.getId())
+                               .sagaType("checkout")
+                               .payload(order)
+                               .source(EEventSource.INVENTORY_SERVICE)
+                               .status(ESagaStatus.SUCCESS)
+                               .createdAt(LocalDateTime.now())
+                               .build();
+        
+        final var historyUtil = new HistoryUtil(historyMode);
+        
+        for (int hop = 0; hop < historyEntries; hop++) {
+            event.addHistory(historyUtil.create(event, EHistoryMessage.SAGA_FINISHED_FAIL, hop % 2 == 0 ? null : "Product is out of stock!"));
+        }
+        
+        return event;
+    }
+    
+}
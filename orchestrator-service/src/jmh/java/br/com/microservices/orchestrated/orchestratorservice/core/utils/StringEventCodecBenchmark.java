@@ -0,0 +1,57 @@
+package br.com.microservices.orchestrated.orchestratorservice.core.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.microservices.orchestrated.orchestratorservice.core.dto.Event;
+import br.com.microservices.orchestrated.orchestratorservice.core.enums.EHistoryMode;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StringEventCodecBenchmark {
+    
+    @Param({"1", "10", "100"})
+    private int orderLines;
+    
+    private ObjectMapper objectMapper;
+    
+    private Event event;
+    
+    private byte[] payload;
+    
+    @Setup
+    public void setUp() throws Exception {
+        this.objectMapper = EventCodecBenchmark.createObjectMapper();
+        this.event = EventCodecBenchmark.createEvent(this.orderLines, EHistoryMode.FULL);
+        this.payload = this.objectMapper.writeValueAsBytes(this.event);
+    }
+    
+    @Benchmark
+    public byte[] encode() throws Exception {
+        return this.objectMapper.writeValueAsString(this.event).getBytes(StandardCharsets.UTF_8);
+    }
+    
+    @Benchmark
+    public Event decode() throws Exception {
+        return this.objectMapper.readValue(new String(this.payload, StandardCharsets.UTF_8), Event.class);
+    }
+    
+}
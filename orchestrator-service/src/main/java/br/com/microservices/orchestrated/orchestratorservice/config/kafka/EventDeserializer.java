@@ -0,0 +1,21 @@
+package br.com.microservices.orchestrated.orchestratorservice.config.kafka;
+
+import static org.springframework.util.ObjectUtils.isEmpty;
+
+import org.apache.kafka.common.serialization.Deserializer;
+
+import br.com.microservices.orchestrated.orchestratorservice.core.dto.Event;
+import br.com.microservices.orchestrated.orchestratorservice.core.utils.JsonUtil;
+import lombok.AllArgsConstructor;
+
+@AllArgsConstructor
+public class EventDeserializer implements Deserializer<Event> {
+    
+    private final JsonUtil jsonUtil;
+    
+    @Override
+    public Event deserialize(final String topic, final byte[] data) {
+        return isEmpty(data) ? null : this.jsonUtil.toEvent(data);
+    }
+    
+}
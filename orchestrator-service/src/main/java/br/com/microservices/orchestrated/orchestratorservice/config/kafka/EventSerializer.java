@@ -0,0 +1,21 @@
+package br.com.microservices.orchestrated.orchestratorservice.config.kafka;
+
+import static org.springframework.util.ObjectUtils.isEmpty;
+
+import org.apache.kafka.common.serialization.Serializer;
+
+import br.com.microservices.orchestrated.orchestratorservice.core.dto.Event;
+import br.com.microservices.orchestrated.orchestratorservice.core.utils.JsonUtil;
+import lombok.AllArgsConstructor;
+
+@AllArgsConstructor
+public class EventSerializer implements Serializer<Event> {
+    
+    private final JsonUtil jsonUtil;
+    
+    @Override
+    public byte[] serialize(final String topic, final Event event) {
+        return isEmpty(event) ? null : this.jsonUtil.toPayload(event);
+    }
+    
+}
@@ -1,36 +1,46 @@
 package br.com.microservices.orchestrated.orchestratorservice.config.kafka;
 
-import static br.com.microservices.orchestrated.orchestratorservice.core.enums.ETopics.BASE_ORCHESTRATOR;
-import static br.com.microservices.orchestrated.orchestratorservice.core.enums.ETopics.FINISH_FAIL;
-import static br.com.microservices.orchestrated.orchestratorservice.core.enums.ETopics.FINISH_SUCCESS;
-import static br.com.microservices.orchestrated.orchestratorservice.core.enums.ETopics.INVENTORY_FAIL;
-import static br.com.microservices.orchestrated.orchestratorservice.core.enums.ETopics.INVENTORY_SUCCESS;
-import static br.com.microservices.orchestrated.orchestratorservice.core.enums.ETopics.NOTIFY_ENDING;
-import static br.com.microservices.orchestrated.orchestratorservice.core.enums.ETopics.PAYMENT_FAIL;
-import static br.com.microservices.orchestrated.orchestratorservice.core.enums.ETopics.PAYMENT_SUCCESS;
-import static br.com.microservices.orchestrated.orchestratorservice.core.enums.ETopics.PRODUCT_VALIDATION_FAIL;
-import static br.com.microservices.orchestrated.orchestratorservice.core.enums.ETopics.PRODUCT_VALIDATION_SUCCESS;
-import static br.com.microservices.orchestrated.orchestratorservice.core.enums.ETopics.START_SAGA;
-
+import java.time.Duration;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.stream.Stream;
 
 import org.apache.kafka.clients.admin.NewTopic;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.RangeAssignor;
 import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.annotation.EnableKafka;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.config.TopicBuilder;
 import org.springframework.kafka.core.ConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaAdmin;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.listener.DefaultAfterRollbackProcessor;
+import org.springframework.kafka.support.serializer.DelegatingByTypeSerializer;
+import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
+import org.springframework.kafka.transaction.KafkaTransactionManager;
+import org.springframework.util.backoff.FixedBackOff;
 
+import br.com.microservices.orchestrated.orchestratorservice.core.dto.Event;
+import br.com.microservices.orchestrated.orchestratorservice.core.enums.EProducerProfile;
+import br.com.microservices.orchestrated.orchestratorservice.core.enums.ETopics;
+import br.com.microservices.orchestrated.orchestratorservice.core.saga.SagaDeadlineTracker;
+import br.com.microservices.orchestrated.orchestratorservice.core.saga.SagaDefinitionRegistry;
+import br.com.microservices.orchestrated.orchestratorservice.core.utils.JsonUtil;
 import lombok.RequiredArgsConstructor;
 
 @EnableKafka
@@ -38,22 +48,63 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class KafkaConfig {
     
-    private static final Integer PARTITION_COUNT = 1;
-    
     private static final Integer REPLICA_COUNT = 1;
     
+    private static final String DEAD_LETTER_SUFFIX = "-dlt";
+    
+    private final JsonUtil jsonUtil;
+    
     @Value("${spring.kafka.bootstrap-servers}")
     private String bootstrapServers;
     
+    @Value("${spring.kafka.producer.profile}")
+    private EProducerProfile producerProfile;
+    
+    @Value("${spring.kafka.producer.compression-type}")
+    private String compressionType;
+    
+    @Value("${spring.kafka.producer.delivery-timeout}")
+    private Duration deliveryTimeout;
+    
+    @Value("${spring.kafka.producer.send-retry-backoff}")
+    private Duration sendRetryBackoff;
+    
     @Value("${spring.kafka.consumer.group-id}")
     private String groupId;
     
     @Value("${spring.kafka.consumer.auto-offset-reset}")
     private String autoOffsetReset;
     
+    @Value("${spring.kafka.consumer.isolation-level}")
+    private String isolationLevel;
+    
+    @Value("${spring.kafka.consumer.max-poll-records}")
+    private Integer maxPollRecords;
+    
+    @Value("${spring.kafka.partitions}")
+    private Integer partitionCount;
+    
+    @Value("${spring.kafka.listener.concurrency}")
+    private Integer listenerConcurrency;
+    
+    @Value("${spring.kafka.listener.retry-attempts}")
+    private long listenerRetryAttempts;
+    
+    @Value("${spring.kafka.listener.retry-backoff}")
+    private Duration listenerRetryBackoff;
+    
+    @Value("${spring.kafka.topic.saga-state}")
+    private String sagaStateTopic;
+    
+    @Value("${spring.kafka.transaction.enabled}")
+    private boolean transactionEnabled;
+    
+    @Value("${spring.kafka.transaction.id-prefix}")
+    private String transactionIdPrefix;
+    
     @Bean
-    public ConsumerFactory<String, String> consumerFactory() {
-        return new DefaultKafkaConsumerFactory<>(this.consumerProps());
+    public ConsumerFactory<String, Event> consumerFactory() {
+        return new DefaultKafkaConsumerFactory<>(this.consumerProps(), new StringDeserializer(), new ErrorHandlingDeserializer<>(new EventDeserializer(this.jsonUtil)));
     }
     
     private Map<String, Object> consumerProps() {
@@ -61,94 +112,122 @@ public class KafkaConfig {
         
         props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, this.bootstrapServers);
         props.put(ConsumerConfig.GROUP_ID_CONFIG, this.groupId);
-        props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
-        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
         props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, this.autoOffsetReset);
+        props.put(ConsumerConfig.ISOLATION_LEVEL_CONFIG, this.isolationLevel);
+        props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, this.maxPollRecords);
+        props.put(ConsumerConfig.PARTITION_ASSIGNMENT_STRATEGY_CONFIG, RangeAssignor.class.getName());
         
         return props;
     }
     
     @Bean
-    public ProducerFactory<String, String> producerFactory() {
-        return new DefaultKafkaProducerFactory<>(this.producerProps());
-    }
-    
-    private Map<String, Object> producerProps() {
-        final Map<String, Object> props = new HashMap<>();
+    public ConcurrentKafkaListenerContainerFactory<String, Event> kafkaListenerContainerFactory(
+            final ConsumerFactory<String, Event> consumerFactory,
+            final SagaDeadlineTracker sagaDeadlineTracker) {
         
-        props.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, this.bootstrapServers);
-        props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        final var factory = new ConcurrentKafkaListenerContainerFactory<String, Event>();
+        factory.setConsumerFactory(consumerFactory);
+        factory.setConcurrency(this.listenerConcurrency);
+        factory.setRecordInterceptor(new SagaLogInterceptor());
+        factory.getContainerProperties().setConsumerRebalanceListener(sagaDeadlineTracker);
         
-        return props;
-    }
-    
-    @Bean
-    public KafkaTemplate<String, String> kafkaTemplate(final ProducerFactory<String, String> producerFactory) {
-        return new KafkaTemplate<>(producerFactory);
-    }
-    
-    private NewTopic buildTopic(final String name) {
-        return TopicBuilder
-                .name(name)
-                .replicas(REPLICA_COUNT)
-                .partitions(PARTITION_COUNT)
-                .build();
+        return factory;
     }
     
     @Bean
-    public NewTopic startSagaTopic() {
-        return this.buildTopic(START_SAGA.getTopic());
-    }
-    
-    @Bean
-    public NewTopic orchestratorTopic() {
-        return this.buildTopic(BASE_ORCHESTRATOR.getTopic());
-    }
-    
-    @Bean
-    public NewTopic finishSuccessTopic() {
-        return this.buildTopic(FINISH_SUCCESS.getTopic());
-    }
-    
-    @Bean
-    public NewTopic finishFailTopic() {
-        return this.buildTopic(FINISH_FAIL.getTopic());
+    public ConcurrentKafkaListenerContainerFactory<String, Event> transactionalKafkaListenerContainerFactory(
+            final ConsumerFactory<String, Event> consumerFactory,
+            final ObjectProvider<KafkaTransactionManager<String, Object>> kafkaTransactionManager,
+            final KafkaTemplate<String, Object> kafkaTemplate,
+            final SagaDeadlineTracker sagaDeadlineTracker) {
+        
+        final var recoverer = new DeadLetterPublishingRecoverer(kafkaTemplate,
+                (record, exception) -> new TopicPartition(record.topic() + DEAD_LETTER_SUFFIX, record.partition()));
+        final var backOff = new FixedBackOff(this.listenerRetryBackoff.toMillis(), this.listenerRetryAttempts);
+        
+        final var factory = new ConcurrentKafkaListenerContainerFactory<String, Event>();
+        factory.setConsumerFactory(consumerFactory);
+        factory.setConcurrency(this.listenerConcurrency);
+        factory.setBatchListener(true);
+        factory.setAfterRollbackProcessor(new DefaultAfterRollbackProcessor<>(recoverer, backOff, kafkaTemplate, true));
+        factory.getContainerProperties().setBatchRecoverAfterRollback(true);
+        factory.getContainerProperties().setConsumerRebalanceListener(sagaDeadlineTracker);
+        kafkaTransactionManager.ifAvailable(factory.getContainerProperties()::setTransactionManager);
+        
+        return factory;
     }
     
     @Bean
-    public NewTopic productValidationSuccessTopic() {
-        return this.buildTopic(PRODUCT_VALIDATION_SUCCESS.getTopic());
+    public ProducerFactory<String, Object> producerFactory() {
+        final var valueSerializer = new DelegatingByTypeSerializer(Map.of(byte[].class, new ByteArraySerializer(),
+                                                                          Event.class, new EventSerializer(this.jsonUtil)));
+        final var producerFactory = new DefaultKafkaProducerFactory<>(this.producerProps(), new StringSerializer(), valueSerializer);
+        
+        if (this.transactionEnabled) {
+            producerFactory.setTransactionIdPrefix(this.transactionIdPrefix);
+        }
+        
+        return producerFactory;
     }
     
     @Bean
-    public NewTopic productValidationFailTopic() {
-        return this.buildTopic(PRODUCT_VALIDATION_FAIL.getTopic());
+    @ConditionalOnProperty(name = "spring.kafka.transaction.enabled", havingValue = "true")
+    public KafkaTransactionManager<String, Object> kafkaTransactionManager(final ProducerFactory<String, Object> producerFactory) {
+        return new KafkaTransactionManager<>(producerFactory);
     }
     
-    @Bean
-    public NewTopic paymentSuccessTopic() {
-        return this.buildTopic(PAYMENT_SUCCESS.getTopic());
+    private Map<String, Object> producerProps() {
+        final Map<String, Object> props = new HashMap<>();
+        
+        props.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, this.bootstrapServers);
+        props.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        props.put(ProducerConfig.ACKS_CONFIG, "all");
+        props.put(ProducerConfig.LINGER_MS_CONFIG, this.producerProfile.getLingerMs());
+        props.put(ProducerConfig.BATCH_SIZE_CONFIG, this.producerProfile.getBatchSize());
+        props.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, this.compressionType);
+        props.put(ProducerConfig.RETRIES_CONFIG, Integer.MAX_VALUE);
+        props.put(ProducerConfig.RETRY_BACKOFF_MS_CONFIG, (int) this.sendRetryBackoff.toMillis());
+        props.put(ProducerConfig.DELIVERY_TIMEOUT_MS_CONFIG, (int) this.deliveryTimeout.toMillis());
+        
+        return props;
     }
     
     @Bean
-    public NewTopic paymentFailTopic() {
-        return this.buildTopic(PAYMENT_FAIL.getTopic());
+    public KafkaTemplate<String, Object> kafkaTemplate(final ProducerFactory<String, Object> producerFactory) {
+        final var kafkaTemplate = new KafkaTemplate<>(producerFactory);
+        kafkaTemplate.setAllowNonTransactional(true);
+        
+        return kafkaTemplate;
     }
     
-    @Bean
-    public NewTopic inventorySuccessTopic() {
-        return this.buildTopic(INVENTORY_SUCCESS.getTopic());
+    private NewTopic buildTopic(final String name) {
+        return TopicBuilder
+                .name(name)
+                .replicas(REPLICA_COUNT)
+                .partitions(this.partitionCount)
+                .build();
     }
     
     @Bean
-    public NewTopic inventoryValidationFailTopic() {
-        return this.buildTopic(INVENTORY_FAIL.getTopic());
+    public KafkaAdmin.NewTopics sagaTopics(final SagaDefinitionRegistry sagaDefinitionRegistry) {
+        final var topics = Stream
+                .concat(Arrays.stream(ETopics.values()).map(ETopics::getTopic), sagaDefinitionRegistry.getTopics().stream())
+                .flatMap(topic -> Stream.of(topic, topic + DEAD_LETTER_SUFFIX))
+                .distinct()
+                .map(this::buildTopic)
+                .toArray(NewTopic[]::new);
+        
+        return new KafkaAdmin.NewTopics(topics);
     }
     
     @Bean
-    public NewTopic notifyEndingTopic() {
-        return this.buildTopic(NOTIFY_ENDING.getTopic());
+    public NewTopic sagaStateTopic() {
+        return TopicBuilder
+                .name(this.sagaStateTopic)
+                .replicas(REPLICA_COUNT)
+                .partitions(this.partitionCount)
+                .compact()
+                .build();
     }
     
 }
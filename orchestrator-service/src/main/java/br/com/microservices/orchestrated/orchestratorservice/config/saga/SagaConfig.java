@@ -0,0 +1,23 @@
+package br.com.microservices.orchestrated.orchestratorservice.config.saga;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import br.com.microservices.orchestrated.orchestratorservice.core.timer.HierarchicalWheelTimer;
+
+@Configuration
+@EnableConfigurationProperties(SagaProperties.class)
+public class SagaConfig {
+    
+    @Bean(destroyMethod = "stop")
+    public HierarchicalWheelTimer sagaTimer(@Value("${saga.timer.tick-duration}") final Duration tickDuration,
+                                            @Value("${saga.timer.wheel-size}") final int wheelSize,
+                                            @Value("${saga.timer.task-threads}") final int taskThreads) {
+        return new HierarchicalWheelTimer("saga-timer", tickDuration, wheelSize, taskThreads);
+    }
+    
+}
@@ -0,0 +1,18 @@
+package br.com.microservices.orchestrated.orchestratorservice.config.saga;
+
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import br.com.microservices.orchestrated.orchestratorservice.core.saga.SagaDefinition;
+import br.com.microservices.orchestrated.orchestratorservice.core.saga.SagaRetryPolicy;
+
+@ConfigurationProperties(prefix = "saga")
+public record SagaProperties(
+        String defaultType,
+        
+        SagaRetryPolicy defaultRetry,
+        
+        Map<String, SagaDefinition> definitions
+) {
+}
@@ -1,60 +1,101 @@
 package br.com.microservices.orchestrated.orchestratorservice.core.consumer;
 
+import static org.springframework.util.ObjectUtils.isEmpty;
+
+import java.util.List;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.BatchListenerFailedException;
 import org.springframework.stereotype.Component;
 
+import br.com.microservices.orchestrated.orchestratorservice.config.kafka.SagaLogInterceptor;
+import br.com.microservices.orchestrated.orchestratorservice.core.dto.Event;
 import br.com.microservices.orchestrated.orchestratorservice.core.service.OrchestratorService;
-import br.com.microservices.orchestrated.orchestratorservice.core.utils.JsonUtil;
-import lombok.AllArgsConstructor;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
-@AllArgsConstructor
+@RequiredArgsConstructor
 @Component
 public class SagaOrchestratorConsumer {
     
-    private final JsonUtil jsonUtil;
-    
     private final OrchestratorService orchestratorService;
     
-    @KafkaListener(
-            groupId = "${spring.kafka.consumer.group-id}",
-            topics = "${spring.kafka.topic.start-saga}"
-    )
-    public void consumeStartSagaEvent(final String payload) {
-        log.info("Receiving event {} from start-saga topic", payload);
-        final var event = this.jsonUtil.toEvent(payload);
-        this.orchestratorService.startSaga(event);
-    }
+    private final SagaLogInterceptor sagaLogInterceptor = new SagaLogInterceptor();
+    
+    @Value("${spring.kafka.topic.start-saga}")
+    private String startSagaTopic;
+    
+    @Value("${spring.kafka.topic.finish-success}")
+    private String finishSuccessTopic;
+    
+    @Value("${spring.kafka.topic.finish-fail}")
+    private String finishFailTopic;
     
     @KafkaListener(
             groupId = "${spring.kafka.consumer.group-id}",
-            topics = "${spring.kafka.topic.orchestrator}"
+            topics = {
+                    "${spring.kafka.topic.start-saga}",
+                    "${spring.kafka.topic.orchestrator}",
+                    "${spring.kafka.topic.finish-success}",
+                    "${spring.kafka.topic.finish-fail}"
+            },
+            autoStartup = "#{!${spring.kafka.transaction.enabled}}"
     )
-    public void consumeOrchestratorEvent(final String payload) {
-        log.info("Receiving event {} from orchestrator topic", payload);
-        final var event = this.jsonUtil.toEvent(payload);
-        this.orchestratorService.continueSaga(event);
+    public void consumeSagaEvent(final ConsumerRecord<String, Event> record) {
+        log.info("Receiving event from {} topic", record.topic());
+        this.dispatch(record.topic(), record.value());
     }
     
     @KafkaListener(
             groupId = "${spring.kafka.consumer.group-id}",
-            topics = "${spring.kafka.topic.finish-success}"
+            topics = {
+                    "${spring.kafka.topic.start-saga}",
+                    "${spring.kafka.topic.orchestrator}",
+                    "${spring.kafka.topic.finish-success}",
+                    "${spring.kafka.topic.finish-fail}"
+            },
+            containerFactory = "transactionalKafkaListenerContainerFactory",
+            autoStartup = "${spring.kafka.transaction.enabled}"
     )
-    public void consumeFinishSuccessEvent(final String payload) {
-        log.info("Receiving event {} from finish-success topic", payload);
-        final var event = this.jsonUtil.toEvent(payload);
-        this.orchestratorService.finishSagaSuccess(event);
+    public void consumeSagaEvents(final List<ConsumerRecord<String, Event>> records) {
+        log.info("Receiving {} saga events in one Kafka transaction", records.size());
+        
+        for (int i = 0; i < records.size(); i++) {
+            final var record = records.get(i);
+            this.sagaLogInterceptor.bind(record);
+            
+            try {
+                this.dispatch(record.topic(), record.value());
+                
+            } catch (final Exception e) {
+                throw new BatchListenerFailedException("Error processing saga event from topic " + record.topic(), e, i);
+                
+            } finally {
+                this.sagaLogInterceptor.unbind();
+            }
+        }
     }
     
-    @KafkaListener(
-            groupId = "${spring.kafka.consumer.group-id}",
-            topics = "${spring.kafka.topic.finish-fail}"
-    )
-    public void consumeFinishFailEvent(final String payload) {
-        log.info("Receiving event {} from finish-fail topic", payload);
-        final var event = this.jsonUtil.toEvent(payload);
-        this.orchestratorService.finishSagaFail(event);
+    private void dispatch(final String topic, final Event event) {
+        if (isEmpty(event)) {
+            log.error("Discarding saga event from topic {} that could not be read.", topic);
+            return;
+        }
+        
+        log.debug("Event payload {} from topic {}", event, topic);
+        
+        if (topic.equals(this.startSagaTopic)) {
+            this.orchestratorService.startSaga(event);
+        } else if (topic.equals(this.finishSuccessTopic)) {
+            this.orchestratorService.finishSagaSuccess(event);
+        } else if (topic.equals(this.finishFailTopic)) {
+            this.orchestratorService.finishSagaFail(event);
+        } else {
+            this.orchestratorService.continueSaga(event);
+        }
     }
     
 }
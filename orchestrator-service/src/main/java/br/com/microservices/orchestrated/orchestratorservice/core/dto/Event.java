@@ -25,6 +25,8 @@ public class Event {
     
     private String orderId;
     
+    private String sagaType;
+    
     private Order payload;
     
     private EEventSource source;
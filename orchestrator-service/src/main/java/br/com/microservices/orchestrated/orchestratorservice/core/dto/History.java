@@ -2,6 +2,8 @@ package br.com.microservices.orchestrated.orchestratorservice.core.dto;
 
 import java.time.LocalDateTime;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import br.com.microservices.orchestrated.orchestratorservice.core.enums.EEventSource;
 import br.com.microservices.orchestrated.orchestratorservice.core.enums.ESagaStatus;
 import lombok.AllArgsConstructor;
@@ -13,6 +15,7 @@ import lombok.NoArgsConstructor;
 @Builder
 @AllArgsConstructor
 @NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class History {
     
     private EEventSource source;
@@ -23,4 +26,10 @@ public class History {
     
     private LocalDateTime createdAt;
     
+    private String code;
+    
+    private String detail;
+    
+    private Long timestamp;
+    
 }
@@ -0,0 +1,25 @@
+package br.com.microservices.orchestrated.orchestratorservice.core.enums;
+
+import static org.springframework.util.ObjectUtils.isEmpty;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public enum EHistoryMessage {
+    
+    SAGA_STARTED("Saga started!"),
+    SAGA_TYPE_NOT_FOUND("Saga type not found"),
+    SAGA_FINISHED_SUCCESS("Saga finished successfully!"),
+    SAGA_FINISHED_FAIL("Saga finished with errors!"),
+    SAGA_STEP_TIMEOUT("Saga step timed out"),
+    SAGA_STEP_RETRY("Saga step scheduled for retry");
+    
+    private final String message;
+    
+    public String describe(final String detail) {
+        return isEmpty(detail) ? this.message : this.message.concat(": ").concat(detail);
+    }
+    
+}
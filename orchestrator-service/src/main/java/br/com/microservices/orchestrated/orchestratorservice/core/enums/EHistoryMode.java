@@ -0,0 +1,8 @@
+package br.com.microservices.orchestrated.orchestratorservice.core.enums;
+
+public enum EHistoryMode {
+    
+    FULL,
+    COMPACT
+    
+}
@@ -0,0 +1,17 @@
+package br.com.microservices.orchestrated.orchestratorservice.core.enums;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public enum EProducerProfile {
+    
+    LATENCY(0, 16_384),
+    THROUGHPUT(20, 262_144);
+    
+    private final int lingerMs;
+    
+    private final int batchSize;
+    
+}
@@ -1,25 +1,129 @@
 package br.com.microservices.orchestrated.orchestratorservice.core.producer;
 
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.internals.RecordHeaders;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Component;
 
-import lombok.AllArgsConstructor;
+import br.com.microservices.orchestrated.orchestratorservice.core.dto.Event;
+import br.com.microservices.orchestrated.orchestratorservice.core.utils.JsonUtil;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
-@AllArgsConstructor
+@RequiredArgsConstructor
 @Component
 public class SagaOrchestatorProducer {
     
-    private final KafkaTemplate<String, String> kafkaTemplate;
+    private static final String SEND_METRIC = "saga.producer.send";
+    
+    private static final String DEAD_LETTER_METRIC = "saga.producer.dead-letter";
+    
+    private static final String DROPPED_METRIC = "saga.producer.dropped";
+    
+    private static final String DEAD_LETTER_SUFFIX = "-dlt";
+    
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    
+    private final JsonUtil jsonUtil;
+    
+    private final MeterRegistry meterRegistry;
     
-    public void sendEvent(final String payload, final String topic) {
+    private final ExecutorService deadLetterExecutor = Executors.newSingleThreadExecutor(new CustomizableThreadFactory("saga-dead-letter-"));
+    
+    public void sendEvent(final Event event, final String topic) {
+        log.info("Sending event with status {} to topic {}", event.getStatus(), topic);
+        
+        final var key = event.getTransactionId();
+        final var payload = this.jsonUtil.toPayload(event);
+        final var startedAt = System.nanoTime();
+        final var transactional = this.kafkaTemplate.inTransaction();
+        
         try {
-            log.info("Sending event to topic {} with data {}", topic, payload);
-            this.kafkaTemplate.send(topic, payload);
+            this.kafkaTemplate
+                    .send(topic, key, payload)
+                    .whenComplete((result, e) -> this.onSendCompleted(topic, key, payload, transactional, startedAt, e));
+            
         } catch (final Exception e) {
-            log.error("Error trying to send data to topic {} with data {}", topic, payload, e);
+            this.onSendCompleted(topic, key, payload, transactional, startedAt, e);
+            
+            if (transactional) {
+                throw e;
+            }
+        }
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        this.deadLetterExecutor.shutdown();
+    }
+    
+    private void onSendCompleted(final String topic, final String key, final byte[] payload, final boolean transactional,
+                                 final long startedAt, final Throwable e) {
+        this.meterRegistry
+                .timer(SEND_METRIC, "topic", topic, "result", e == null ? "success" : "failure")
+                .record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        
+        if (e == null) {
+            return;
+        }
+        
+        if (transactional) {
+            log.warn("Error trying to send event with key {} to topic {}, the Kafka transaction will be aborted and redelivered: {}",
+                     key, topic, e.getMessage());
+            return;
+        }
+        
+        final var deadLetterTopic = topic + DEAD_LETTER_SUFFIX;
+        log.error("Error trying to send event with key {} to topic {}, parking it on {}", key, topic, deadLetterTopic, e);
+        
+        try {
+            this.deadLetterExecutor.execute(() -> this.sendDeadLetter(topic, deadLetterTopic, key, payload, e));
+            
+        } catch (final RejectedExecutionException deadLetterError) {
+            this.onDeadLetterCompleted(topic, deadLetterTopic, key, deadLetterError);
+        }
+    }
+    
+    private void sendDeadLetter(final String topic, final String deadLetterTopic, final String key, final byte[] payload, final Throwable e) {
+        try {
+            this.kafkaTemplate
+                    .send(this.createDeadLetterRecord(topic, deadLetterTopic, key, payload, e))
+                    .whenComplete((result, deadLetterError) -> this.onDeadLetterCompleted(topic, deadLetterTopic, key, deadLetterError));
+            
+        } catch (final Exception deadLetterError) {
+            this.onDeadLetterCompleted(topic, deadLetterTopic, key, deadLetterError);
+        }
+    }
+    
+    private ProducerRecord<String, Object> createDeadLetterRecord(final String topic, final String deadLetterTopic, final String key,
+                                                                  final byte[] payload, final Throwable e) {
+        final var headers = new RecordHeaders();
+        headers.add(KafkaHeaders.DLT_ORIGINAL_TOPIC, topic.getBytes(StandardCharsets.UTF_8));
+        headers.add(KafkaHeaders.DLT_EXCEPTION_FQCN, e.getClass().getName().getBytes(StandardCharsets.UTF_8));
+        headers.add(KafkaHeaders.DLT_EXCEPTION_MESSAGE, String.valueOf(e.getMessage()).getBytes(StandardCharsets.UTF_8));
+        
+        return new ProducerRecord<>(deadLetterTopic, null, key, payload, headers);
+    }
+    
+    private void onDeadLetterCompleted(final String topic, final String deadLetterTopic, final String key, final Throwable e) {
+        if (e == null) {
+            this.meterRegistry.counter(DEAD_LETTER_METRIC, "topic", topic).increment();
+            return;
         }
+        
+        this.meterRegistry.counter(DROPPED_METRIC, "topic", topic).increment();
+        log.error("Error trying to park event with key {} on topic {}, the event was dropped", key, deadLetterTopic, e);
     }
     
 }
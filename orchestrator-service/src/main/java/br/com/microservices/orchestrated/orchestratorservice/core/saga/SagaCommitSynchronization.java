@@ -0,0 +1,31 @@
+package br.com.microservices.orchestrated.orchestratorservice.core.saga;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+final class SagaCommitSynchronization {
+    
+    private SagaCommitSynchronization() {
+    }
+    
+    static boolean isActive() {
+        return TransactionSynchronizationManager.isSynchronizationActive();
+    }
+    
+    static void afterCommit(final Runnable action) {
+        if (!isActive()) {
+            action.run();
+            return;
+        }
+        
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+            
+        });
+    }
+    
+}
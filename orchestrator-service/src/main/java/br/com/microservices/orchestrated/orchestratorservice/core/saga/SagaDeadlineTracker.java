@@ -0,0 +1,227 @@
+package br.com.microservices.orchestrated.orchestratorservice.core.saga;
+
+import static br.com.microservices.orchestrated.orchestratorservice.core.enums.EEventSource.ORCHESTRATOR;
+import static br.com.microservices.orchestrated.orchestratorservice.core.enums.ESagaStatus.FAIL;
+import static br.com.microservices.orchestrated.orchestratorservice.core.enums.ESagaStatus.ROLLBACK_PENDING;
+import static br.com.microservices.orchestrated.orchestratorservice.core.enums.ESagaStatus.SUCCESS;
+import static org.springframework.util.ObjectUtils.isEmpty;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.apache.kafka.clients.consumer.ConsumerRebalanceListener;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import br.com.microservices.orchestrated.orchestratorservice.core.dto.Event;
+import br.com.microservices.orchestrated.orchestratorservice.core.enums.EHistoryMessage;
+import br.com.microservices.orchestrated.orchestratorservice.core.enums.ETopics;
+import br.com.microservices.orchestrated.orchestratorservice.core.producer.SagaOrchestatorProducer;
+import br.com.microservices.orchestrated.orchestratorservice.core.timer.HierarchicalWheelTimer;
+import br.com.microservices.orchestrated.orchestratorservice.core.timer.Timeout;
+import br.com.microservices.orchestrated.orchestratorservice.core.utils.HistoryUtil;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Component
+public class SagaDeadlineTracker implements ConsumerRebalanceListener {
+    
+    private static final Set<String> ORCHESTRATOR_TOPICS = Set.of(
+            ETopics.FINISH_SUCCESS.getTopic(),
+            ETopics.FINISH_FAIL.getTopic(),
+            ETopics.NOTIFY_ENDING.getTopic()
+    );
+    
+    private final SagaStateStore sagaStateStore;
+    
+    private final SagaDefinitionRegistry sagaDefinitionRegistry;
+    
+    private final SagaExecutionController sagaExecutionController;
+    
+    private final SagaOrchestatorProducer producer;
+    
+    private final HistoryUtil historyUtil;
+    
+    private final HierarchicalWheelTimer timer;
+    
+    private final Duration stepTimeout;
+    
+    private final Map<String, Timeout> timeouts = new ConcurrentHashMap<>();
+    
+    public SagaDeadlineTracker(final SagaStateStore sagaStateStore,
+                               final SagaDefinitionRegistry sagaDefinitionRegistry,
+                               final SagaExecutionController sagaExecutionController,
+                               final SagaOrchestatorProducer producer,
+                               final HistoryUtil historyUtil,
+                               final HierarchicalWheelTimer timer,
+                               @Value("${saga.state.step-timeout}") final Duration stepTimeout) {
+        this.sagaStateStore = sagaStateStore;
+        this.sagaDefinitionRegistry = sagaDefinitionRegistry;
+        this.sagaExecutionController = sagaExecutionController;
+        this.producer = producer;
+        this.historyUtil = historyUtil;
+        this.timer = timer;
+        this.stepTimeout = stepTimeout;
+    }
+    
+    public void track(final Event event, final String topic) {
+        if (ORCHESTRATOR_TOPICS.contains(topic)) {
+            this.complete(event.getTransactionId());
+            return;
+        }
+        
+        final var state = new SagaState(event, topic, 0, this.nextDeadline(), true);
+        this.sagaStateStore.put(state);
+        SagaCommitSynchronization.afterCommit(() -> this.schedule(state));
+    }
+    
+    public boolean retry(final Event reply) {
+        final var state = this.sagaStateStore.find(reply.getTransactionId());
+        
+        if (isEmpty(state) || !state.dispatched() || reply.getSource() != this.sagaDefinitionRegistry.findStepSource(state.topic())) {
+            return false;
+        }
+        
+        return this.retryLater(state, reply);
+    }
+    
+    public boolean isStale(final Event reply) {
+        final var state = this.sagaStateStore.find(reply.getTransactionId());
+        
+        return !isEmpty(state) && !this.sagaDefinitionRegistry.isExpectedReply(state.topic(), reply.getSource(), reply.getStatus());
+    }
+    
+    public void complete(final String transactionId) {
+        this.sagaStateStore.remove(transactionId);
+        SagaCommitSynchronization.afterCommit(() -> this.cancel(transactionId));
+    }
+    
+    private void cancel(final String transactionId) {
+        final var timeout = this.timeouts.remove(transactionId);
+        
+        if (!isEmpty(timeout)) {
+            timeout.cancel();
+        }
+    }
+    
+    private long nextDeadline() {
+        return System.currentTimeMillis() + this.stepTimeout.toMillis();
+    }
+    
+    private void schedule(final SagaState state) {
+        final var delay = Duration.ofMillis(state.deadline() - System.currentTimeMillis());
+        final var timeout = this.timer.newTimeout(() -> this.expire(state), delay);
+        final var previous = this.timeouts.put(state.transactionId(), timeout);
+        
+        if (!isEmpty(previous)) {
+            previous.cancel();
+        }
+    }
+    
+    private void expire(final SagaState state) {
+        if (!state.dispatched()) {
+            this.dispatch(state);
+            return;
+        }
+        
+        if (this.retryLater(state, state.event())) {
+            return;
+        }
+        
+        if (!this.sagaStateStore.remove(state)) {
+            return;
+        }
+        
+        this.timeouts.remove(state.transactionId());
+        log.warn("Saga step {} timed out after {} retries for transaction {}", state.topic(), state.retries(), state.transactionId());
+        this.compensate(state);
+    }
+    
+    private boolean retryLater(final SagaState state, final Event event) {
+        final var policy = this.sagaDefinitionRegistry.findRetryPolicy(event.getSagaType(), state.topic());
+        
+        if (state.retries() >= policy.maxAttempts()) {
+            return false;
+        }
+        
+        final var backoff = policy.backoff(state.retries());
+        final var source = event.getSource();
+        final var status = event.getStatus();
+        event.setSource(ORCHESTRATOR);
+        event.setStatus(SUCCESS);
+        event.addHistory(this.historyUtil.create(event, EHistoryMessage.SAGA_STEP_RETRY, state.topic()));
+        
+        final var next = state.retryAt(event, System.currentTimeMillis() + backoff.toMillis());
+        
+        if (!this.sagaStateStore.replace(state, next)) {
+            event.setSource(source);
+            event.setStatus(status);
+            event.getEventHistory().remove(event.getEventHistory().size() - 1);
+            return false;
+        }
+        
+        log.warn("Saga step {} retry {} of {} scheduled in {} for transaction {}", next.topic(), next.retries(), policy.maxAttempts(), backoff, next.transactionId());
+        SagaCommitSynchronization.afterCommit(() -> this.schedule(next));
+        
+        return true;
+    }
+    
+    private void dispatch(final SagaState state) {
+        final var next = state.dispatchedUntil(this.nextDeadline());
+        
+        if (!this.sagaStateStore.replace(state, next)) {
+            return;
+        }
+        
+        this.producer.sendEvent(next.event(), next.topic());
+        this.schedule(next);
+    }
+    
+    private void compensate(final SagaState state) {
+        final var event = state.event();
+        final var stepSource = this.sagaDefinitionRegistry.findStepSource(state.topic());
+        
+        if (isEmpty(stepSource)) {
+            event.setSource(ORCHESTRATOR);
+            event.setStatus(FAIL);
+            event.addHistory(this.historyUtil.create(event, EHistoryMessage.SAGA_STEP_TIMEOUT, state.topic()));
+            this.producer.sendEvent(event, ETopics.FINISH_FAIL.getTopic());
+            return;
+        }
+        
+        event.setSource(stepSource);
+        event.setStatus(ROLLBACK_PENDING);
+        event.addHistory(this.historyUtil.create(event, EHistoryMessage.SAGA_STEP_TIMEOUT, state.topic()));
+        
+        final var topic = this.sagaExecutionController.getNextTopic(event);
+        this.producer.sendEvent(event, topic);
+        this.track(event, topic);
+    }
+    
+    @Override
+    public void onPartitionsAssigned(final Collection<TopicPartition> partitions) {
+        if (!partitions.isEmpty()) {
+            this.sagaStateStore.restore(this.partitionNumbers(partitions)).forEach(this::schedule);
+        }
+    }
+    
+    @Override
+    public void onPartitionsRevoked(final Collection<TopicPartition> partitions) {
+        if (!partitions.isEmpty()) {
+            this.sagaStateStore.evict(this.partitionNumbers(partitions)).forEach(state -> this.cancel(state.transactionId()));
+        }
+    }
+    
+    private Set<Integer> partitionNumbers(final Collection<TopicPartition> partitions) {
+        return partitions
+                .stream()
+                .map(TopicPartition::partition)
+                .collect(Collectors.toSet());
+    }
+    
+}
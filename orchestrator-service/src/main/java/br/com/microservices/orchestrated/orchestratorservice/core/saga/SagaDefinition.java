@@ -0,0 +1,8 @@
+package br.com.microservices.orchestrated.orchestratorservice.core.saga;
+
+import java.util.List;
+
+public record SagaDefinition(
+        List<SagaStep> steps
+) {
+}
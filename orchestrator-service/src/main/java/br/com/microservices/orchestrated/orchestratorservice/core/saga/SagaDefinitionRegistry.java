@@ -0,0 +1,111 @@
+package br.com.microservices.orchestrated.orchestratorservice.core.saga;
+
+import static org.springframework.util.ObjectUtils.isEmpty;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.stereotype.Component;
+
+import br.com.microservices.orchestrated.orchestratorservice.config.exception.ValidationException;
+import br.com.microservices.orchestrated.orchestratorservice.config.saga.SagaProperties;
+import br.com.microservices.orchestrated.orchestratorservice.core.enums.EEventSource;
+import br.com.microservices.orchestrated.orchestratorservice.core.enums.ESagaStatus;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Component
+public class SagaDefinitionRegistry {
+    
+    private final Map<String, SagaRoutingTable> routingTables = new HashMap<>();
+    
+    private final Set<String> topics = new LinkedHashSet<>();
+    
+    private final Map<String, EEventSource> stepSources = new HashMap<>();
+    
+    private final Map<String, EEventSource> compensationSources = new HashMap<>();
+    
+    private final Map<String, Map<String, SagaRetryPolicy>> retryPolicies = new HashMap<>();
+    
+    private final SagaRoutingTable defaultRoutingTable;
+    
+    private final String defaultType;
+    
+    public SagaDefinitionRegistry(final SagaProperties properties) {
+        if (isEmpty(properties.definitions())) {
+            throw new IllegalStateException("At least one saga definition must be informed.");
+        }
+        
+        final var defaultRetry = isEmpty(properties.defaultRetry()) ? SagaRetryPolicy.NONE : properties.defaultRetry();
+        
+        properties.definitions().forEach((type, definition) -> {
+            this.routingTables.put(type, SagaRoutingTable.compile(definition));
+            
+            final var policies = new HashMap<String, SagaRetryPolicy>();
+            this.retryPolicies.put(type, policies);
+            
+            definition.steps().forEach(step -> {
+                this.topics.add(step.topic());
+                this.stepSources.put(step.topic(), step.source());
+                policies.put(step.topic(), isEmpty(step.retry()) ? defaultRetry : step.retry());
+                this.topics.add(step.compensationTopic());
+                this.compensationSources.put(step.compensationTopic(), step.source());
+            });
+            log.info("Saga definition {} registered with {} steps", type, definition.steps().size());
+        });
+        
+        this.defaultType = properties.defaultType();
+        this.defaultRoutingTable = this.routingTables.get(this.defaultType);
+        
+        if (isEmpty(this.defaultRoutingTable)) {
+            throw new IllegalStateException("Default saga type not found: ".concat(String.valueOf(properties.defaultType())));
+        }
+    }
+    
+    public SagaRoutingTable findRoutingTable(final String sagaType) {
+        if (isEmpty(sagaType)) {
+            return this.defaultRoutingTable;
+        }
+        
+        final var routingTable = this.routingTables.get(sagaType);
+        
+        if (isEmpty(routingTable)) {
+            throw new ValidationException("Saga type not found!");
+        }
+        
+        return routingTable;
+    }
+    
+    public boolean isKnownType(final String sagaType) {
+        return isEmpty(sagaType) || this.routingTables.containsKey(sagaType);
+    }
+    
+    public Set<String> getTopics() {
+        return this.topics;
+    }
+    
+    public EEventSource findStepSource(final String topic) {
+        return this.stepSources.get(topic);
+    }
+    
+    public boolean isExpectedReply(final String topic, final EEventSource source, final ESagaStatus status) {
+        if (status == ESagaStatus.FAIL) {
+            return source == this.compensationSources.get(topic);
+        }
+        
+        return source == this.stepSources.get(topic);
+    }
+    
+    public SagaRetryPolicy findRetryPolicy(final String sagaType, final String topic) {
+        final var policies = this.retryPolicies.get(isEmpty(sagaType) ? this.defaultType : sagaType);
+        
+        if (isEmpty(policies)) {
+            return SagaRetryPolicy.NONE;
+        }
+        
+        return policies.getOrDefault(topic, SagaRetryPolicy.NONE);
+    }
+    
+}
@@ -1,18 +1,11 @@
 package br.com.microservices.orchestrated.orchestratorservice.core.saga;
 
-import static br.com.microservices.orchestrated.orchestratorservice.core.saga.SagaHandler.EVENT_SOURCE_INDEX;
-import static br.com.microservices.orchestrated.orchestratorservice.core.saga.SagaHandler.SAGA_HANDLER;
-import static br.com.microservices.orchestrated.orchestratorservice.core.saga.SagaHandler.SAGA_STATUS_INDEX;
-import static br.com.microservices.orchestrated.orchestratorservice.core.saga.SagaHandler.TOPIC_INDEX;
 import static org.springframework.util.ObjectUtils.isEmpty;
 
-import java.util.Arrays;
-
 import org.springframework.stereotype.Component;
 
 import br.com.microservices.orchestrated.orchestratorservice.config.exception.ValidationException;
 import br.com.microservices.orchestrated.orchestratorservice.core.dto.Event;
-import br.com.microservices.orchestrated.orchestratorservice.core.enums.ETopics;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -21,9 +14,9 @@ import lombok.extern.slf4j.Slf4j;
 @AllArgsConstructor
 public class SagaExecutionController {
     
-    private static final String SAGA_LOG_ID = "ORDER ID: %s | TRANSACTION ID %s | EVENT ID %s";
+    private final SagaDefinitionRegistry sagaDefinitionRegistry;
     
-    public ETopics getNextTopic(final Event event) {
+    public String getNextTopic(final Event event) {
         if (isEmpty(event.getSource()) || isEmpty(event.getStatus())) {
             throw new ValidationException("Source and status must be informed.");
         }
@@ -34,37 +27,34 @@ public class SagaExecutionController {
         return topic;
     }
     
-    private ETopics findTopicBySourceAndStatus(final Event event) {
-        return (ETopics) (Arrays.stream(SAGA_HANDLER)
-                                .filter(row -> this.isEventSourceAndStatusValid(event, row))
-                                .map(i -> i[TOPIC_INDEX])
-                                .findFirst()
-                                .orElseThrow(() -> new ValidationException("Topic not found!")));
+    public boolean isKnownSagaType(final Event event) {
+        return this.sagaDefinitionRegistry.isKnownType(event.getSagaType());
     }
     
-    private boolean isEventSourceAndStatusValid(
-            final Event event,
-            final Object[] row) {
+    private String findTopicBySourceAndStatus(final Event event) {
+        final var topic = this.sagaDefinitionRegistry
+                .findRoutingTable(event.getSagaType())
+                .find(event.getSource(), event.getStatus());
         
-        final var source = row[EVENT_SOURCE_INDEX];
-        final var status = row[SAGA_STATUS_INDEX];
+        if (isEmpty(topic)) {
+            throw new ValidationException("Topic not found!");
+        }
         
-        return source.equals(event.getSource()) && status.equals(event.getStatus());
+        return topic;
     }
     
-    private void logCurrentSaga(final Event event, final ETopics topic) {
-        final var sagaId = this.createSagaId(event);
+    private void logCurrentSaga(final Event event, final String topic) {
+        if (!log.isInfoEnabled()) {
+            return;
+        }
+        
         final var source = event.getSource();
         
         switch (event.getStatus()) {
-            case SUCCESS -> log.info("### CURRENT SAGA: {} | SUCCESS | NEXT TOPIC {} | {}", source, topic, sagaId);
-            case ROLLBACK_PENDING -> log.info("### CURRENT SAGA: {} | SENDING TO ROLLBACK CURRENT SERVICE | NEXT TOPIC {} | {}", source, topic, sagaId);
-            case FAIL -> log.info("### CURRENT SAGA: {} | SENDING TO ROLLBACK PREVIOUS SERVICE | NEXT TOPIC {} | {}", source, topic, sagaId);
+            case SUCCESS -> log.info("### CURRENT SAGA: {} | SUCCESS | NEXT TOPIC {}", source, topic);
+            case ROLLBACK_PENDING -> log.info("### CURRENT SAGA: {} | SENDING TO ROLLBACK CURRENT SERVICE | NEXT TOPIC {}", source, topic);
+            case FAIL -> log.info("### CURRENT SAGA: {} | SENDING TO ROLLBACK PREVIOUS SERVICE | NEXT TOPIC {}", source, topic);
         }
     }
     
-    private String createSagaId(final Event event) {
-        return String.format(SAGA_LOG_ID, event.getPayload().getId(), event.getTransactionId(), event.getId());
-    }
-    
 }
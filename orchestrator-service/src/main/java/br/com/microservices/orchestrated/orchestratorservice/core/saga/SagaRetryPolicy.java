@@ -0,0 +1,48 @@
+package br.com.microservices.orchestrated.orchestratorservice.core.saga;
+
+import static org.springframework.util.ObjectUtils.isEmpty;
+
+import java.time.Duration;
+
+public record SagaRetryPolicy(
+        int maxAttempts,
+        
+        Duration initialBackoff,
+        
+        double multiplier,
+        
+        Duration maxBackoff
+) {
+    
+    public static final SagaRetryPolicy NONE = new SagaRetryPolicy(0, null, 0, null);
+    
+    private static final Duration DEFAULT_INITIAL_BACKOFF = Duration.ofSeconds(1);
+    
+    private static final double DEFAULT_MULTIPLIER = 2.0;
+    
+    private static final Duration DEFAULT_MAX_BACKOFF = Duration.ofMinutes(1);
+    
+    public SagaRetryPolicy {
+        if (maxAttempts < 0) {
+            throw new IllegalStateException("Saga retry max attempts must not be negative.");
+        }
+        
+        if (isEmpty(initialBackoff)) {
+            initialBackoff = DEFAULT_INITIAL_BACKOFF;
+        }
+        
+        if (multiplier < 1) {
+            multiplier = DEFAULT_MULTIPLIER;
+        }
+        
+        if (isEmpty(maxBackoff)) {
+            maxBackoff = DEFAULT_MAX_BACKOFF;
+        }
+    }
+    
+    public Duration backoff(final int attempt) {
+        final var backoff = this.initialBackoff.toMillis() * Math.pow(this.multiplier, attempt);
+        return Duration.ofMillis((long) Math.min(backoff, this.maxBackoff.toMillis()));
+    }
+    
+}
@@ -0,0 +1,129 @@
+package br.com.microservices.orchestrated.orchestratorservice.core.saga;
+
+import static br.com.microservices.orchestrated.orchestratorservice.core.enums.EEventSource.ORCHESTRATOR;
+import static br.com.microservices.orchestrated.orchestratorservice.core.enums.ESagaStatus.FAIL;
+import static br.com.microservices.orchestrated.orchestratorservice.core.enums.ESagaStatus.ROLLBACK_PENDING;
+import static br.com.microservices.orchestrated.orchestratorservice.core.enums.ESagaStatus.SUCCESS;
+import static br.com.microservices.orchestrated.orchestratorservice.core.enums.ETopics.FINISH_FAIL;
+import static br.com.microservices.orchestrated.orchestratorservice.core.enums.ETopics.FINISH_SUCCESS;
+import static org.springframework.util.ObjectUtils.isEmpty;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+import br.com.microservices.orchestrated.orchestratorservice.core.enums.EEventSource;
+import br.com.microservices.orchestrated.orchestratorservice.core.enums.ESagaStatus;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+public final class SagaRoutingTable {
+    
+    private static final EEventSource[] SOURCES = EEventSource.values();
+    
+    private static final ESagaStatus[] STATUSES = ESagaStatus.values();
+    
+    private static final EEventSource SAGA_START_SOURCE = ORCHESTRATOR;
+    
+    private static final ESagaStatus SAGA_START_STATUS = SUCCESS;
+    
+    private final String[] routes;
+    
+    private SagaRoutingTable(final String[] routes) {
+        this.routes = routes;
+    }
+    
+    public static SagaRoutingTable compile(final SagaDefinition definition) {
+        if (isEmpty(definition) || isEmpty(definition.steps())) {
+            throw new IllegalStateException("Saga definition must have at least one step.");
+        }
+        
+        final var steps = definition.steps();
+        final var transitions = new ArrayList<SagaTransition>();
+        transitions.add(new SagaTransition(SAGA_START_SOURCE, SAGA_START_STATUS, steps.get(0).topic()));
+        
+        for (int i = 0; i < steps.size(); i++) {
+            final var step = steps.get(i);
+            final var nextTopic = i + 1 < steps.size() ? steps.get(i + 1).topic() : FINISH_SUCCESS.getTopic();
+            final var previousTopic = i > 0 ? steps.get(i - 1).compensationTopic() : FINISH_FAIL.getTopic();
+            
+            transitions.add(new SagaTransition(step.source(), SUCCESS, nextTopic));
+            transitions.add(new SagaTransition(step.source(), ROLLBACK_PENDING, step.compensationTopic()));
+            transitions.add(new SagaTransition(step.source(), FAIL, previousTopic));
+        }
+        
+        return compile(transitions, steps);
+    }
+    
+    public static SagaRoutingTable compile(final List<SagaTransition> transitions, final List<SagaStep> steps) {
+        final var routes = new String[SOURCES.length * STATUSES.length];
+        
+        for (final var transition : transitions) {
+            final var index = indexOf(transition.source(), transition.status());
+            
+            if (isEmpty(transition.topic())) {
+                throw new IllegalStateException("Topic must be informed for saga transition ".concat(describe(index)));
+            }
+            
+            if (routes[index] != null) {
+                throw new IllegalStateException("Duplicated saga transition for ".concat(describe(index)));
+            }
+            
+            routes[index] = transition.topic();
+        }
+        
+        final var table = new SagaRoutingTable(routes);
+        table.validateReachability(steps);
+        
+        return table;
+    }
+    
+    public String find(final EEventSource source, final ESagaStatus status) {
+        return this.routes[indexOf(source, status)];
+    }
+    
+    private void validateReachability(final List<SagaStep> steps) {
+        final var reached = new boolean[this.routes.length];
+        final var pending = new ArrayDeque<Integer>();
+        pending.add(indexOf(SAGA_START_SOURCE, SAGA_START_STATUS));
+        
+        while (!pending.isEmpty()) {
+            final int index = pending.poll();
+            
+            if (reached[index]) {
+                continue;
+            }
+            
+            reached[index] = true;
+            final var topic = this.routes[index];
+            
+            if (topic == null) {
+                throw new IllegalStateException("Saga transition not found for reachable state ".concat(describe(index)));
+            }
+            
+            for (final var step : steps) {
+                if (topic.equals(step.topic())) {
+                    pending.add(indexOf(step.source(), SUCCESS));
+                    pending.add(indexOf(step.source(), ROLLBACK_PENDING));
+                } else if (topic.equals(step.compensationTopic())) {
+                    pending.add(indexOf(step.source(), FAIL));
+                }
+            }
+        }
+        
+        for (int index = 0; index < this.routes.length; index++) {
+            if (this.routes[index] != null && !reached[index]) {
+                log.warn("Saga transition {} -> {} is unreachable from the saga start", describe(index), this.routes[index]);
+            }
+        }
+    }
+    
+    private static int indexOf(final EEventSource source, final ESagaStatus status) {
+        return source.ordinal() * STATUSES.length + status.ordinal();
+    }
+    
+    private static String describe(final int index) {
+        return SOURCES[index / STATUSES.length] + " | " + STATUSES[index % STATUSES.length];
+    }
+    
+}
@@ -0,0 +1,29 @@
+package br.com.microservices.orchestrated.orchestratorservice.core.saga;
+
+import br.com.microservices.orchestrated.orchestratorservice.core.dto.Event;
+
+public record SagaState(
+        Event event,
+        
+        String topic,
+        
+        int retries,
+        
+        long deadline,
+        
+        boolean dispatched
+) {
+    
+    public String transactionId() {
+        return this.event.getTransactionId();
+    }
+    
+    public SagaState retryAt(final Event retryEvent, final long dispatchAt) {
+        return new SagaState(retryEvent, this.topic, this.retries + 1, dispatchAt, false);
+    }
+    
+    public SagaState dispatchedUntil(final long nextDeadline) {
+        return new SagaState(this.event, this.topic, this.retries, nextDeadline, true);
+    }
+    
+}
@@ -0,0 +1,217 @@
+package br.com.microservices.orchestrated.orchestratorservice.core.saga;
+
+import static org.springframework.util.ObjectUtils.isEmpty;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
+
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.utils.Utils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import br.com.microservices.orchestrated.orchestratorservice.config.kafka.EventDeserializer;
+import br.com.microservices.orchestrated.orchestratorservice.core.dto.Event;
+import br.com.microservices.orchestrated.orchestratorservice.core.utils.JsonUtil;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Component
+public class SagaStateStore {
+    
+    private static final String TOPIC_HEADER = "saga-topic";
+    
+    private static final String RETRIES_HEADER = "saga-retries";
+    
+    private static final String DEADLINE_HEADER = "saga-deadline";
+    
+    private static final String DISPATCHED_HEADER = "saga-dispatched";
+    
+    private final Map<String, SagaState> states = new ConcurrentHashMap<>();
+    
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    
+    private final ConsumerFactory<String, Event> consumerFactory;
+    
+    private final String changelogTopic;
+    
+    private final Duration restorePollTimeout;
+    
+    private final JsonUtil jsonUtil;
+    
+    private final int partitionCount;
+    
+    public SagaStateStore(final KafkaTemplate<String, Object> kafkaTemplate,
+                          final ConsumerFactory<String, Event> consumerFactory,
+                          final JsonUtil jsonUtil,
+                          @Value("${spring.kafka.topic.saga-state}") final String changelogTopic,
+                          @Value("${saga.state.restore-poll-timeout}") final Duration restorePollTimeout,
+                          @Value("${spring.kafka.partitions}") final int partitionCount) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.consumerFactory = consumerFactory;
+        this.jsonUtil = jsonUtil;
+        this.changelogTopic = changelogTopic;
+        this.restorePollTimeout = restorePollTimeout;
+        this.partitionCount = partitionCount;
+    }
+    
+    public SagaState find(final String transactionId) {
+        return this.states.get(transactionId);
+    }
+    
+    public void put(final SagaState state) {
+        this.update(state.transactionId(), current -> state);
+    }
+    
+    public boolean replace(final SagaState expected, final SagaState state) {
+        return !isEmpty(this.update(expected.transactionId(), current -> current == expected ? state : current));
+    }
+    
+    public boolean remove(final SagaState expected) {
+        return !isEmpty(this.update(expected.transactionId(), current -> current == expected ? null : current));
+    }
+    
+    public SagaState remove(final String transactionId) {
+        final var change = this.update(transactionId, current -> null);
+        return isEmpty(change) ? null : change.previous();
+    }
+    
+    public int size() {
+        return this.states.size();
+    }
+    
+    public Collection<SagaState> restore(final Set<Integer> partitions) {
+        final var properties = new HashMap<>(this.consumerFactory.getConfigurationProperties());
+        properties.remove(ConsumerConfig.GROUP_ID_CONFIG);
+        properties.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        
+        final var restored = new HashMap<String, SagaState>();
+        
+        try (final var consumer = new KafkaConsumer<>(properties, new StringDeserializer(), new EventDeserializer(this.jsonUtil))) {
+            final List<TopicPartition> changelogPartitions = partitions
+                    .stream()
+                    .map(partition -> new TopicPartition(this.changelogTopic, partition))
+                    .toList();
+            
+            consumer.assign(changelogPartitions);
+            consumer.seekToBeginning(changelogPartitions);
+            final var endOffsets = consumer.endOffsets(changelogPartitions);
+            
+            while (changelogPartitions.stream().anyMatch(partition -> consumer.position(partition) < endOffsets.get(partition))) {
+                consumer.poll(this.restorePollTimeout).forEach(record -> this.apply(restored, record));
+            }
+        }
+        
+        this.states.putAll(restored);
+        log.info("Restored {} in-flight sagas from partitions {} of {}", restored.size(), partitions, this.changelogTopic);
+        return List.copyOf(restored.values());
+    }
+    
+    public Collection<SagaState> evict(final Set<Integer> partitions) {
+        final var evicted = new ArrayList<SagaState>();
+        
+        this.states.values().removeIf(state -> {
+            if (!partitions.contains(this.partitionFor(state.transactionId()))) {
+                return false;
+            }
+            
+            evicted.add(state);
+            return true;
+        });
+        
+        log.info("Evicted {} in-flight sagas of revoked partitions {}", evicted.size(), partitions);
+        return evicted;
+    }
+    
+    private int partitionFor(final String transactionId) {
+        return Utils.toPositive(Utils.murmur2(transactionId.getBytes(StandardCharsets.UTF_8))) % this.partitionCount;
+    }
+    
+    private void apply(final Map<String, SagaState> restored, final ConsumerRecord<String, Event> record) {
+        if (isEmpty(record.value())) {
+            restored.remove(record.key());
+            return;
+        }
+        
+        final var headers = record.headers();
+        restored.put(record.key(), new SagaState(
+                record.value(),
+                this.readHeader(headers, TOPIC_HEADER),
+                Integer.parseInt(this.readHeader(headers, RETRIES_HEADER)),
+                Long.parseLong(this.readHeader(headers, DEADLINE_HEADER)),
+                Boolean.parseBoolean(this.readHeader(headers, DISPATCHED_HEADER))
+        ));
+    }
+    
+    private String readHeader(final Headers headers, final String key) {
+        return new String(headers.lastHeader(key).value(), StandardCharsets.UTF_8);
+    }
+    
+    private Change update(final String transactionId, final UnaryOperator<SagaState> change) {
+        final var deferred = SagaCommitSynchronization.isActive();
+        final var applied = new AtomicReference<Change>();
+        
+        this.states.compute(transactionId, (key, current) -> {
+            final var next = change.apply(current);
+            
+            if (next == current) {
+                return current;
+            }
+            
+            final var record = isEmpty(next) ? this.createTombstoneRecord(key) : this.createChangelogRecord(next);
+            applied.set(new Change(current, next, record));
+            return deferred ? current : next;
+        });
+        
+        final var result = applied.get();
+        
+        if (isEmpty(result)) {
+            return null;
+        }
+        
+        this.kafkaTemplate.send(result.record());
+        
+        if (deferred) {
+            SagaCommitSynchronization.afterCommit(() -> this.states.compute(transactionId, (key, current) ->
+                    current == result.previous() ? result.next() : current));
+        }
+        
+        return result;
+    }
+    
+    private ProducerRecord<String, Object> createChangelogRecord(final SagaState state) {
+        final var headers = new RecordHeaders();
+        headers.add(TOPIC_HEADER, state.topic().getBytes(StandardCharsets.UTF_8));
+        headers.add(RETRIES_HEADER, String.valueOf(state.retries()).getBytes(StandardCharsets.UTF_8));
+        headers.add(DEADLINE_HEADER, String.valueOf(state.deadline()).getBytes(StandardCharsets.UTF_8));
+        headers.add(DISPATCHED_HEADER, String.valueOf(state.dispatched()).getBytes(StandardCharsets.UTF_8));
+        
+        return new ProducerRecord<>(this.changelogTopic, null, state.transactionId(), state.event(), headers);
+    }
+    
+    private ProducerRecord<String, Object> createTombstoneRecord(final String transactionId) {
+        return new ProducerRecord<>(this.changelogTopic, transactionId, null);
+    }
+    
+    private record Change(SagaState previous, SagaState next, ProducerRecord<String, Object> record) {
+    }
+    
+}
@@ -0,0 +1,14 @@
+package br.com.microservices.orchestrated.orchestratorservice.core.saga;
+
+import br.com.microservices.orchestrated.orchestratorservice.core.enums.EEventSource;
+
+public record SagaStep(
+        EEventSource source,
+        
+        String topic,
+        
+        String compensationTopic,
+        
+        SagaRetryPolicy retry
+) {
+}
@@ -0,0 +1,13 @@
+package br.com.microservices.orchestrated.orchestratorservice.core.saga;
+
+import br.com.microservices.orchestrated.orchestratorservice.core.enums.EEventSource;
+import br.com.microservices.orchestrated.orchestratorservice.core.enums.ESagaStatus;
+
+public record SagaTransition(
+        EEventSource source,
+        
+        ESagaStatus status,
+        
+        String topic
+) {
+}
@@ -2,18 +2,18 @@ package br.com.microservices.orchestrated.orchestratorservice.core.service;
 
 import static br.com.microservices.orchestrated.orchestratorservice.core.enums.EEventSource.ORCHESTRATOR;
 import static br.com.microservices.orchestrated.orchestratorservice.core.enums.ESagaStatus.FAIL;
+import static br.com.microservices.orchestrated.orchestratorservice.core.enums.ESagaStatus.ROLLBACK_PENDING;
 import static br.com.microservices.orchestrated.orchestratorservice.core.enums.ESagaStatus.SUCCESS;
 
-import java.time.LocalDateTime;
-
 import org.springframework.stereotype.Service;
 
 import br.com.microservices.orchestrated.orchestratorservice.core.dto.Event;
-import br.com.microservices.orchestrated.orchestratorservice.core.dto.History;
+import br.com.microservices.orchestrated.orchestratorservice.core.enums.EHistoryMessage;
 import br.com.microservices.orchestrated.orchestratorservice.core.enums.ETopics;
 import br.com.microservices.orchestrated.orchestratorservice.core.producer.SagaOrchestatorProducer;
+import br.com.microservices.orchestrated.orchestratorservice.core.saga.SagaDeadlineTracker;
 import br.com.microservices.orchestrated.orchestratorservice.core.saga.SagaExecutionController;
-import br.com.microservices.orchestrated.orchestratorservice.core.utils.JsonUtil;
+import br.com.microservices.orchestrated.orchestratorservice.core.utils.HistoryUtil;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -22,18 +22,25 @@ import lombok.extern.slf4j.Slf4j;
 @AllArgsConstructor
 public class OrchestratorService {
     
-    private final JsonUtil jsonUtil;
-    
     private final SagaOrchestatorProducer producer;
     
+    private final HistoryUtil historyUtil;
+    
     private final SagaExecutionController sagaExecutionController;
     
+    private final SagaDeadlineTracker sagaDeadlineTracker;
+    
     public void startSaga(final Event event) {
+        if (!this.sagaExecutionController.isKnownSagaType(event)) {
+            this.rejectSaga(event);
+            return;
+        }
+        
         event.setSource(ORCHESTRATOR);
         event.setStatus(SUCCESS);
         final var topic = this.getTopic(event);
         log.info("SAGA STARTED!");
-        this.addHistory(event, "Saga started!");
+        this.addHistory(event, EHistoryMessage.SAGA_STARTED);
         this.sendToProducerWithTopic(event, topic);
     }
     
@@ -41,7 +48,7 @@ public class OrchestratorService {
         event.setSource(ORCHESTRATOR);
         event.setStatus(SUCCESS);
         log.info("SAGA FINISHED SUCCESSFULLY FOR EVENT {}!", event.getId());
-        this.addHistory(event, "Saga finished successfully!");
+        this.addHistory(event, EHistoryMessage.SAGA_FINISHED_SUCCESS);
         this.notifyFinishedSaga(event);
     }
     
@@ -49,38 +56,54 @@ public class OrchestratorService {
         event.setSource(ORCHESTRATOR);
         event.setStatus(FAIL);
         log.info("SAGA FINISHED WITH ERRORS FOR EVENT {}!", event.getId());
-        this.addHistory(event, "Saga finished with errors!");
+        this.addHistory(event, EHistoryMessage.SAGA_FINISHED_FAIL);
         this.notifyFinishedSaga(event);
     }
     
     public void continueSaga(final Event event) {
+        if (this.sagaDeadlineTracker.isStale(event)) {
+            log.warn("SAGA IGNORING STALE REPLY FROM {} WITH STATUS {} FOR EVENT {}", event.getSource(), event.getStatus(), event.getId());
+            return;
+        }
+        
+        if (event.getStatus() == ROLLBACK_PENDING && this.sagaDeadlineTracker.retry(event)) {
+            log.info("SAGA STEP RETRY SCHEDULED FOR EVENT {}", event.getId());
+            return;
+        }
+        
         final var topic = this.getTopic(event);
         log.info("SAGA CONTINUING FOR EVENT {}", event.getId());
         this.sendToProducerWithTopic(event, topic);
     }
     
-    private ETopics getTopic(final Event event) {
+    private void rejectSaga(final Event event) {
+        log.warn("SAGA TYPE {} NOT FOUND FOR EVENT {}, FINISHING WITH ERRORS", event.getSagaType(), event.getId());
+        event.setSource(ORCHESTRATOR);
+        event.setStatus(FAIL);
+        this.addHistory(event, EHistoryMessage.SAGA_TYPE_NOT_FOUND, event.getSagaType());
+        this.finishSagaFail(event);
+    }
+    
+    private String getTopic(final Event event) {
         return this.sagaExecutionController.getNextTopic(event);
     }
     
-    private void addHistory(final Event event, final String message) {
-        final var history = History
-                .builder()
-                .source(event.getSource())
-                .status(event.getStatus())
-                .message(message)
-                .createdAt(LocalDateTime.now())
-                .build();
-        
-        event.addHistory(history);
+    private void addHistory(final Event event, final EHistoryMessage message) {
+        this.addHistory(event, message, null);
+    }
+    
+    private void addHistory(final Event event, final EHistoryMessage message, final String detail) {
+        event.addHistory(this.historyUtil.create(event, message, detail));
     }
     
-    private void sendToProducerWithTopic(final Event event, final ETopics topic) {
-        this.producer.sendEvent(this.jsonUtil.toJson(event), topic.getTopic());
+    private void sendToProducerWithTopic(final Event event, final String topic) {
+        this.producer.sendEvent(event, topic);
+        this.sagaDeadlineTracker.track(event, topic);
     }
     
     private void notifyFinishedSaga(final Event event) {
-        this.producer.sendEvent(this.jsonUtil.toJson(event), ETopics.NOTIFY_ENDING.getTopic());
+        this.producer.sendEvent(event, ETopics.NOTIFY_ENDING.getTopic());
+        this.sagaDeadlineTracker.complete(event.getTransactionId());
     }
     
 }
@@ -0,0 +1,216 @@
+package br.com.microservices.orchestrated.orchestratorservice.core.timer;
+
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+public final class HierarchicalWheelTimer {
+    
+    private static final int MAX_TRANSFERS_PER_TICK = 100_000;
+    
+    private final long tickNanos;
+    
+    private final int bits;
+    
+    private final int mask;
+    
+    private final WheelBucket[][] levels;
+    
+    private final long startTime;
+    
+    private final Queue<WheelTimeout> additions = new ConcurrentLinkedQueue<>();
+    
+    private final Queue<WheelTimeout> cancellations = new ConcurrentLinkedQueue<>();
+    
+    private final AtomicLong pending = new AtomicLong();
+    
+    private final ExecutorService taskExecutor;
+    
+    private final Thread worker;
+    
+    private volatile boolean running = true;
+    
+    private long tick;
+    
+    public HierarchicalWheelTimer(final String name, final Duration tickDuration, final int wheelSize, final int taskThreads) {
+        if (tickDuration.isNegative() || tickDuration.isZero()) {
+            throw new IllegalArgumentException("Tick duration must be positive.");
+        }
+        
+        if (wheelSize < 2 || Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("Wheel size must be a power of two.");
+        }
+        
+        this.tickNanos = tickDuration.toNanos();
+        this.bits = Integer.numberOfTrailingZeros(wheelSize);
+        this.mask = wheelSize - 1;
+        this.levels = new WheelBucket[(Long.SIZE - 1 + this.bits - 1) / this.bits][wheelSize];
+        
+        for (final var level : this.levels) {
+            for (int i = 0; i < wheelSize; i++) {
+                level[i] = new WheelBucket();
+            }
+        }
+        
+        final var taskThreadCount = new AtomicInteger();
+        this.taskExecutor = Executors.newFixedThreadPool(taskThreads, runnable -> {
+            final var thread = new Thread(runnable, name + "-task-" + taskThreadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        
+        this.startTime = System.nanoTime();
+        this.worker = new Thread(this::run, name);
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+    
+    public Timeout newTimeout(final Runnable task, final Duration delay) {
+        if (!this.running) {
+            throw new IllegalStateException("Timer already stopped.");
+        }
+        
+        final var deadline = System.nanoTime() - this.startTime + Math.max(0, delay.toNanos());
+        final var timeout = new WheelTimeout(this, task, deadline / this.tickNanos);
+        this.pending.incrementAndGet();
+        this.additions.add(timeout);
+        
+        return timeout;
+    }
+    
+    public long pendingTimeouts() {
+        return this.pending.get();
+    }
+    
+    public void stop() {
+        this.running = false;
+        this.worker.interrupt();
+        this.taskExecutor.shutdown();
+        
+        try {
+            this.worker.join(TimeUnit.SECONDS.toMillis(1));
+            this.taskExecutor.awaitTermination(1, TimeUnit.SECONDS);
+            
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    boolean isDrained() {
+        return this.additions.isEmpty() && this.cancellations.isEmpty();
+    }
+    
+    void cancelled(final WheelTimeout timeout) {
+        this.pending.decrementAndGet();
+        this.cancellations.add(timeout);
+    }
+    
+    private void run() {
+        while (this.running) {
+            if (!this.waitForNextTick()) {
+                continue;
+            }
+            
+            this.processCancellations();
+            this.transferAdditions();
+            this.cascade();
+            this.levels[0][(int) (this.tick & this.mask)].drain(this::expire);
+            this.tick++;
+        }
+    }
+    
+    private boolean waitForNextTick() {
+        final var deadline = this.tickNanos * (this.tick + 1);
+        
+        while (true) {
+            final var sleepMillis = TimeUnit.NANOSECONDS.toMillis(deadline - (System.nanoTime() - this.startTime) + 999_999);
+            
+            if (sleepMillis <= 0) {
+                return true;
+            }
+            
+            try {
+                Thread.sleep(sleepMillis);
+                
+            } catch (final InterruptedException e) {
+                if (!this.running) {
+                    return false;
+                }
+            }
+        }
+    }
+    
+    private void processCancellations() {
+        WheelTimeout timeout;
+        
+        while ((timeout = this.cancellations.poll()) != null) {
+            if (timeout.bucket != null) {
+                timeout.bucket.remove(timeout);
+            }
+        }
+    }
+    
+    private void transferAdditions() {
+        for (int i = 0; i < MAX_TRANSFERS_PER_TICK; i++) {
+            final var timeout = this.additions.poll();
+            
+            if (timeout == null) {
+                return;
+            }
+            
+            if (!timeout.isCancelled()) {
+                this.place(timeout);
+            }
+        }
+    }
+    
+    private void cascade() {
+        for (int level = this.levels.length - 1; level > 0; level--) {
+            final var shift = level * this.bits;
+            
+            if ((this.tick & ((1L << shift) - 1)) == 0) {
+                this.levels[level][(int) ((this.tick >>> shift) & this.mask)].drain(this::place);
+            }
+        }
+    }
+    
+    private void place(final WheelTimeout timeout) {
+        if (timeout.ticks < this.tick) {
+            this.expire(timeout);
+            return;
+        }
+        
+        var level = 0;
+        
+        while ((timeout.ticks >>> (level * this.bits)) - (this.tick >>> (level * this.bits)) > this.mask) {
+            level++;
+        }
+        
+        this.levels[level][(int) ((timeout.ticks >>> (level * this.bits)) & this.mask)].add(timeout);
+    }
+    
+    private void expire(final WheelTimeout timeout) {
+        if (!timeout.expire()) {
+            return;
+        }
+        
+        this.pending.decrementAndGet();
+        this.taskExecutor.execute(() -> {
+            try {
+                timeout.task.run();
+                
+            } catch (final Exception e) {
+                log.error("Error running timer task", e);
+            }
+        });
+    }
+    
+}
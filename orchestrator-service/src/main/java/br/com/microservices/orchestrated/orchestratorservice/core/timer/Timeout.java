@@ -0,0 +1,11 @@
+package br.com.microservices.orchestrated.orchestratorservice.core.timer;
+
+public interface Timeout {
+    
+    boolean cancel();
+    
+    boolean isCancelled();
+    
+    boolean isExpired();
+    
+}
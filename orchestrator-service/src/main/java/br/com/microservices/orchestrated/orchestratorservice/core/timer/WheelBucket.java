@@ -0,0 +1,65 @@
+package br.com.microservices.orchestrated.orchestratorservice.core.timer;
+
+import java.util.function.Consumer;
+
+final class WheelBucket {
+    
+    private WheelTimeout head;
+    
+    private WheelTimeout tail;
+    
+    void add(final WheelTimeout timeout) {
+        timeout.bucket = this;
+        
+        if (this.head == null) {
+            this.head = timeout;
+            this.tail = timeout;
+        } else {
+            this.tail.next = timeout;
+            timeout.prev = this.tail;
+            this.tail = timeout;
+        }
+    }
+    
+    void remove(final WheelTimeout timeout) {
+        if (timeout.bucket != this) {
+            return;
+        }
+        
+        if (timeout.prev != null) {
+            timeout.prev.next = timeout.next;
+        } else {
+            this.head = timeout.next;
+        }
+        
+        if (timeout.next != null) {
+            timeout.next.prev = timeout.prev;
+        } else {
+            this.tail = timeout.prev;
+        }
+        
+        timeout.prev = null;
+        timeout.next = null;
+        timeout.bucket = null;
+    }
+    
+    void drain(final Consumer<WheelTimeout> consumer) {
+        var timeout = this.head;
+        this.head = null;
+        this.tail = null;
+        
+        while (timeout != null) {
+            final var next = timeout.next;
+            timeout.prev = null;
+            timeout.next = null;
+            timeout.bucket = null;
+            
+            if (!timeout.isCancelled()) {
+                consumer.accept(timeout);
+            }
+            
+            timeout = next;
+        }
+    }
+    
+}
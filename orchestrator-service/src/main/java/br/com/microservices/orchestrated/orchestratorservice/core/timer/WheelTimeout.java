@@ -0,0 +1,60 @@
+package br.com.microservices.orchestrated.orchestratorservice.core.timer;
+
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+final class WheelTimeout implements Timeout {
+    
+    private static final int ST_INIT = 0;
+    
+    private static final int ST_CANCELLED = 1;
+    
+    private static final int ST_EXPIRED = 2;
+    
+    private static final AtomicIntegerFieldUpdater<WheelTimeout> STATE =
+            AtomicIntegerFieldUpdater.newUpdater(WheelTimeout.class, "state");
+    
+    final HierarchicalWheelTimer timer;
+    
+    final Runnable task;
+    
+    final long ticks;
+    
+    WheelTimeout next;
+    
+    WheelTimeout prev;
+    
+    WheelBucket bucket;
+    
+    private volatile int state = ST_INIT;
+    
+    WheelTimeout(final HierarchicalWheelTimer timer, final Runnable task, final long ticks) {
+        this.timer = timer;
+        this.task = task;
+        this.ticks = ticks;
+    }
+    
+    @Override
+    public boolean cancel() {
+        if (!STATE.compareAndSet(this, ST_INIT, ST_CANCELLED)) {
+            return false;
+        }
+        
+        this.timer.cancelled(this);
+        return true;
+    }
+    
+    @Override
+    public boolean isCancelled() {
+        return this.state == ST_CANCELLED;
+    }
+    
+    @Override
+    public boolean isExpired() {
+        return this.state == ST_EXPIRED;
+    }
+    
+    boolean expire() {
+        return STATE.compareAndSet(this, ST_INIT, ST_EXPIRED);
+    }
+    
+}
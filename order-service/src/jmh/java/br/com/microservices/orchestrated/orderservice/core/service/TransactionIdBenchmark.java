@@ -0,0 +1,47 @@
+package br.com.microservices.orchestrated.orderservice.core.service;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TransactionIdBenchmark {
+    
+    @Benchmark
+    public String createTransactionId() {
+        return OrderService.createTransactionId();
+    }
+    
+    @Benchmark
+    @Threads(8)
+    public String createTransactionIdContended() {
+        return OrderService.createTransactionId();
+    }
+    
+    @Benchmark
+    public UUID randomUuid() {
+        return UUID.randomUUID();
+    }
+    
+    @Benchmark
+    public long epochMillis() {
+        return Instant.now().toEpochMilli();
+    }
+    
+}
@@ -0,0 +1,18 @@
+package br.com.microservices.orchestrated.orderservice.config.execution;
+
+import org.apache.coyote.ProtocolHandler;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnProperty(name = "saga.execution.mode", havingValue = "VIRTUAL")
+public class TomcatExecutionConfig {
+    
+    @Bean
+    public TomcatProtocolHandlerCustomizer<ProtocolHandler> virtualThreadProtocolHandlerCustomizer() {
+        return protocolHandler -> protocolHandler.setExecutor(SagaListenerExecutor.newVirtualThreadExecutor());
+    }
+    
+}
@@ -0,0 +1,19 @@
+package br.com.microservices.orchestrated.orderservice.config.kafka;
+
+import org.apache.kafka.common.serialization.Deserializer;
+
+import br.com.microservices.orchestrated.orderservice.core.document.Event;
+import br.com.microservices.orchestrated.orderservice.core.utils.JsonUtil;
+import lombok.AllArgsConstructor;
+
+@AllArgsConstructor
+public class EventDeserializer implements Deserializer<Event> {
+    
+    private final JsonUtil jsonUtil;
+    
+    @Override
+    public Event deserialize(final String topic, final byte[] data) {
+        return this.jsonUtil.toEvent(data);
+    }
+    
+}
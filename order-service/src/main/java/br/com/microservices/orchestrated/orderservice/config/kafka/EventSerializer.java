@@ -0,0 +1,19 @@
+package br.com.microservices.orchestrated.orderservice.config.kafka;
+
+import org.apache.kafka.common.serialization.Serializer;
+
+import br.com.microservices.orchestrated.orderservice.core.document.Event;
+import br.com.microservices.orchestrated.orderservice.core.utils.JsonUtil;
+import lombok.AllArgsConstructor;
+
+@AllArgsConstructor
+public class EventSerializer implements Serializer<Event> {
+    
+    private final JsonUtil jsonUtil;
+    
+    @Override
+    public byte[] serialize(final String topic, final Event event) {
+        return this.jsonUtil.toPayload(event);
+    }
+    
+}
@@ -12,13 +12,19 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.annotation.EnableKafka;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.config.TopicBuilder;
 import org.springframework.kafka.core.ConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaProducerFactory;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.listener.ContainerProperties;
 
+import br.com.microservices.orchestrated.orderservice.config.execution.SagaListenerExecutor;
+import br.com.microservices.orchestrated.orderservice.core.document.Event;
+import br.com.microservices.orchestrated.orderservice.core.enums.EProducerProfile;
+import br.com.microservices.orchestrated.orderservice.core.utils.JsonUtil;
 import lombok.RequiredArgsConstructor;
 
 @EnableKafka
@@ -26,19 +32,38 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class KafkaConfig {
     
-    private static final Integer PARTITION_COUNT = 1;
-    
     private static final Integer REPLICA_COUNT = 1;
     
+    private static final String DEAD_LETTER_SUFFIX = "-dlt";
+    
+    private final JsonUtil jsonUtil;
+    
+    private final SagaListenerExecutor sagaListenerExecutor;
+    
     @Value("${spring.kafka.bootstrap-servers}")
     private String bootstrapServers;
     
+    @Value("${spring.kafka.producer.profile}")
+    private EProducerProfile producerProfile;
+    
+    @Value("${spring.kafka.producer.compression-type}")
+    private String compressionType;
+    
     @Value("${spring.kafka.consumer.group-id}")
     private String groupId;
     
     @Value("${spring.kafka.consumer.auto-offset-reset}")
     private String autoOffsetReset;
     
+    @Value("${spring.kafka.consumer.isolation-level}")
+    private String isolationLevel;
+    
+    @Value("${spring.kafka.partitions}")
+    private Integer partitionCount;
+    
+    @Value("${spring.kafka.listener.concurrency}")
+    private Integer listenerConcurrency;
+    
     @Value("${spring.kafka.topic.start-saga}")
     private String startSagaTopic;
     
@@ -46,8 +71,8 @@ public class KafkaConfig {
     private String notifyEndingTopic;
     
     @Bean
-    public ConsumerFactory<String, String> consumerFactory() {
-        return new DefaultKafkaConsumerFactory<>(this.consumerProps());
+    public ConsumerFactory<String, Event> consumerFactory() {
+        return new DefaultKafkaConsumerFactory<>(this.consumerProps(), new StringDeserializer(), new EventDeserializer(this.jsonUtil));
     }
     
     private Map<String, Object> consumerProps() {
@@ -55,30 +80,46 @@ public class KafkaConfig {
         
         props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, this.bootstrapServers);
         props.put(ConsumerConfig.GROUP_ID_CONFIG, this.groupId);
-        props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
-        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
         props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, this.autoOffsetReset);
+        props.put(ConsumerConfig.ISOLATION_LEVEL_CONFIG, this.isolationLevel);
         
         return props;
     }
     
     @Bean
-    public ProducerFactory<String, String> producerFactory() {
-        return new DefaultKafkaProducerFactory<>(this.producerProps());
+    public ConcurrentKafkaListenerContainerFactory<String, Event> kafkaListenerContainerFactory(
+            final ConsumerFactory<String, Event> consumerFactory) {
+        
+        final var factory = new ConcurrentKafkaListenerContainerFactory<String, Event>();
+        factory.setConsumerFactory(consumerFactory);
+        factory.setConcurrency(this.listenerConcurrency);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+        factory.getContainerProperties().setAsyncAcks(this.sagaListenerExecutor.isAsync());
+        factory.setRecordInterceptor(new SagaLogInterceptor());
+        
+        return factory;
+    }
+    
+    @Bean
+    public ProducerFactory<String, Event> producerFactory() {
+        return new DefaultKafkaProducerFactory<>(this.producerProps(), new StringSerializer(), new EventSerializer(this.jsonUtil));
     }
     
     private Map<String, Object> producerProps() {
         final Map<String, Object> props = new HashMap<>();
         
         props.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, this.bootstrapServers);
-        props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        props.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        props.put(ProducerConfig.ACKS_CONFIG, "all");
+        props.put(ProducerConfig.LINGER_MS_CONFIG, this.producerProfile.getLingerMs());
+        props.put(ProducerConfig.BATCH_SIZE_CONFIG, this.producerProfile.getBatchSize());
+        props.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, this.compressionType);
         
         return props;
     }
     
     @Bean
-    public KafkaTemplate<String, String> kafkaTemplate(final ProducerFactory<String, String> producerFactory) {
+    public KafkaTemplate<String, Event> kafkaTemplate(final ProducerFactory<String, Event> producerFactory) {
         return new KafkaTemplate<>(producerFactory);
     }
     
@@ -86,7 +127,7 @@ public class KafkaConfig {
         return TopicBuilder
                 .name(name)
                 .replicas(REPLICA_COUNT)
-                .partitions(PARTITION_COUNT)
+                .partitions(this.partitionCount)
                 .build();
     }
     
@@ -100,4 +141,9 @@ public class KafkaConfig {
         return this.buildTopic(this.notifyEndingTopic);
     }
     
+    @Bean
+    public NewTopic notifyEndingDeadLetterTopic() {
+        return this.buildTopic(this.notifyEndingTopic + DEAD_LETTER_SUFFIX);
+    }
+    
 }
@@ -1,29 +1,61 @@
 package br.com.microservices.orchestrated.orderservice.core.consumer;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.util.concurrent.CompletableFuture;
+
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.adapter.ConsumerRecordMetadata;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Component;
 
+import br.com.microservices.orchestrated.orderservice.config.execution.SagaFailureRoute;
+import br.com.microservices.orchestrated.orderservice.config.execution.SagaListenerExecutor;
+import br.com.microservices.orchestrated.orderservice.core.document.Event;
 import br.com.microservices.orchestrated.orderservice.core.service.EventService;
-import br.com.microservices.orchestrated.orderservice.core.utils.JsonUtil;
-import lombok.AllArgsConstructor;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
-@AllArgsConstructor
+@RequiredArgsConstructor
 @Component
 public class EventConsumer {
     
+    private static final String DEAD_LETTER_SUFFIX = "-dlt";
+    
     private final EventService eventService;
     
-    private final JsonUtil jsonUtil;
+    private final SagaListenerExecutor sagaListenerExecutor;
+    
+    private final KafkaTemplate<String, Event> kafkaTemplate;
+    
+    @Value("${spring.kafka.topic.notify-ending}")
+    private String notifyEndingTopic;
     
     @KafkaListener(
             groupId = "${spring.kafka.consumer.group-id}",
             topics = "${spring.kafka.topic.notify-ending}"
     )
-    public void consumeNotifyEndingTopic(final String payload) {
-        log.info("Receiving ending notification event {} from notify-ending topic", payload);
-        this.eventService.notifyEnding(this.jsonUtil.toEvent(payload));
+    public void consumeNotifyEndingTopic(final Event event, final ConsumerRecordMetadata metadata, final Acknowledgment acknowledgment) {
+        log.info("Receiving ending notification event from notify-ending topic");
+        log.debug("Event payload {}", event);
+        this.sagaListenerExecutor.execute(event.getTransactionId(), metadata, acknowledgment, () -> this.eventService.notifyEnding(event),
+                                          new SagaFailureRoute(this.notifyEndingTopic, e -> this.publishDeadLetter(event, e)));
+    }
+    
+    private CompletableFuture<SendResult<String, Event>> publishDeadLetter(final Event event, final Exception exception) {
+        final var record = new ProducerRecord<>(this.notifyEndingTopic + DEAD_LETTER_SUFFIX, event.getTransactionId(), event);
+        record.headers().add(KafkaHeaders.DLT_ORIGINAL_TOPIC, this.notifyEndingTopic.getBytes(UTF_8));
+        record.headers().add(KafkaHeaders.DLT_EXCEPTION_FQCN, exception.getClass().getName().getBytes(UTF_8));
+        record.headers().add(KafkaHeaders.DLT_EXCEPTION_MESSAGE, String.valueOf(exception.getMessage()).getBytes(UTF_8));
+        
+        log.error("Routing event {} that failed off the listener thread to {}", event.getTransactionId(), record.topic());
+        return this.kafkaTemplate.send(record);
     }
     
 }
@@ -1,13 +1,16 @@
 package br.com.microservices.orchestrated.orderservice.core.controller;
 
-import java.util.List;
-
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import br.com.microservices.orchestrated.orderservice.core.document.Event;
 import br.com.microservices.orchestrated.orderservice.core.dto.EventFilters;
+import br.com.microservices.orchestrated.orderservice.core.dto.EventPage;
 import br.com.microservices.orchestrated.orderservice.core.service.EventService;
 import lombok.AllArgsConstructor;
 
@@ -24,8 +27,17 @@ public class EventController {
     }
     
     @GetMapping("/all")
-    public List<Event> findAll() {
-        return this.eventService.findAll();
+    public EventPage findAll(@RequestParam(required = false) final String cursor,
+                             @RequestParam(defaultValue = "50") final int size) {
+        return this.eventService.findPage(cursor, size);
+    }
+    
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> export() {
+        return ResponseEntity
+                .ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(this.eventService::exportAll);
     }
     
 }
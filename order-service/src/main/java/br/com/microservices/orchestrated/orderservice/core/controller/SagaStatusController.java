@@ -0,0 +1,35 @@
+package br.com.microservices.orchestrated.orderservice.core.controller;
+
+import java.time.Duration;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import br.com.microservices.orchestrated.orderservice.core.document.SagaStatus;
+import br.com.microservices.orchestrated.orderservice.core.dto.EventFilters;
+import br.com.microservices.orchestrated.orderservice.core.service.SagaStatusService;
+import lombok.AllArgsConstructor;
+
+@RestController
+@AllArgsConstructor
+@RequestMapping("/api/saga-status")
+public class SagaStatusController {
+    
+    private final SagaStatusService sagaStatusService;
+    
+    @GetMapping
+    public SagaStatus findByFilters(final EventFilters filters) {
+        return this.sagaStatusService.findByFilters(filters);
+    }
+    
+    @GetMapping("/{orderId}/await")
+    public DeferredResult<SagaStatus> awaitCompletion(@PathVariable final String orderId,
+                                                      @RequestParam(required = false) final Duration timeout) {
+        return this.sagaStatusService.awaitCompletion(orderId, timeout);
+    }
+    
+}
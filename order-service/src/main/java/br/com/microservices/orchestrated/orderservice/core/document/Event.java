@@ -4,6 +4,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import lombok.AllArgsConstructor;
@@ -16,6 +17,9 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 @NoArgsConstructor
 @Document(collection = "event")
+@CompoundIndex(name = "order_id_created_at", def = "{'orderId': 1, 'createdAt': -1}")
+@CompoundIndex(name = "transaction_id_created_at", def = "{'transactionId': 1, 'createdAt': -1}")
+@CompoundIndex(name = "created_at_id", def = "{'createdAt': -1, '_id': -1}")
 public class Event {
     
     @Id
@@ -25,6 +29,8 @@ public class Event {
     
     private String orderId;
     
+    private String sagaType;
+    
     private Order payload;
     
     private String source;
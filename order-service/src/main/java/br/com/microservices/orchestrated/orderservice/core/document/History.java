@@ -2,6 +2,8 @@ package br.com.microservices.orchestrated.orderservice.core.document;
 
 import java.time.LocalDateTime;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -11,6 +13,7 @@ import lombok.NoArgsConstructor;
 @Builder
 @AllArgsConstructor
 @NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class History {
     
     private String source;
@@ -21,4 +24,10 @@ public class History {
     
     private LocalDateTime createdAt;
     
+    private String code;
+    
+    private String detail;
+    
+    private Long timestamp;
+    
 }
@@ -4,6 +4,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import lombok.AllArgsConstructor;
@@ -16,6 +17,7 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 @NoArgsConstructor
 @Document(collection = "order")
+@CompoundIndex(name = "created_at_id", def = "{'createdAt': 1, '_id': 1}")
 public class Order {
     
     @Id
@@ -27,6 +29,8 @@ public class Order {
     
     private String transactionId;
     
+    private String sagaType;
+    
     private double totalAmount;
     
     private int totalItems;
@@ -0,0 +1,38 @@
+package br.com.microservices.orchestrated.orderservice.core.document;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import br.com.microservices.orchestrated.orderservice.core.enums.EOutboxStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Document(collection = "outbox")
+@CompoundIndex(name = "status_created_at", def = "{'status': 1, 'createdAt': 1}")
+public class OutboxEvent {
+    
+    @Id
+    private String id;
+    
+    private Event event;
+    
+    private EOutboxStatus status;
+    
+    private int attempts;
+    
+    private LocalDateTime createdAt;
+    
+    @Indexed(expireAfter = "1d")
+    private LocalDateTime sentAt;
+    
+}
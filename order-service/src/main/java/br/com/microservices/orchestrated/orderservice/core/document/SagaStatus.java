@@ -0,0 +1,38 @@
+package br.com.microservices.orchestrated.orderservice.core.document;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import br.com.microservices.orchestrated.orderservice.core.enums.ESagaStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Document(collection = "saga_status")
+public class SagaStatus {
+    
+    @Id
+    private String orderId;
+    
+    @Indexed(unique = true)
+    private String transactionId;
+    
+    private String sagaType;
+    
+    private ESagaStatus status;
+    
+    private String source;
+    
+    private LocalDateTime createdAt;
+    
+    private LocalDateTime updatedAt;
+    
+}
@@ -14,4 +14,6 @@ public class OrderRequest {
     
     private List<OrderProduct> products;
     
+    private String sagaType;
+    
 }
@@ -0,0 +1,8 @@
+package br.com.microservices.orchestrated.orderservice.core.enums;
+
+public enum EEventCodec {
+    
+    JSON,
+    SMILE
+    
+}
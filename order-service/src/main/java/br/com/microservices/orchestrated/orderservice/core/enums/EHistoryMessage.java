@@ -0,0 +1,45 @@
+package br.com.microservices.orchestrated.orderservice.core.enums;
+
+import static org.springframework.util.ObjectUtils.isEmpty;
+
+import java.util.Arrays;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public enum EHistoryMessage {
+    
+    SAGA_STARTED("Saga started!"),
+    SAGA_TYPE_NOT_FOUND("Saga type not found"),
+    SAGA_FINISHED_SUCCESS("Saga finished successfully!"),
+    SAGA_FINISHED_FAIL("Saga finished with errors!"),
+    SAGA_STEP_TIMEOUT("Saga step timed out"),
+    SAGA_STEP_RETRY("Saga step scheduled for retry"),
+    PRODUCT_VALIDATION_SUCCESS("Products are validated successfully!"),
+    PRODUCT_VALIDATION_FAIL("Fail to validate products"),
+    PRODUCT_VALIDATION_ROLLBACK("Rollback executed on product validation!"),
+    PRODUCT_VALIDATION_ROLLBACK_FAIL("Rollback not executed on product validation"),
+    PAYMENT_SUCCESS("Payment realized successfully!"),
+    PAYMENT_FAIL("Fail to realize payment"),
+    PAYMENT_ROLLBACK("Rollback executed for payment!"),
+    PAYMENT_ROLLBACK_FAIL("Rollback not executed for payment"),
+    INVENTORY_SUCCESS("Inventory updated successfully!"),
+    INVENTORY_FAIL("Fail to update inventory"),
+    INVENTORY_ROLLBACK("Rollback executed for inventory!"),
+    INVENTORY_ROLLBACK_FAIL("Rollback not executed for inventory");
+    
+    private final String message;
+    
+    public static String describe(final String code, final String detail) {
+        final var message = Arrays.stream(values())
+                                  .filter(value -> value.name().equals(code))
+                                  .findFirst()
+                                  .map(EHistoryMessage::getMessage)
+                                  .orElse(code);
+        
+        return isEmpty(detail) ? message : message.concat(": ").concat(detail);
+    }
+    
+}
@@ -0,0 +1,9 @@
+package br.com.microservices.orchestrated.orderservice.core.enums;
+
+public enum ESagaStatus {
+    
+    PENDING,
+    SUCCESS,
+    FAIL
+    
+}
@@ -1,9 +1,15 @@
 package br.com.microservices.orchestrated.orderservice.core.producer;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Component;
 
+import br.com.microservices.orchestrated.orderservice.core.document.Event;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -12,19 +18,25 @@ import lombok.extern.slf4j.Slf4j;
 @Component
 public class SagaProducer {
     
-    private final KafkaTemplate<String, String> kafkaTemplate;
+    private static final String SEND_METRIC = "saga.producer.send";
+    
+    private final KafkaTemplate<String, Event> kafkaTemplate;
+    
+    private final MeterRegistry meterRegistry;
     
     @Value("${spring.kafka.topic.start-saga}")
     private String startSagaTopic;
     
-    public void sendEvent(final String payload) {
-        try {
-            log.info("Sending event to topic {} with data {}", this.startSagaTopic, payload);
-            this.kafkaTemplate.send(this.startSagaTopic, payload);
-        } catch (final Exception e) {
-            log.error("Error trying to send data to topic {} with data {}", this.startSagaTopic, payload, e);
-        }
+    public CompletableFuture<SendResult<String, Event>> sendEvent(final Event event) {
+        log.info("Sending event with status {} to topic {}", event.getStatus(), this.startSagaTopic);
+        
+        final var startedAt = System.nanoTime();
+        
+        return this.kafkaTemplate
+                .send(this.startSagaTopic, event.getTransactionId(), event)
+                .whenComplete((result, e) -> this.meterRegistry
+                        .timer(SEND_METRIC, "topic", this.startSagaTopic, "result", e == null ? "success" : "failure")
+                        .record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS));
     }
     
 }
-
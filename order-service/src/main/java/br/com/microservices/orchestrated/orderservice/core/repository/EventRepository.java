@@ -1,6 +1,5 @@
 package br.com.microservices.orchestrated.orderservice.core.repository;
 
-import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.mongodb.repository.MongoRepository;
@@ -9,8 +8,6 @@ import br.com.microservices.orchestrated.orderservice.core.document.Event;
 
 public interface EventRepository extends MongoRepository<Event, String> {
     
-    List<Event> findAllByOrderByCreatedAtDesc();
-    
     Optional<Event> findTop1ByOrderIdOrderByCreatedAtDesc(String orderId);
     
     Optional<Event> findTop1ByTransactionIdOrderByCreatedAtDesc(String transactionId);
@@ -0,0 +1,7 @@
+package br.com.microservices.orchestrated.orderservice.core.repository;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import br.com.microservices.orchestrated.orderservice.core.document.OutboxEvent;
+
+public interface OutboxEventRepository extends MongoRepository<OutboxEvent, String> {}
@@ -0,0 +1,13 @@
+package br.com.microservices.orchestrated.orderservice.core.repository;
+
+import java.util.Optional;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import br.com.microservices.orchestrated.orderservice.core.document.SagaStatus;
+
+public interface SagaStatusRepository extends MongoRepository<SagaStatus, String> {
+    
+    Optional<SagaStatus> findByTransactionId(String transactionId);
+    
+}
@@ -1,14 +1,29 @@
 package br.com.microservices.orchestrated.orderservice.core.service;
 
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.util.ObjectUtils.isEmpty;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.time.LocalDateTime;
-import java.util.List;
+import java.time.ZoneId;
+import java.util.Base64;
 
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Service;
 
 import br.com.microservices.orchestrated.orderservice.config.exception.ValidationException;
 import br.com.microservices.orchestrated.orderservice.core.document.Event;
 import br.com.microservices.orchestrated.orderservice.core.dto.EventFilters;
+import br.com.microservices.orchestrated.orderservice.core.dto.EventPage;
+import br.com.microservices.orchestrated.orderservice.core.enums.EHistoryMessage;
 import br.com.microservices.orchestrated.orderservice.core.repository.EventRepository;
+import br.com.microservices.orchestrated.orderservice.core.utils.JsonUtil;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -17,19 +32,106 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class EventService {
     
+    private static final String CURSOR_SEPARATOR = "|";
+    
+    private static final int MAX_PAGE_SIZE = 500;
+    
+    private static final int EXPORT_BATCH_SIZE = 1000;
+    
     private final EventRepository eventRepository;
     
+    private final MongoTemplate mongoTemplate;
+    
+    private final JsonUtil jsonUtil;
+    
+    private final SagaStatusService sagaStatusService;
+    
     public void notifyEnding(final Event event) {
         event.setOrderId(event.getOrderId());
         event.setCreatedAt(LocalDateTime.now());
+        this.expandHistory(event);
         
         this.save(event);
+        this.sagaStatusService.finish(event);
         
         log.info("Order {} with saga notified! TransactionId: {}", event.getOrderId(), event.getTransactionId());
     }
     
-    public List<Event> findAll() {
-        return this.eventRepository.findAllByOrderByCreatedAtDesc();
+    private void expandHistory(final Event event) {
+        if (isEmpty(event.getEventHistory())) {
+            return;
+        }
+        
+        event.getEventHistory()
+             .stream()
+             .filter(history -> isEmpty(history.getMessage()) && !isEmpty(history.getCode()))
+             .forEach(history -> {
+                 history.setMessage(EHistoryMessage.describe(history.getCode(), history.getDetail()));
+                 history.setDetail(null);
+            
+                 if (!isEmpty(history.getTimestamp())) {
+                     history.setCreatedAt(LocalDateTime.ofInstant(Instant.ofEpochMilli(history.getTimestamp()), ZoneId.systemDefault()));
+                     history.setTimestamp(null);
+                 }
+             });
+    }
+    
+    public EventPage findPage(final String cursor, final int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new ValidationException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        
+        final var query = new Query()
+                .with(Sort.by(Sort.Direction.DESC, "createdAt", "_id"))
+                .limit(size);
+        query.fields().exclude("eventHistory");
+        
+        if (!isEmpty(cursor)) {
+            query.addCriteria(this.afterCursor(cursor));
+        }
+        
+        final var events = this.mongoTemplate.find(query, Event.class);
+        final var nextCursor = events.size() < size ? null : this.createCursor(events.get(events.size() - 1));
+        
+        return new EventPage(events, nextCursor);
+    }
+    
+    private String createCursor(final Event event) {
+        final var cursor = event.getCreatedAt() + CURSOR_SEPARATOR + event.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(cursor.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    private Criteria afterCursor(final String cursor) {
+        try {
+            final var decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            final var separator = decoded.indexOf(CURSOR_SEPARATOR);
+            final var createdAt = LocalDateTime.parse(decoded.substring(0, separator));
+            final var id = decoded.substring(separator + 1);
+            
+            return new Criteria().orOperator(
+                    where("createdAt").lt(createdAt),
+                    where("createdAt").is(createdAt).and("_id").lt(id)
+            );
+            
+        } catch (final RuntimeException e) {
+            throw new ValidationException("Invalid page cursor");
+        }
+    }
+    
+    public void exportAll(final OutputStream output) throws IOException {
+        final var query = new Query()
+                .with(Sort.by(Sort.Direction.DESC, "createdAt", "_id"))
+                .cursorBatchSize(EXPORT_BATCH_SIZE);
+        
+        try (final var events = this.mongoTemplate.stream(query, Event.class)) {
+            final var iterator = events.iterator();
+            
+            while (iterator.hasNext()) {
+                this.jsonUtil.writeLine(iterator.next(), output);
+            }
+        }
+        
+        output.flush();
     }
     
     public Event findByFilters(final EventFilters filters) {
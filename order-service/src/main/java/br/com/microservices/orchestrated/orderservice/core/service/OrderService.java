@@ -4,16 +4,21 @@ import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
+import org.bson.types.ObjectId;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
 
 import br.com.microservices.orchestrated.orderservice.core.document.Event;
 import br.com.microservices.orchestrated.orderservice.core.document.Order;
+import br.com.microservices.orchestrated.orderservice.core.document.OutboxEvent;
 import br.com.microservices.orchestrated.orderservice.core.dto.OrderRequest;
-import br.com.microservices.orchestrated.orderservice.core.producer.SagaProducer;
+import br.com.microservices.orchestrated.orderservice.core.enums.EOutboxStatus;
 import br.com.microservices.orchestrated.orderservice.core.repository.OrderRepository;
-import br.com.microservices.orchestrated.orderservice.core.utils.JsonUtil;
+import br.com.microservices.orchestrated.orderservice.core.repository.OutboxEventRepository;
 import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 
+@Slf4j
 @Service
 @AllArgsConstructor
 public class OrderService {
@@ -22,38 +27,66 @@ public class OrderService {
     
     private final OrderRepository orderRepository;
     
-    private final JsonUtil jsonUtil;
-    
-    private final SagaProducer producer;
+    private final OutboxEventRepository outboxEventRepository;
     
     private final EventService eventService;
     
+    private final SagaStatusService sagaStatusService;
+    
     public Order createOrder(final OrderRequest orderRequest) {
         final Order order = Order
                 .builder()
+                .id(new ObjectId().toHexString())
                 .products(orderRequest.getProducts())
                 .createdAt(LocalDateTime.now())
-                .transactionId(String.format(TRANSACTION_ID_FORMAT, Instant.now().toEpochMilli(), UUID.randomUUID()))
+                .transactionId(createTransactionId())
+                .sagaType(orderRequest.getSagaType())
                 .build();
         
-        this.orderRepository.save(order);
-        this.producer.sendEvent(this.jsonUtil.toJson(this.createPayload(order)));
+        this.orderRepository.insert(order);
+        this.enqueue(order);
         
         return order;
     }
     
-    private Event createPayload(final Order order) {
-        final Event event = Event
+    public void enqueue(final Order order) {
+        final var event = this.createEvent(order);
+        
+        this.eventService.save(event);
+        this.sagaStatusService.start(order, order.getSagaType());
+        
+        try {
+            this.outboxEventRepository.insert(this.createOutboxEvent(event));
+            
+        } catch (final DuplicateKeyException e) {
+            log.info("Outbox event for order {} was already enqueued", order.getId());
+        }
+    }
+    
+    static String createTransactionId() {
+        return String.format(TRANSACTION_ID_FORMAT, Instant.now().toEpochMilli(), UUID.randomUUID());
+    }
+    
+    private Event createEvent(final Order order) {
+        return Event
                 .builder()
+                .id(order.getId())
                 .orderId(order.getId())
+                .sagaType(order.getSagaType())
                 .transactionId(order.getTransactionId())
                 .payload(order)
                 .createdAt(LocalDateTime.now())
                 .build();
-        
-        this.eventService.save(event);
-        
-        return event;
+    }
+    
+    private OutboxEvent createOutboxEvent(final Event event) {
+        return OutboxEvent
+                .builder()
+                .id(event.getOrderId())
+                .event(event)
+                .status(EOutboxStatus.PENDING)
+                .createdAt(event.getCreatedAt())
+                .build();
     }
     
 }
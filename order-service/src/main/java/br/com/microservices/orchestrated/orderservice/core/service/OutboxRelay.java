@@ -0,0 +1,119 @@
+package br.com.microservices.orchestrated.orderservice.core.service;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import br.com.microservices.orchestrated.orderservice.core.document.Event;
+import br.com.microservices.orchestrated.orderservice.core.document.OutboxEvent;
+import br.com.microservices.orchestrated.orderservice.core.enums.EOutboxStatus;
+import br.com.microservices.orchestrated.orderservice.core.producer.SagaProducer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class OutboxRelay {
+    
+    private final MongoTemplate mongoTemplate;
+    
+    private final SagaProducer producer;
+    
+    @Value("${order.outbox.batch-size}")
+    private int batchSize;
+    
+    @Value("${order.outbox.send-timeout}")
+    private long sendTimeout;
+    
+    @Scheduled(fixedDelayString = "${order.outbox.poll-interval}")
+    public void relay() {
+        var drained = this.batchSize;
+        
+        while (drained == this.batchSize) {
+            final var pending = this.findPending();
+            
+            if (pending.isEmpty()) {
+                return;
+            }
+            
+            if (!this.publish(pending)) {
+                return;
+            }
+            
+            drained = pending.size();
+        }
+    }
+    
+    private List<OutboxEvent> findPending() {
+        final var query = query(where("status").is(EOutboxStatus.PENDING))
+                .with(Sort.by(Sort.Direction.ASC, "createdAt"))
+                .limit(this.batchSize);
+        
+        return this.mongoTemplate.find(query, OutboxEvent.class);
+    }
+    
+    private boolean publish(final List<OutboxEvent> pending) {
+        final List<CompletableFuture<SendResult<String, Event>>> sends = new ArrayList<>(pending.size());
+        
+        for (final var outboxEvent : pending) {
+            sends.add(this.producer.sendEvent(outboxEvent.getEvent()));
+        }
+        
+        final List<String> sent = new ArrayList<>(pending.size());
+        final List<String> failed = new ArrayList<>();
+        
+        for (int i = 0; i < pending.size(); i++) {
+            final var id = pending.get(i).getId();
+            
+            try {
+                sends.get(i).get(this.sendTimeout, TimeUnit.MILLISECONDS);
+                sent.add(id);
+                
+            } catch (final Exception e) {
+                log.error("Error trying to relay outbox event {}", id, e);
+                failed.add(id);
+            }
+        }
+        
+        this.markSent(sent);
+        this.markFailed(failed);
+        
+        return failed.isEmpty();
+    }
+    
+    private void markSent(final List<String> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        
+        final var update = new Update()
+                .set("status", EOutboxStatus.SENT)
+                .set("sentAt", LocalDateTime.now())
+                .inc("attempts", 1);
+        
+        this.mongoTemplate.updateMulti(query(where("_id").in(ids)), update, OutboxEvent.class);
+    }
+    
+    private void markFailed(final List<String> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        
+        this.mongoTemplate.updateMulti(query(where("_id").in(ids)), new Update().inc("attempts", 1), OutboxEvent.class);
+    }
+    
+}
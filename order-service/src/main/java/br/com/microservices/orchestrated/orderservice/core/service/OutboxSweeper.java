@@ -0,0 +1,114 @@
+package br.com.microservices.orchestrated.orderservice.core.service;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import br.com.microservices.orchestrated.orderservice.core.document.Order;
+import br.com.microservices.orchestrated.orderservice.core.document.OutboxEvent;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Component
+public class OutboxSweeper {
+    
+    private final MongoTemplate mongoTemplate;
+    
+    private final OrderService orderService;
+    
+    private final int batchSize;
+    
+    private final Duration grace;
+    
+    private LocalDateTime sweptCreatedAt;
+    
+    private String sweptId;
+    
+    public OutboxSweeper(final MongoTemplate mongoTemplate,
+                         final OrderService orderService,
+                         @Value("${order.outbox.batch-size}") final int batchSize,
+                         @Value("${order.outbox.sweep.grace}") final Duration grace,
+                         @Value("${order.outbox.sweep.lookback}") final Duration lookback) {
+        this.mongoTemplate = mongoTemplate;
+        this.orderService = orderService;
+        this.batchSize = batchSize;
+        this.grace = grace;
+        this.sweptCreatedAt = LocalDateTime.now().minus(lookback);
+        this.sweptId = "";
+    }
+    
+    @Scheduled(fixedDelayString = "${order.outbox.sweep.interval}")
+    public void sweep() {
+        final var until = LocalDateTime.now().minus(this.grace);
+        var swept = this.batchSize;
+        
+        while (swept == this.batchSize) {
+            final var orders = this.findCreatedBefore(until);
+            
+            if (orders.isEmpty()) {
+                return;
+            }
+            
+            this.enqueueMissing(orders);
+            
+            final var last = orders.get(orders.size() - 1);
+            this.sweptCreatedAt = last.getCreatedAt();
+            this.sweptId = last.getId();
+            swept = orders.size();
+        }
+    }
+    
+    private List<Order> findCreatedBefore(final LocalDateTime until) {
+        final var query = new Query()
+                .addCriteria(where("createdAt").lt(until))
+                .addCriteria(this.afterSwept())
+                .with(Sort.by(Sort.Direction.ASC, "createdAt", "_id"))
+                .limit(this.batchSize);
+        
+        return this.mongoTemplate.find(query, Order.class);
+    }
+    
+    private Criteria afterSwept() {
+        return new Criteria().orOperator(
+                where("createdAt").gt(this.sweptCreatedAt),
+                where("createdAt").is(this.sweptCreatedAt).and("_id").gt(this.sweptId)
+        );
+    }
+    
+    private void enqueueMissing(final List<Order> orders) {
+        final var ids = orders.stream().map(Order::getId).toList();
+        final var enqueued = this.findEnqueued(ids);
+        
+        for (final var order : orders) {
+            if (!enqueued.contains(order.getId())) {
+                log.warn("Order {} has no outbox event, enqueuing its saga again", order.getId());
+                this.orderService.enqueue(order);
+            }
+        }
+    }
+    
+    private Set<String> findEnqueued(final List<String> ids) {
+        final var query = query(where("_id").in(ids));
+        query.fields().include("_id");
+        
+        return this.mongoTemplate
+                .find(query, OutboxEvent.class)
+                .stream()
+                .map(OutboxEvent::getId)
+                .collect(Collectors.toSet());
+    }
+    
+}
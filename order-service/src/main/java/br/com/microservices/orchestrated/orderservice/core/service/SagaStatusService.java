@@ -0,0 +1,183 @@
+package br.com.microservices.orchestrated.orderservice.core.service;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+import static org.springframework.util.ObjectUtils.isEmpty;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import br.com.microservices.orchestrated.orderservice.config.exception.ValidationException;
+import br.com.microservices.orchestrated.orderservice.core.document.Event;
+import br.com.microservices.orchestrated.orderservice.core.document.Order;
+import br.com.microservices.orchestrated.orderservice.core.document.SagaStatus;
+import br.com.microservices.orchestrated.orderservice.core.dto.EventFilters;
+import br.com.microservices.orchestrated.orderservice.core.enums.ESagaStatus;
+import br.com.microservices.orchestrated.orderservice.core.repository.SagaStatusRepository;
+
+@Service
+public class SagaStatusService {
+    
+    private final SagaStatusRepository sagaStatusRepository;
+    
+    private final MongoTemplate mongoTemplate;
+    
+    private final Duration maxAwait;
+    
+    private final Cache<String, SagaStatus> statusByOrderId;
+    
+    private final Cache<String, String> orderIdByTransactionId;
+    
+    private final Map<String, List<DeferredResult<SagaStatus>>> waiters = new ConcurrentHashMap<>();
+    
+    public SagaStatusService(final SagaStatusRepository sagaStatusRepository,
+                             final MongoTemplate mongoTemplate,
+                             @Value("${order.saga-status.cache.maximum-size}") final long maximumSize,
+                             @Value("${order.saga-status.cache.ttl}") final Duration ttl,
+                             @Value("${order.saga-status.cache.pending-ttl}") final Duration pendingTtl,
+                             @Value("${order.saga-status.max-await}") final Duration maxAwait) {
+        this.sagaStatusRepository = sagaStatusRepository;
+        this.mongoTemplate = mongoTemplate;
+        this.maxAwait = maxAwait;
+        this.statusByOrderId = Caffeine
+                .newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(Expiry.writing((final String orderId, final SagaStatus sagaStatus) ->
+                        sagaStatus.getStatus() == ESagaStatus.PENDING ? pendingTtl : ttl))
+                .build();
+        this.orderIdByTransactionId = Caffeine.newBuilder().maximumSize(maximumSize).expireAfterWrite(ttl).build();
+    }
+    
+    public void start(final Order order, final String sagaType) {
+        final var update = new Update()
+                .setOnInsert("transactionId", order.getTransactionId())
+                .setOnInsert("sagaType", sagaType)
+                .setOnInsert("status", ESagaStatus.PENDING)
+                .setOnInsert("createdAt", order.getCreatedAt())
+                .setOnInsert("updatedAt", order.getCreatedAt());
+        
+        this.mongoTemplate.upsert(query(where("_id").is(order.getId())), update, SagaStatus.class);
+        this.orderIdByTransactionId.put(order.getTransactionId(), order.getId());
+    }
+    
+    public void finish(final Event event) {
+        final var sagaStatus = SagaStatus
+                .builder()
+                .orderId(event.getOrderId())
+                .transactionId(event.getTransactionId())
+                .sagaType(event.getSagaType())
+                .status(ESagaStatus.valueOf(event.getStatus()))
+                .source(event.getSource())
+                .createdAt(isEmpty(event.getPayload()) ? null : event.getPayload().getCreatedAt())
+                .updatedAt(LocalDateTime.now())
+                .build();
+        
+        this.sagaStatusRepository.save(sagaStatus);
+        this.statusByOrderId.put(sagaStatus.getOrderId(), sagaStatus);
+        this.orderIdByTransactionId.put(sagaStatus.getTransactionId(), sagaStatus.getOrderId());
+        
+        final var pending = this.waiters.remove(sagaStatus.getOrderId());
+        
+        if (!isEmpty(pending)) {
+            pending.forEach(waiter -> waiter.setResult(sagaStatus));
+        }
+    }
+    
+    public SagaStatus findByFilters(final EventFilters filters) {
+        if (!isEmpty(filters.getOrderId())) {
+            return this.findByOrderId(filters.getOrderId());
+        }
+        
+        if (!isEmpty(filters.getTransactionId())) {
+            return this.findByTransactionId(filters.getTransactionId());
+        }
+        
+        throw new ValidationException("OrderID or TransactionID must be informed");
+    }
+    
+    private SagaStatus findByOrderId(final String orderId) {
+        final var sagaStatus = this.statusByOrderId.get(orderId, key -> this.sagaStatusRepository.findById(key).orElse(null));
+        
+        if (isEmpty(sagaStatus)) {
+            throw new ValidationException("Saga status not found by OrderID");
+        }
+        
+        return sagaStatus;
+    }
+    
+    private SagaStatus findByTransactionId(final String transactionId) {
+        final var orderId = this.orderIdByTransactionId.getIfPresent(transactionId);
+        
+        if (!isEmpty(orderId)) {
+            return this.findByOrderId(orderId);
+        }
+        
+        final var sagaStatus = this.sagaStatusRepository
+                .findByTransactionId(transactionId)
+                .orElseThrow(() -> new ValidationException("Saga status not found by TransactionID"));
+        
+        this.orderIdByTransactionId.put(transactionId, sagaStatus.getOrderId());
+        this.statusByOrderId.put(sagaStatus.getOrderId(), sagaStatus);
+        
+        return sagaStatus;
+    }
+    
+    public DeferredResult<SagaStatus> awaitCompletion(final String orderId, final Duration timeout) {
+        final var current = this.findByOrderId(orderId);
+        final var result = new DeferredResult<SagaStatus>(this.boundedTimeout(timeout).toMillis());
+        
+        if (current.getStatus() != ESagaStatus.PENDING) {
+            result.setResult(current);
+            return result;
+        }
+        
+        result.onTimeout(() -> result.setResult(this.reload(orderId, current)));
+        result.onCompletion(() -> this.removeWaiter(orderId, result));
+        this.waiters.computeIfAbsent(orderId, key -> new CopyOnWriteArrayList<>()).add(result);
+        
+        final var latest = this.statusByOrderId.getIfPresent(orderId);
+        
+        if (!isEmpty(latest) && latest.getStatus() != ESagaStatus.PENDING) {
+            result.setResult(latest);
+        }
+        
+        return result;
+    }
+    
+    private Duration boundedTimeout(final Duration timeout) {
+        if (isEmpty(timeout) || timeout.isNegative() || timeout.isZero() || timeout.compareTo(this.maxAwait) > 0) {
+            return this.maxAwait;
+        }
+        
+        return timeout;
+    }
+    
+    private SagaStatus reload(final String orderId, final SagaStatus fallback) {
+        final var sagaStatus = this.sagaStatusRepository.findById(orderId).orElse(fallback);
+        this.statusByOrderId.put(orderId, sagaStatus);
+        
+        return sagaStatus;
+    }
+    
+    private void removeWaiter(final String orderId, final DeferredResult<SagaStatus> result) {
+        this.waiters.computeIfPresent(orderId, (key, pending) -> {
+            pending.remove(result);
+            return pending.isEmpty() ? null : pending;
+        });
+    }
+    
+}
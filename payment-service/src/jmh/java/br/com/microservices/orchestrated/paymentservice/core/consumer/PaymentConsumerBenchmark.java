@@ -0,0 +1,189 @@
+package br.com.microservices.orchestrated.paymentservice.core.consumer;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.WakeupException;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+
+import br.com.microservices.orchestrated.paymentservice.PaymentServiceApplication;
+import br.com.microservices.orchestrated.paymentservice.core.dto.Event;
+import br.com.microservices.orchestrated.paymentservice.core.dto.Order;
+import br.com.microservices.orchestrated.paymentservice.core.dto.OrderProduct;
+import br.com.microservices.orchestrated.paymentservice.core.dto.Product;
+import br.com.microservices.orchestrated.paymentservice.core.enums.ESagaStatus;
+import br.com.microservices.orchestrated.paymentservice.core.utils.JsonUtil;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class PaymentConsumerBenchmark {
+    
+    private static final int EVENTS = 2_000;
+    
+    private static final int PARTITIONS = 4;
+    
+    private static final int ORDER_LINES = 5;
+    
+    private static final String PAYMENT_SUCCESS_TOPIC = "payment-success";
+    
+    private static final String PAYMENT_FAIL_TOPIC = "payment-fail";
+    
+    private static final String ORCHESTRATOR_TOPIC = "orchestrator";
+    
+    private static final String ORDER_PREFIX = "consumer-benchmark-order-";
+    
+    private static final Duration POLL_TIMEOUT = Duration.ofMillis(50);
+    
+    @Param({"blocking", "reactive"})
+    private String consumer;
+    
+    private final AtomicLong sequence = new AtomicLong();
+    
+    private EmbeddedKafkaBroker broker;
+    
+    private ConfigurableApplicationContext application;
+    
+    private JsonUtil jsonUtil;
+    
+    private KafkaProducer<String, byte[]> producer;
+    
+    private KafkaConsumer<String, byte[]> replyConsumer;
+    
+    private Thread replyThread;
+    
+    private volatile CountDownLatch replies = new CountDownLatch(0);
+    
+    private volatile boolean running = true;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.broker = new EmbeddedKafkaBroker(1, false, PARTITIONS, PAYMENT_SUCCESS_TOPIC, PAYMENT_FAIL_TOPIC, ORCHESTRATOR_TOPIC);
+        this.broker.afterPropertiesSet();
+        
+        final var builder = new SpringApplicationBuilder(PaymentServiceApplication.class).web(WebApplicationType.NONE);
+        
+        if ("reactive".equals(this.consumer)) {
+            builder.profiles("reactive");
+        }
+        
+        this.application = builder.run("--spring.kafka.bootstrap-servers=" + this.broker.getBrokersAsString(),
+                                       "--spring.kafka.partitions=" + PARTITIONS,
+                                       "--spring.kafka.listener.concurrency=" + PARTITIONS,
+                                       "--spring.kafka.consumer.auto-offset-reset=earliest",
+                                       "--logging.level.br.com.microservices.orchestrated.paymentservice=WARN");
+        this.jsonUtil = this.application.getBean(JsonUtil.class);
+        
+        final Map<String, Object> producerProps = new HashMap<>();
+        producerProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, this.broker.getBrokersAsString());
+        producerProps.put(ProducerConfig.ACKS_CONFIG, "all");
+        this.producer = new KafkaProducer<>(producerProps, new StringSerializer(), new ByteArraySerializer());
+        
+        final Map<String, Object> consumerProps = new HashMap<>();
+        consumerProps.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, this.broker.getBrokersAsString());
+        this.replyConsumer = new KafkaConsumer<>(consumerProps, new StringDeserializer(), new ByteArrayDeserializer());
+        
+        final List<TopicPartition> partitions = IntStream.range(0, PARTITIONS).mapToObj(partition -> new TopicPartition(ORCHESTRATOR_TOPIC, partition)).toList();
+        this.replyConsumer.assign(partitions);
+        this.replyConsumer.seekToEnd(partitions);
+        partitions.forEach(this.replyConsumer::position);
+        
+        this.replyThread = new Thread(this::consumeReplies, "payment-consumer-benchmark-replies");
+        this.replyThread.start();
+    }
+    
+    private void consumeReplies() {
+        try {
+            while (this.running) {
+                this.replyConsumer.poll(POLL_TIMEOUT).forEach(record -> this.replies.countDown());
+            }
+            
+        } catch (final WakeupException e) {
+            return;
+            
+        } finally {
+            this.replyConsumer.close();
+        }
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        this.running = false;
+        this.replyConsumer.wakeup();
+        this.replyThread.join();
+        this.producer.close();
+        this.application.close();
+        this.broker.destroy();
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(EVENTS)
+    public void realizePayments() throws InterruptedException {
+        this.replies = new CountDownLatch(EVENTS);
+        
+        for (int i = 0; i < EVENTS; i++) {
+            final var event = this.nextEvent();
+            this.producer.send(new ProducerRecord<>(PAYMENT_SUCCESS_TOPIC, event.getTransactionId(), this.jsonUtil.toPayload(event)));
+        }
+        
+        this.replies.await();
+    }
+    
+    private Event nextEvent() {
+        final var id = this.sequence.incrementAndGet();
+        final var orderId = ORDER_PREFIX + id;
+        final var transactionId = "consumer-benchmark-transaction-" + id;
+        final var products = IntStream.range(0, ORDER_LINES)
+                                      .mapToObj(line -> new OrderProduct(new Product("PRODUCT_" + line, 10.5 + line), line + 1))
+                                      .toList();
+        
+        return Event
+                .builder()
+                .id(String.valueOf(id))
+                .transactionId(transactionId)
+                .orderId(orderId)
+                .payload(Order.builder().id(orderId).transactionId(transactionId).products(products).createdAt(LocalDateTime.now()).build())
+                .source("ORCHESTRATOR")
+                .status(ESagaStatus.SUCCESS)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+    
+}
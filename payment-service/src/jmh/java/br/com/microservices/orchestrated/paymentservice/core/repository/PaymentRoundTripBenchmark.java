@@ -0,0 +1,133 @@
+package br.com.microservices.orchestrated.paymentservice.core.repository;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import br.com.microservices.orchestrated.paymentservice.core.enums.EPaymentStatus;
+import br.com.microservices.orchestrated.paymentservice.core.model.Payment;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PaymentRoundTripBenchmark {
+    
+    private static final String ORDER_PREFIX = "round-trip-order-";
+    
+    private static final String EXISTS = "SELECT EXISTS (SELECT 1 FROM payment WHERE order_id = :orderId AND transaction_id = :transactionId)";
+    
+    private static final String INSERT_PENDING = """
+            INSERT INTO payment (id, order_id, transaction_id, total_items, total_amount, status, created_at, updated_at)
+            VALUES (nextval('payment_sequence'), :orderId, :transactionId, :totalItems, :totalAmount, 'PENDING', LOCALTIMESTAMP, LOCALTIMESTAMP)
+            """;
+    
+    private static final String FIND = "SELECT id FROM payment WHERE order_id = :orderId AND transaction_id = :transactionId";
+    
+    private static final String UPDATE_STATUS = "UPDATE payment SET status = :status, updated_at = LOCALTIMESTAMP WHERE id = :id";
+    
+    private final AtomicLong sequence = new AtomicLong();
+    
+    private HikariDataSource dataSource;
+    
+    private NamedParameterJdbcTemplate jdbcTemplate;
+    
+    private PaymentUpsertRepository paymentUpsertRepository;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.dataSource = new HikariDataSource();
+        this.dataSource.setJdbcUrl("jdbc:postgresql://%s:%s/%s".formatted(env("DB_HOST", "localhost"), env("DB_PORT", "5433"), env("DB_NAME", "payment-db")));
+        this.dataSource.setUsername(env("DB_USER", "postgres"));
+        this.dataSource.setPassword(env("DB_PASSWORD", "postgres"));
+        this.dataSource.setMaximumPoolSize(1);
+        
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(this.dataSource);
+        this.paymentUpsertRepository = new PaymentUpsertRepository(this.jdbcTemplate);
+        
+        this.jdbcTemplate.getJdbcTemplate().execute("CREATE SEQUENCE IF NOT EXISTS payment_sequence");
+        this.jdbcTemplate.getJdbcTemplate().execute("""
+                CREATE TABLE IF NOT EXISTS payment (
+                    id INTEGER PRIMARY KEY,
+                    order_id VARCHAR(255) NOT NULL,
+                    transaction_id VARCHAR(255) NOT NULL,
+                    total_items INTEGER NOT NULL,
+                    total_amount DOUBLE PRECISION NOT NULL,
+                    status VARCHAR(255) NOT NULL,
+                    created_at TIMESTAMP NOT NULL,
+                    updated_at TIMESTAMP NOT NULL,
+                    CONSTRAINT uk_payment_order_transaction UNIQUE (order_id, transaction_id)
+                )
+                """);
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.jdbcTemplate.getJdbcTemplate().update("DELETE FROM payment WHERE order_id LIKE '" + ORDER_PREFIX + "%'");
+        this.dataSource.close();
+    }
+    
+    @Benchmark
+    public boolean readAfterWrite() {
+        final var parameters = this.toParameters(this.nextPayment());
+        
+        if (Boolean.TRUE.equals(this.jdbcTemplate.queryForObject(EXISTS, parameters, Boolean.class))) {
+            return false;
+        }
+        
+        this.jdbcTemplate.update(INSERT_PENDING, parameters);
+        final var id = this.jdbcTemplate.queryForObject(FIND, parameters, Integer.class);
+        
+        return this.jdbcTemplate.update(UPDATE_STATUS, parameters.addValue("id", id).addValue("status", EPaymentStatus.SUCCESS.name())) > 0;
+    }
+    
+    @Benchmark
+    public boolean conditionalInsert() {
+        return this.paymentUpsertRepository.insertIfAbsent(this.nextPayment());
+    }
+    
+    private Payment nextPayment() {
+        final var id = this.sequence.incrementAndGet();
+        
+        return Payment
+                .builder()
+                .orderId(ORDER_PREFIX + id)
+                .transactionId("round-trip-transaction-" + id)
+                .totalItems(1)
+                .totalAmount(10.0)
+                .status(EPaymentStatus.SUCCESS)
+                .build();
+    }
+    
+    private MapSqlParameterSource toParameters(final Payment payment) {
+        return new MapSqlParameterSource()
+                .addValue("orderId", payment.getOrderId())
+                .addValue("transactionId", payment.getTransactionId())
+                .addValue("totalItems", payment.getTotalItems())
+                .addValue("totalAmount", payment.getTotalAmount());
+    }
+    
+    private static String env(final String name, final String defaultValue) {
+        final var value = System.getenv(name);
+        return value == null ? defaultValue : value;
+    }
+    
+}
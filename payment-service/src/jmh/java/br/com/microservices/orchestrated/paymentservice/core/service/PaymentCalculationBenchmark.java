@@ -0,0 +1,62 @@
+package br.com.microservices.orchestrated.paymentservice.core.service;
+
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import br.com.microservices.orchestrated.paymentservice.core.dto.Event;
+import br.com.microservices.orchestrated.paymentservice.core.dto.Order;
+import br.com.microservices.orchestrated.paymentservice.core.dto.OrderProduct;
+import br.com.microservices.orchestrated.paymentservice.core.dto.Product;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PaymentCalculationBenchmark {
+    
+    @Param({"1", "10", "100"})
+    private int orderLines;
+    
+    private PaymentService paymentService;
+    
+    private Event event;
+    
+    @Setup
+    public void setUp() {
+        this.paymentService = new PaymentService(null, null, null, null, null, null);
+        
+        final var products = IntStream.range(0, this.orderLines)
+                                      .mapToObj(line -> new OrderProduct(new Product("PRODUCT_" + line, 10.5 + line), line + 1))
+                                      .toList();
+        
+        this.event = Event.builder()
+                          .transactionId("benchmark-transaction")
+                          .payload(Order.builder().id("benchmark-order").products(products).build())
+                          .build();
+    }
+    
+    @Benchmark
+    public double calculateAmount() {
+        return this.paymentService.calculateAmount(this.event);
+    }
+    
+    @Benchmark
+    public int calculateTotalItems() {
+        return this.paymentService.calculateTotalItems(this.event);
+    }
+    
+}
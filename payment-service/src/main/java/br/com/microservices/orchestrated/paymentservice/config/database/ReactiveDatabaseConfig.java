@@ -0,0 +1,49 @@
+package br.com.microservices.orchestrated.paymentservice.config.database;
+
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+
+@Profile("reactive")
+@Configuration
+@EnableConfigurationProperties({DataSourceProperties.class, R2dbcProperties.class})
+public class ReactiveDatabaseConfig {
+    
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSource(final DataSourceProperties properties) {
+        return properties
+                .initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+    }
+    
+    @Bean(destroyMethod = "dispose")
+    public ConnectionPool connectionFactory(final R2dbcProperties properties) {
+        final var options = ConnectionFactoryOptions
+                .parse(properties.getUrl())
+                .mutate()
+                .option(ConnectionFactoryOptions.USER, properties.getUsername())
+                .option(ConnectionFactoryOptions.PASSWORD, properties.getPassword())
+                .build();
+        
+        final var configuration = ConnectionPoolConfiguration
+                .builder(ConnectionFactories.get(options))
+                .maxSize(properties.getPool().getMaxSize())
+                .build();
+        
+        return new ConnectionPool(configuration);
+    }
+    
+}
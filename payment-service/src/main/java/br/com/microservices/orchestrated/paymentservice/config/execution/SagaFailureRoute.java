@@ -0,0 +1,11 @@
+package br.com.microservices.orchestrated.paymentservice.config.execution;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+public record SagaFailureRoute(
+        String topic,
+        
+        Function<Exception, CompletableFuture<?>> publisher
+) {
+}
@@ -0,0 +1,150 @@
+package br.com.microservices.orchestrated.paymentservice.config.kafka;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
+
+import br.com.microservices.orchestrated.paymentservice.core.cache.ProcessedTransactionCache;
+import br.com.microservices.orchestrated.paymentservice.core.dto.Event;
+import br.com.microservices.orchestrated.paymentservice.core.enums.EProducerProfile;
+import br.com.microservices.orchestrated.paymentservice.core.utils.JsonUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.kafka.receiver.ReceiverOptions;
+import reactor.kafka.receiver.ReceiverPartition;
+import reactor.kafka.sender.KafkaSender;
+import reactor.kafka.sender.SenderOptions;
+
+@Slf4j
+@Profile("reactive")
+@Configuration
+@RequiredArgsConstructor
+public class ReactiveKafkaConfig {
+    
+    private final JsonUtil jsonUtil;
+    
+    private final ProcessedTransactionCache processedTransactionCache;
+    
+    @Value("${spring.kafka.bootstrap-servers}")
+    private String bootstrapServers;
+    
+    @Value("${spring.kafka.producer.profile}")
+    private EProducerProfile producerProfile;
+    
+    @Value("${spring.kafka.producer.compression-type}")
+    private String compressionType;
+    
+    @Value("${spring.kafka.producer.delivery-timeout}")
+    private Duration deliveryTimeout;
+    
+    @Value("${spring.kafka.producer.send-retry-backoff}")
+    private Duration sendRetryBackoff;
+    
+    @Value("${spring.kafka.consumer.group-id}")
+    private String groupId;
+    
+    @Value("${spring.kafka.consumer.auto-offset-reset}")
+    private String autoOffsetReset;
+    
+    @Value("${spring.kafka.consumer.isolation-level}")
+    private String isolationLevel;
+    
+    @Value("${spring.kafka.consumer.max-poll-records}")
+    private Integer maxPollRecords;
+    
+    @Value("${spring.kafka.partitions}")
+    private Integer partitionCount;
+    
+    @Value("${spring.kafka.topic.payment-success}")
+    private String paymentSuccessTopic;
+    
+    @Value("${spring.kafka.topic.payment-fail}")
+    private String paymentFailTopic;
+    
+    @Value("${saga.reactive.max-in-flight-per-partition}")
+    private Integer maxInFlightPerPartition;
+    
+    @Value("${saga.reactive.commit-interval}")
+    private Duration commitInterval;
+    
+    @Bean
+    public ReceiverOptions<String, Event> receiverOptions() {
+        return ReceiverOptions
+                .<String, Event>create(this.consumerProps())
+                .withKeyDeserializer(new StringDeserializer())
+                .withValueDeserializer(new ErrorHandlingDeserializer<>(new EventDeserializer(this.jsonUtil)))
+                .subscription(List.of(this.paymentSuccessTopic, this.paymentFailTopic))
+                .commitInterval(this.commitInterval)
+                .maxDeferredCommits(this.maxInFlight())
+                .addAssignListener(this::warmProcessedTransactionCache);
+    }
+    
+    private Map<String, Object> consumerProps() {
+        final Map<String, Object> props = new HashMap<>();
+        
+        props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, this.bootstrapServers);
+        props.put(ConsumerConfig.GROUP_ID_CONFIG, this.groupId);
+        props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, this.autoOffsetReset);
+        props.put(ConsumerConfig.ISOLATION_LEVEL_CONFIG, this.isolationLevel);
+        props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, this.maxPollRecords);
+        
+        return props;
+    }
+    
+    @Bean(destroyMethod = "close")
+    public KafkaSender<String, Event> kafkaSender() {
+        final var options = SenderOptions
+                .<String, Event>create(this.producerProps())
+                .withKeySerializer(new StringSerializer())
+                .withValueSerializer(new EventSerializer(this.jsonUtil))
+                .maxInFlight(this.maxInFlight());
+        
+        return KafkaSender.create(options);
+    }
+    
+    private Map<String, Object> producerProps() {
+        final Map<String, Object> props = new HashMap<>();
+        
+        props.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, this.bootstrapServers);
+        props.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        props.put(ProducerConfig.ACKS_CONFIG, "all");
+        props.put(ProducerConfig.LINGER_MS_CONFIG, this.producerProfile.getLingerMs());
+        props.put(ProducerConfig.BATCH_SIZE_CONFIG, this.producerProfile.getBatchSize());
+        props.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, this.compressionType);
+        props.put(ProducerConfig.RETRIES_CONFIG, Integer.MAX_VALUE);
+        props.put(ProducerConfig.RETRY_BACKOFF_MS_CONFIG, (int) this.sendRetryBackoff.toMillis());
+        props.put(ProducerConfig.DELIVERY_TIMEOUT_MS_CONFIG, (int) this.deliveryTimeout.toMillis());
+        
+        return props;
+    }
+    
+    private int maxInFlight() {
+        return this.maxInFlightPerPartition * this.partitionCount * 2;
+    }
+    
+    private void warmProcessedTransactionCache(final Collection<ReceiverPartition> partitions) {
+        if (partitions.isEmpty()) {
+            return;
+        }
+        
+        try {
+            this.processedTransactionCache.warm();
+            
+        } catch (final Exception e) {
+            log.error("Error trying to warm the idempotency cache: ", e);
+        }
+    }
+    
+}
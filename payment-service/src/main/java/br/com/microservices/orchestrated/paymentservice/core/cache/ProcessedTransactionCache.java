@@ -0,0 +1,80 @@
+package br.com.microservices.orchestrated.paymentservice.core.cache;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import br.com.microservices.orchestrated.paymentservice.core.dto.ProcessedTransaction;
+import br.com.microservices.orchestrated.paymentservice.core.model.Payment;
+import br.com.microservices.orchestrated.paymentservice.core.repository.PaymentRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Component
+public class ProcessedTransactionCache {
+    
+    private static final String KEY_SEPARATOR = "|";
+    
+    private final PaymentRepository paymentRepository;
+    
+    private final Cache<String, Payment> processed;
+    
+    private final Duration ttl;
+    
+    private final int warmSize;
+    
+    public ProcessedTransactionCache(final PaymentRepository paymentRepository,
+                                     final MeterRegistry meterRegistry,
+                                     @Value("${saga.idempotency.maximum-size}") final long maximumSize,
+                                     @Value("${saga.idempotency.ttl}") final Duration ttl,
+                                     @Value("${saga.idempotency.warm-size}") final int warmSize) {
+        this.paymentRepository = paymentRepository;
+        this.processed = Caffeine.newBuilder().maximumSize(maximumSize).expireAfterWrite(ttl).recordStats().build();
+        this.ttl = ttl;
+        this.warmSize = warmSize;
+        
+        CaffeineCacheMetrics.monitor(meterRegistry, this.processed, "saga.idempotency");
+    }
+    
+    public Optional<Payment> findCached(final String orderId, final String transactionId) {
+        return Optional.ofNullable(this.processed.getIfPresent(this.key(orderId, transactionId)));
+    }
+    
+    public void markProcessed(final Payment payment) {
+        this.processed.put(this.key(payment.getOrderId(), payment.getTransactionId()), payment);
+    }
+    
+    public void warm() {
+        final var page = PageRequest.of(0, this.warmSize, Sort.by(Sort.Direction.DESC, "createdAt"));
+        final var transactions = this.paymentRepository.findByCreatedAtAfter(LocalDateTime.now().minus(this.ttl), page);
+        
+        transactions.forEach(transaction -> this.markProcessed(this.toPayment(transaction)));
+        log.info("Idempotency cache warmed with {} processed transactions", transactions.size());
+    }
+    
+    private Payment toPayment(final ProcessedTransaction transaction) {
+        return Payment
+                .builder()
+                .orderId(transaction.getOrderId())
+                .transactionId(transaction.getTransactionId())
+                .totalItems(transaction.getTotalItems())
+                .totalAmount(transaction.getTotalAmount())
+                .status(transaction.getStatus())
+                .build();
+    }
+    
+    private String key(final String orderId, final String transactionId) {
+        return orderId + KEY_SEPARATOR + transactionId;
+    }
+    
+}
@@ -1,40 +1,165 @@
 package br.com.microservices.orchestrated.paymentservice.core.consumer;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.kafka.annotation.DltHandler;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.annotation.RetryableTopic;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.kafka.listener.adapter.ConsumerRecordMetadata;
+import org.springframework.kafka.retrytopic.DltStrategy;
+import org.springframework.kafka.retrytopic.TopicSuffixingStrategy;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.retry.annotation.Backoff;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
 
+import br.com.microservices.orchestrated.paymentservice.config.execution.SagaFailureRoute;
+import br.com.microservices.orchestrated.paymentservice.config.execution.SagaListenerExecutor;
+import br.com.microservices.orchestrated.paymentservice.core.dto.Event;
+import br.com.microservices.orchestrated.paymentservice.core.producer.RetryTopicProducer;
 import br.com.microservices.orchestrated.paymentservice.core.service.PaymentService;
-import br.com.microservices.orchestrated.paymentservice.core.utils.JsonUtil;
-import lombok.AllArgsConstructor;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
-@AllArgsConstructor
+@RequiredArgsConstructor
 @Component
+@Profile("!reactive")
 public class PaymentConsumer {
     
-    private JsonUtil jsonUtil;
+    private static final String PAYMENT_SUCCESS_LISTENER_ID = "payment-success-listener";
     
     private final PaymentService paymentService;
     
+    private final SagaListenerExecutor sagaListenerExecutor;
+    
+    private final RetryTopicProducer retryTopicProducer;
+    
+    private final KafkaListenerEndpointRegistry kafkaListenerEndpointRegistry;
+    
+    @Value("${spring.kafka.topic.payment-success}")
+    private String paymentSuccessTopic;
+    
+    @Value("${spring.kafka.topic.payment-fail}")
+    private String paymentFailTopic;
+    
+    @Value("${spring.kafka.listener.batch-enabled}")
+    private boolean batchEnabled;
+    
+    @RetryableTopic(
+            attempts = "${saga.retry-topic.attempts}",
+            backoff = @Backoff(
+                    delayExpression = "${saga.retry-topic.initial-delay}",
+                    multiplierExpression = "${saga.retry-topic.multiplier}",
+                    maxDelayExpression = "${saga.retry-topic.max-delay}"
+            ),
+            include = {TransientDataAccessException.class, DataAccessResourceFailureException.class, CannotCreateTransactionException.class},
+            traversingCauses = "true",
+            numPartitions = "${spring.kafka.partitions}",
+            replicationFactor = "1",
+            kafkaTemplate = "retryTopicKafkaTemplate",
+            dltStrategy = DltStrategy.FAIL_ON_ERROR,
+            topicSuffixingStrategy = TopicSuffixingStrategy.SUFFIX_WITH_INDEX_VALUE
+    )
     @KafkaListener(
+            id = PAYMENT_SUCCESS_LISTENER_ID,
             groupId = "${spring.kafka.consumer.group-id}",
-            topics = "${spring.kafka.topic.payment-success}"
+            topics = "${spring.kafka.topic.payment-success}",
+            autoStartup = "#{!${spring.kafka.listener.batch-enabled}}"
     )
-    public void consumeSuccessEvent(final String payload) {
-        log.info("Receiving success event {} from payment-success topic", payload);
-        final var event = this.jsonUtil.toEvent(payload);
-        this.paymentService.realizePayment(event);
+    public void consumeSuccessEvent(final Event event, final ConsumerRecordMetadata metadata, final Acknowledgment acknowledgment) {
+        log.info("Receiving success event from payment-success topic");
+        log.debug("Event payload {}", event);
+        this.sagaListenerExecutor.execute(event.getTransactionId(), metadata, acknowledgment, () -> this.paymentService.realizePayment(event),
+                                          this.failureRoute(this.paymentSuccessTopic, event));
     }
     
+    @KafkaListener(
+            groupId = "${spring.kafka.consumer.group-id}",
+            topics = "${spring.kafka.topic.payment-success}",
+            containerFactory = "batchKafkaListenerContainerFactory",
+            autoStartup = "${spring.kafka.listener.batch-enabled}"
+    )
+    public void consumeSuccessEvents(final List<Event> events) {
+        log.info("Receiving {} success events from payment-success topic", events.size());
+        final List<CompletableFuture<?>> retries = new ArrayList<>();
+        
+        this.paymentService.realizePayments(events, (event, e) -> retries.add(this.retryTopicProducer.send(this.paymentSuccessTopic, event, e)));
+        CompletableFuture.allOf(retries.toArray(CompletableFuture[]::new)).join();
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void startBatchRetryListeners() {
+        if (!this.batchEnabled) {
+            return;
+        }
+        
+        this.kafkaListenerEndpointRegistry
+                .getListenerContainers()
+                .stream()
+                .filter(container -> container.getListenerId().startsWith(PAYMENT_SUCCESS_LISTENER_ID + "-"))
+                .forEach(MessageListenerContainer::start);
+    }
+    
+    @RetryableTopic(
+            attempts = "${saga.retry-topic.attempts}",
+            backoff = @Backoff(
+                    delayExpression = "${saga.retry-topic.initial-delay}",
+                    multiplierExpression = "${saga.retry-topic.multiplier}",
+                    maxDelayExpression = "${saga.retry-topic.max-delay}"
+            ),
+            include = {TransientDataAccessException.class, DataAccessResourceFailureException.class, CannotCreateTransactionException.class},
+            traversingCauses = "true",
+            numPartitions = "${spring.kafka.partitions}",
+            replicationFactor = "1",
+            kafkaTemplate = "retryTopicKafkaTemplate",
+            dltStrategy = DltStrategy.FAIL_ON_ERROR,
+            topicSuffixingStrategy = TopicSuffixingStrategy.SUFFIX_WITH_INDEX_VALUE
+    )
     @KafkaListener(
             groupId = "${spring.kafka.consumer.group-id}",
             topics = "${spring.kafka.topic.payment-fail}"
     )
-    public void consumeFailEvent(final String payload) {
-        log.info("Receiving rollback event {} from payment-fail topic", payload);
-        final var event = this.jsonUtil.toEvent(payload);
-        this.paymentService.realizeRefund(event);
+    public void consumeFailEvent(final Event event, final ConsumerRecordMetadata metadata, final Acknowledgment acknowledgment) {
+        log.info("Receiving rollback event from payment-fail topic");
+        log.debug("Event payload {}", event);
+        this.sagaListenerExecutor.execute(event.getTransactionId(), metadata, acknowledgment, () -> this.paymentService.realizeRefund(event),
+                                          this.failureRoute(this.paymentFailTopic, event));
+    }
+    
+    @DltHandler
+    public void consumeDeadLetter(final Event event,
+                                  @Header(KafkaHeaders.RECEIVED_TOPIC) final String topic,
+                                  @Header(name = KafkaHeaders.DLT_EXCEPTION_MESSAGE, required = false) final byte[] exceptionMessage,
+                                  final Acknowledgment acknowledgment) {
+        final var message = exceptionMessage == null ? null : new String(exceptionMessage, UTF_8);
+        log.error("Receiving event parked on dead letter topic {}: {}", topic, message);
+        
+        if (topic.startsWith(this.paymentFailTopic)) {
+            this.paymentService.abandonRefund(event, message);
+        } else {
+            this.paymentService.abandonPayment(event, message);
+        }
+        
+        acknowledgment.acknowledge();
+    }
+    
+    private SagaFailureRoute failureRoute(final String topic, final Event event) {
+        return new SagaFailureRoute(topic, e -> this.retryTopicProducer.send(topic, event, e));
     }
     
 }
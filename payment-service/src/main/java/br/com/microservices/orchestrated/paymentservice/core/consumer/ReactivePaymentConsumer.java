@@ -0,0 +1,111 @@
+package br.com.microservices.orchestrated.paymentservice.core.consumer;
+
+import static org.springframework.util.ObjectUtils.isEmpty;
+
+import java.time.Duration;
+
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import br.com.microservices.orchestrated.paymentservice.core.dto.Event;
+import br.com.microservices.orchestrated.paymentservice.core.service.ReactivePaymentService;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.kafka.receiver.KafkaReceiver;
+import reactor.kafka.receiver.ReceiverOffset;
+import reactor.kafka.receiver.ReceiverOptions;
+import reactor.kafka.receiver.ReceiverRecord;
+import reactor.kafka.sender.KafkaSender;
+import reactor.kafka.sender.SenderRecord;
+import reactor.util.retry.Retry;
+
+@Slf4j
+@Component
+@Profile("reactive")
+public class ReactivePaymentConsumer implements SmartLifecycle {
+    
+    private static final int MAX_PARTITIONS = 1024;
+    
+    private static final Duration RESTART_BACKOFF = Duration.ofSeconds(1);
+    
+    private static final Duration MAX_RESTART_BACKOFF = Duration.ofSeconds(30);
+    
+    private final ReactivePaymentService reactivePaymentService;
+    
+    private final ReceiverOptions<String, Event> receiverOptions;
+    
+    private final KafkaSender<String, Event> kafkaSender;
+    
+    private final String orchestratorTopic;
+    
+    private final String paymentFailTopic;
+    
+    private final int maxInFlightPerPartition;
+    
+    private volatile Disposable subscription;
+    
+    public ReactivePaymentConsumer(final ReactivePaymentService reactivePaymentService,
+                                   final ReceiverOptions<String, Event> receiverOptions,
+                                   final KafkaSender<String, Event> kafkaSender,
+                                   @Value("${spring.kafka.topic.orchestrator}") final String orchestratorTopic,
+                                   @Value("${spring.kafka.topic.payment-fail}") final String paymentFailTopic,
+                                   @Value("${saga.reactive.max-in-flight-per-partition}") final int maxInFlightPerPartition) {
+        this.reactivePaymentService = reactivePaymentService;
+        this.receiverOptions = receiverOptions;
+        this.kafkaSender = kafkaSender;
+        this.orchestratorTopic = orchestratorTopic;
+        this.paymentFailTopic = paymentFailTopic;
+        this.maxInFlightPerPartition = maxInFlightPerPartition;
+    }
+    
+    @Override
+    public void start() {
+        this.subscription = Flux
+                .defer(() -> KafkaReceiver.create(this.receiverOptions).receive())
+                .groupBy(record -> record.receiverOffset().topicPartition())
+                .flatMap(partition -> partition.flatMapSequential(this::process, this.maxInFlightPerPartition), MAX_PARTITIONS)
+                .as(this.kafkaSender::send)
+                .doOnNext(result -> result.correlationMetadata().acknowledge())
+                .doOnError(e -> log.error("Reactive payment pipeline failed, restarting: ", e))
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, RESTART_BACKOFF).maxBackoff(MAX_RESTART_BACKOFF).transientErrors(true))
+                .subscribe();
+        
+        log.info("Reactive payment pipeline started with {} in-flight records per partition", this.maxInFlightPerPartition);
+    }
+    
+    @Override
+    public void stop() {
+        if (this.subscription != null) {
+            this.subscription.dispose();
+            this.subscription = null;
+        }
+    }
+    
+    @Override
+    public boolean isRunning() {
+        return this.subscription != null && !this.subscription.isDisposed();
+    }
+    
+    private Mono<SenderRecord<String, Event, ReceiverOffset>> process(final ReceiverRecord<String, Event> record) {
+        final var event = record.value();
+        
+        if (isEmpty(event)) {
+            log.error("Discarding payment event that could not be read.");
+            record.receiverOffset().acknowledge();
+            return Mono.empty();
+        }
+        
+        final var handled = this.paymentFailTopic.equals(record.topic())
+                            ? this.reactivePaymentService.realizeRefund(event)
+                            : this.reactivePaymentService.realizePayment(event);
+        
+        return handled.map(result -> SenderRecord.create(new ProducerRecord<>(this.orchestratorTopic, result.getTransactionId(), result),
+                                                         record.receiverOffset()));
+    }
+    
+}
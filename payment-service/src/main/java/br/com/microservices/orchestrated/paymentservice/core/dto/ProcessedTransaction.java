@@ -0,0 +1,17 @@
+package br.com.microservices.orchestrated.paymentservice.core.dto;
+
+import br.com.microservices.orchestrated.paymentservice.core.enums.EPaymentStatus;
+
+public interface ProcessedTransaction {
+    
+    String getOrderId();
+    
+    String getTransactionId();
+    
+    int getTotalItems();
+    
+    double getTotalAmount();
+    
+    EPaymentStatus getStatus();
+    
+}
@@ -0,0 +1,8 @@
+package br.com.microservices.orchestrated.paymentservice.core.enums;
+
+public enum EEventCodec {
+    
+    JSON,
+    SMILE
+    
+}
@@ -0,0 +1,9 @@
+package br.com.microservices.orchestrated.paymentservice.core.enums;
+
+public enum EExecutionMode {
+    
+    CONTAINER,
+    PLATFORM,
+    VIRTUAL
+    
+}
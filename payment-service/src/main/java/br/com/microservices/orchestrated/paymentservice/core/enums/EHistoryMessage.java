@@ -0,0 +1,23 @@
+package br.com.microservices.orchestrated.paymentservice.core.enums;
+
+import static org.springframework.util.ObjectUtils.isEmpty;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public enum EHistoryMessage {
+    
+    PAYMENT_SUCCESS("Payment realized successfully!"),
+    PAYMENT_FAIL("Fail to realize payment"),
+    PAYMENT_ROLLBACK("Rollback executed for payment!"),
+    PAYMENT_ROLLBACK_FAIL("Rollback not executed for payment");
+    
+    private final String message;
+    
+    public String describe(final String detail) {
+        return isEmpty(detail) ? this.message : this.message.concat(": ").concat(detail);
+    }
+    
+}
@@ -1,5 +1,7 @@
 package br.com.microservices.orchestrated.paymentservice.core.model;
 
+import static org.springframework.util.ObjectUtils.isEmpty;
+
 import java.time.LocalDateTime;
 
 import br.com.microservices.orchestrated.paymentservice.core.enums.EPaymentStatus;
@@ -12,7 +14,9 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -23,17 +27,21 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @Builder
 @Entity
-@Table(name = "payment")
+@Table(
+        name = "payment",
+        uniqueConstraints = @UniqueConstraint(name = "uk_payment_order_transaction", columnNames = {"order_id", "transaction_id"})
+)
 public class Payment {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "payment_sequence")
+    @SequenceGenerator(name = "payment_sequence", sequenceName = "payment_sequence", allocationSize = 1)
     private Integer id;
     
-    @Column(nullable = false)
+    @Column(name = "order_id", nullable = false)
     private String orderId;
     
-    @Column(nullable = false)
+    @Column(name = "transaction_id", nullable = false)
     private String transactionId;
     
     @Column(nullable = false)
@@ -57,7 +65,10 @@ public class Payment {
         final var now = LocalDateTime.now();
         this.createdAt = now;
         this.updatedAt = now;
-        this.status = EPaymentStatus.PENDING;
+        
+        if (isEmpty(this.status)) {
+            this.status = EPaymentStatus.PENDING;
+        }
     }
     
     @PreUpdate
@@ -1,15 +1,19 @@
 package br.com.microservices.orchestrated.paymentservice.core.repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import br.com.microservices.orchestrated.paymentservice.core.dto.ProcessedTransaction;
 import br.com.microservices.orchestrated.paymentservice.core.model.Payment;
 
 public interface PaymentRepository extends JpaRepository<Payment, Integer> {
     
-    Boolean existsByOrderIdAndTransactionId(String orderId, String transactionId);
-    
     Optional<Payment> findByOrderIdAndTransactionId(String orderId, String transactionId);
     
+    List<ProcessedTransaction> findByCreatedAtAfter(LocalDateTime createdAt, Pageable pageable);
+    
 }
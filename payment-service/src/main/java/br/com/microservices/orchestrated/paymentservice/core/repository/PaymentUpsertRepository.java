@@ -0,0 +1,43 @@
+package br.com.microservices.orchestrated.paymentservice.core.repository;
+
+import java.util.List;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+import br.com.microservices.orchestrated.paymentservice.core.model.Payment;
+import lombok.AllArgsConstructor;
+
+@Repository
+@AllArgsConstructor
+public class PaymentUpsertRepository {
+    
+    private static final String INSERT_IF_ABSENT = """
+            INSERT INTO payment (id, order_id, transaction_id, total_items, total_amount, status, created_at, updated_at)
+            VALUES (nextval('payment_sequence'), :orderId, :transactionId, :totalItems, :totalAmount, :status, LOCALTIMESTAMP, LOCALTIMESTAMP)
+            ON CONFLICT (order_id, transaction_id) DO NOTHING
+            """;
+    
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    
+    public boolean insertIfAbsent(final Payment payment) {
+        return this.jdbcTemplate.update(INSERT_IF_ABSENT, this.toParameters(payment)) > 0;
+    }
+    
+    public int[] insertAllIfAbsent(final List<Payment> payments) {
+        final var parameters = payments.stream().map(this::toParameters).toArray(SqlParameterSource[]::new);
+        return this.jdbcTemplate.batchUpdate(INSERT_IF_ABSENT, parameters);
+    }
+    
+    private SqlParameterSource toParameters(final Payment payment) {
+        return new MapSqlParameterSource()
+                .addValue("orderId", payment.getOrderId())
+                .addValue("transactionId", payment.getTransactionId())
+                .addValue("totalItems", payment.getTotalItems())
+                .addValue("totalAmount", payment.getTotalAmount())
+                .addValue("status", payment.getStatus().name());
+    }
+    
+}
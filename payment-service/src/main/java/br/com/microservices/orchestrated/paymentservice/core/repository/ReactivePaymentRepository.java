@@ -0,0 +1,82 @@
+package br.com.microservices.orchestrated.paymentservice.core.repository;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+
+import br.com.microservices.orchestrated.paymentservice.core.enums.EPaymentStatus;
+import br.com.microservices.orchestrated.paymentservice.core.model.Payment;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Readable;
+import reactor.core.publisher.Mono;
+
+@Repository
+@Profile("reactive")
+public class ReactivePaymentRepository {
+    
+    private static final String INSERT_IF_ABSENT = """
+            INSERT INTO payment (id, order_id, transaction_id, total_items, total_amount, status, created_at, updated_at)
+            VALUES (nextval('payment_sequence'), :orderId, :transactionId, :totalItems, :totalAmount, :status, LOCALTIMESTAMP, LOCALTIMESTAMP)
+            ON CONFLICT (order_id, transaction_id) DO NOTHING
+            """;
+    
+    private static final String FIND_BY_ORDER_ID_AND_TRANSACTION_ID = """
+            SELECT id, order_id, transaction_id, total_items, total_amount, status
+            FROM payment
+            WHERE order_id = :orderId AND transaction_id = :transactionId
+            """;
+    
+    private static final String UPDATE_STATUS = """
+            UPDATE payment SET status = :status, updated_at = LOCALTIMESTAMP WHERE id = :id
+            """;
+    
+    private final DatabaseClient databaseClient;
+    
+    public ReactivePaymentRepository(final ConnectionFactory connectionFactory) {
+        this.databaseClient = DatabaseClient.create(connectionFactory);
+    }
+    
+    public Mono<Boolean> insertIfAbsent(final Payment payment) {
+        return this.databaseClient
+                .sql(INSERT_IF_ABSENT)
+                .bind("orderId", payment.getOrderId())
+                .bind("transactionId", payment.getTransactionId())
+                .bind("totalItems", payment.getTotalItems())
+                .bind("totalAmount", payment.getTotalAmount())
+                .bind("status", payment.getStatus().name())
+                .fetch()
+                .rowsUpdated()
+                .map(rows -> rows > 0);
+    }
+    
+    public Mono<Payment> findByOrderIdAndTransactionId(final String orderId, final String transactionId) {
+        return this.databaseClient
+                .sql(FIND_BY_ORDER_ID_AND_TRANSACTION_ID)
+                .bind("orderId", orderId)
+                .bind("transactionId", transactionId)
+                .map(this::toPayment)
+                .one();
+    }
+    
+    public Mono<Long> updateStatus(final Payment payment) {
+        return this.databaseClient
+                .sql(UPDATE_STATUS)
+                .bind("status", payment.getStatus().name())
+                .bind("id", payment.getId())
+                .fetch()
+                .rowsUpdated();
+    }
+    
+    private Payment toPayment(final Readable row) {
+        return Payment
+                .builder()
+                .id(row.get("id", Integer.class))
+                .orderId(row.get("order_id", String.class))
+                .transactionId(row.get("transaction_id", String.class))
+                .totalItems(row.get("total_items", Integer.class))
+                .totalAmount(row.get("total_amount", Double.class))
+                .status(EPaymentStatus.valueOf(row.get("status", String.class)))
+                .build();
+    }
+    
+}
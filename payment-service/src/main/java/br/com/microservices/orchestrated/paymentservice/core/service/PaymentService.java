@@ -1,19 +1,31 @@
 package br.com.microservices.orchestrated.paymentservice.core.service;
 
-import java.time.LocalDateTime;
+import static org.springframework.util.ObjectUtils.isEmpty;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.BiConsumer;
+
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.TransientDataAccessException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import br.com.microservices.orchestrated.paymentservice.config.exception.ValidationException;
+import br.com.microservices.orchestrated.paymentservice.core.cache.ProcessedTransactionCache;
 import br.com.microservices.orchestrated.paymentservice.core.dto.Event;
-import br.com.microservices.orchestrated.paymentservice.core.dto.History;
 import br.com.microservices.orchestrated.paymentservice.core.dto.OrderProduct;
+import br.com.microservices.orchestrated.paymentservice.core.enums.EHistoryMessage;
 import br.com.microservices.orchestrated.paymentservice.core.enums.EPaymentStatus;
 import br.com.microservices.orchestrated.paymentservice.core.enums.ESagaStatus;
 import br.com.microservices.orchestrated.paymentservice.core.model.Payment;
 import br.com.microservices.orchestrated.paymentservice.core.producer.KafkaProducer;
 import br.com.microservices.orchestrated.paymentservice.core.repository.PaymentRepository;
-import br.com.microservices.orchestrated.paymentservice.core.utils.JsonUtil;
+import br.com.microservices.orchestrated.paymentservice.core.repository.PaymentUpsertRepository;
+import br.com.microservices.orchestrated.paymentservice.core.utils.HistoryUtil;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -28,65 +40,198 @@ public class PaymentService {
     
     private static final Double MIN_AMOUNT_VALUE = 0.1;
     
-    private final JsonUtil jsonUtil;
+    static final String REFUNDED_TRANSACTION_MESSAGE = "Payment was already refunded for this transaction.";
+    
+    static final String PAYMENT_NOT_FOUND_MESSAGE = "Payment not found by OrderID and TransactionID.";
     
     private final KafkaProducer producer;
     
+    private final HistoryUtil historyUtil;
+    
     private final PaymentRepository paymentRepository;
     
+    private final PaymentUpsertRepository paymentUpsertRepository;
+    
+    private final TransactionTemplate transactionTemplate;
+    
+    private final ProcessedTransactionCache processedTransactionCache;
+    
     public void realizePayment(final Event event) {
         try {
-            this.checkCurrentValidation(event);
-            this.createPendingPayment(event);
+            this.completePayment(event, this.insertOrFindPayment(this.createPayment(event)));
             
-            final var payment = this.findByOrderIdAndTransactionId(event);
-            this.validateAmount(payment.getTotalAmount());
-            this.changePaymentToSuccess(payment);
-            this.handleSuccess(event);
+        } catch (final TransientDataAccessException | DataAccessResourceFailureException | CannotCreateTransactionException e) {
+            log.warn("Transient error trying to make payment, scheduling retry: {}", e.getMessage());
+            throw e;
             
         } catch (final Exception e) {
             log.error("Error trying to make payment: ", e);
             this.handleFailCurrentNotExecuted(event, e.getMessage());
         }
         
-        this.producer.sendEvent(this.jsonUtil.toJson(event));
+        this.producer.sendEvent(event);
     }
     
-    private void addHistory(final Event event, final String message) {
-        final var history = History
-                .builder()
-                .source(event.getSource())
-                .status(event.getStatus())
-                .message(message)
-                .createdAt(LocalDateTime.now())
-                .build();
+    public void abandonPayment(final Event event, final String message) {
+        this.handleFailCurrentNotExecuted(event, message);
+        this.producer.sendEvent(event);
+    }
+    
+    public void realizePayments(final List<Event> events, final BiConsumer<Event, Exception> failureHandler) {
+        final var processableEvents = events.stream().filter(this::isProcessable).toList();
+        
+        if (processableEvents.isEmpty()) {
+            return;
+        }
+        
+        final var batchTransactionIds = new HashSet<String>();
+        final var paymentEvents = new ArrayList<Event>();
+        final var payments = new ArrayList<Payment>();
+        
+        for (final var event : processableEvents) {
+            try {
+                final var payment = this.createPayment(event);
+                
+                if (!batchTransactionIds.add(event.getTransactionId())) {
+                    log.warn("Skipping payment event redelivered within the same batch for transaction {}", event.getTransactionId());
+                    continue;
+                }
+                
+                final var cachedPayment = this.findCachedPayment(payment);
+                
+                if (cachedPayment.isPresent()) {
+                    this.completePayment(event, this.checkRecordedPayment(cachedPayment.get()));
+                    this.producer.sendEvent(event);
+                    continue;
+                }
+                
+                payments.add(payment);
+                paymentEvents.add(event);
+                
+            } catch (final Exception e) {
+                log.error("Error trying to make payment: ", e);
+                this.handleFailCurrentNotExecuted(event, e.getMessage());
+                this.producer.sendEvent(event);
+            }
+        }
+        
+        final int[] insertedRows;
+        
+        try {
+            insertedRows = this.transactionTemplate.execute(status -> this.paymentUpsertRepository.insertAllIfAbsent(payments));
+            
+        } catch (final Exception e) {
+            log.error("Error trying to save {} payments in batch, retrying one by one: ", payments.size(), e);
+            paymentEvents.forEach(event -> this.realizePaymentOrRoute(event, failureHandler));
+            this.producer.flush();
+            return;
+        }
         
-        event.addHistory(history);
+        for (int i = 0; i < paymentEvents.size(); i++) {
+            final var event = paymentEvents.get(i);
+            final var payment = payments.get(i);
+            
+            try {
+                this.completePayment(event, this.recordPayment(payment, insertedRows[i] != 0));
+                
+            } catch (final Exception e) {
+                this.handleFailCurrentNotExecuted(event, e.getMessage());
+            }
+            
+            this.producer.sendEvent(event);
+        }
+        
+        this.producer.flush();
+    }
+    
+    private void realizePaymentOrRoute(final Event event, final BiConsumer<Event, Exception> failureHandler) {
+        try {
+            this.realizePayment(event);
+            
+        } catch (final Exception e) {
+            log.error("Error trying to make payment for transaction {} after the batch failed, routing it for retry: ", event.getTransactionId(), e);
+            failureHandler.accept(event, e);
+        }
     }
     
-    private void checkCurrentValidation(final Event event) {
-        if (this.paymentRepository.existsByOrderIdAndTransactionId(event.getPayload().getId(), event.getTransactionId())) {
-            throw new ValidationException("There's another transactionId for this validation.");
+    private boolean isProcessable(final Event event) {
+        if (isEmpty(event)) {
+            log.error("Discarding payment event that could not be read.");
+            return false;
         }
+        
+        return true;
     }
     
-    private void createPendingPayment(final Event event) {
+    Payment createPayment(final Event event) {
         final var totalAmount = this.calculateAmount(event);
-        final var totalItems = this.calculateTotalItems(event);
         
-        final var payment = Payment
+        return Payment
                 .builder()
                 .orderId(event.getPayload().getId())
                 .transactionId(event.getTransactionId())
                 .totalAmount(totalAmount)
-                .totalItems(totalItems)
+                .totalItems(this.calculateTotalItems(event))
+                .status(this.isValidAmount(totalAmount) ? EPaymentStatus.SUCCESS : EPaymentStatus.PENDING)
                 .build();
-        
-        this.save(payment);
+    }
+    
+    void addHistory(final Event event, final EHistoryMessage message) {
+        this.addHistory(event, message, null);
+    }
+    
+    void addHistory(final Event event, final EHistoryMessage message, final String detail) {
+        event.addHistory(this.historyUtil.create(event, message, detail));
+    }
+    
+    void completePayment(final Event event, final Payment payment) {
         this.setEventAmountItems(event, payment);
+        this.validateAmount(payment.getTotalAmount());
+        this.handleSuccess(event);
+    }
+    
+    private Payment insertOrFindPayment(final Payment payment) {
+        final var cachedPayment = this.findCachedPayment(payment);
+        
+        if (cachedPayment.isPresent()) {
+            return this.checkRecordedPayment(cachedPayment.get());
+        }
+        
+        return this.recordPayment(payment, this.paymentUpsertRepository.insertIfAbsent(payment));
+    }
+    
+    private Payment recordPayment(final Payment payment, final boolean inserted) {
+        if (!inserted) {
+            return this.findRecordedPayment(payment);
+        }
+        
+        this.processedTransactionCache.markProcessed(payment);
+        return payment;
+    }
+    
+    private Payment findRecordedPayment(final Payment payment) {
+        final var recordedPayment = this.paymentRepository
+                .findByOrderIdAndTransactionId(payment.getOrderId(), payment.getTransactionId())
+                .orElseThrow(() -> new ValidationException(PAYMENT_NOT_FOUND_MESSAGE));
+        
+        this.processedTransactionCache.markProcessed(recordedPayment);
+        return this.checkRecordedPayment(recordedPayment);
+    }
+    
+    Payment checkRecordedPayment(final Payment payment) {
+        if (payment.getStatus() == EPaymentStatus.REFUND) {
+            throw new ValidationException(REFUNDED_TRANSACTION_MESSAGE);
+        }
+        
+        log.info("Replaying recorded payment outcome for transaction {}", payment.getTransactionId());
+        return payment;
     }
     
-    private double calculateAmount(final Event event) {
+    Optional<Payment> findCachedPayment(final Payment payment) {
+        return this.processedTransactionCache.findCached(payment.getOrderId(), payment.getTransactionId());
+    }
+    
+    double calculateAmount(final Event event) {
         return event.getPayload()
                     .getProducts()
                     .stream()
@@ -94,7 +239,7 @@ public class PaymentService {
                     .reduce(REDUCE_SUM_VALUE, Double::sum);
     }
     
-    private int calculateTotalItems(final Event event) {
+    int calculateTotalItems(final Event event) {
         return event.getPayload()
                     .getProducts()
                     .stream()
@@ -102,42 +247,60 @@ public class PaymentService {
                     .reduce(REDUCE_SUM_VALUE.intValue(), Integer::sum);
     }
     
-    private void setEventAmountItems(final Event event, final Payment payment) {
+    void setEventAmountItems(final Event event, final Payment payment) {
         event.getPayload().setTotalAmount(payment.getTotalAmount());
         event.getPayload().setTotalItems(payment.getTotalItems());
     }
     
-    private void validateAmount(final double amount) {
-        if (amount < MIN_AMOUNT_VALUE) {
+    private boolean isValidAmount(final double amount) {
+        return amount >= MIN_AMOUNT_VALUE;
+    }
+    
+    void validateAmount(final double amount) {
+        if (!this.isValidAmount(amount)) {
             throw new ValidationException("The minimum amount available is ".concat(MIN_AMOUNT_VALUE.toString()));
         }
     }
     
-    private void handleSuccess(final Event event) {
+    void handleSuccess(final Event event) {
         event.setStatus(ESagaStatus.SUCCESS);
         event.setSource(CURRENT_SOURCE);
-        this.addHistory(event, "Payment realized successfully!");
+        this.addHistory(event, EHistoryMessage.PAYMENT_SUCCESS);
     }
     
-    private void handleFailCurrentNotExecuted(final Event event, final String message) {
+    void handleFailCurrentNotExecuted(final Event event, final String message) {
         event.setStatus(ESagaStatus.ROLLBACK_PENDING);
         event.setSource(CURRENT_SOURCE);
-        this.addHistory(event, "Fail to realize payment: " + message);
+        this.addHistory(event, EHistoryMessage.PAYMENT_FAIL, message);
     }
     
     public void realizeRefund(final Event event) {
-        event.setStatus(ESagaStatus.FAIL);
-        event.setSource(CURRENT_SOURCE);
+        this.handleRefund(event);
         
         try {
             this.changePaymentsStatusToRefund(event);
-            this.addHistory(event, "Rollback executed for payment!");
+            this.addHistory(event, EHistoryMessage.PAYMENT_ROLLBACK);
+            
+        } catch (final TransientDataAccessException | DataAccessResourceFailureException | CannotCreateTransactionException e) {
+            log.warn("Transient error trying to refund payment, scheduling retry: {}", e.getMessage());
+            throw e;
             
         } catch (final Exception e) {
-            this.addHistory(event, "Rollback not executed for payment: ".concat(e.getMessage()));
+            this.addHistory(event, EHistoryMessage.PAYMENT_ROLLBACK_FAIL, e.getMessage());
         }
         
-        this.producer.sendEvent(this.jsonUtil.toJson(event));
+        this.producer.sendEvent(event);
+    }
+    
+    public void abandonRefund(final Event event, final String message) {
+        this.handleRefund(event);
+        this.addHistory(event, EHistoryMessage.PAYMENT_ROLLBACK_FAIL, message);
+        this.producer.sendEvent(event);
+    }
+    
+    void handleRefund(final Event event) {
+        event.setStatus(ESagaStatus.FAIL);
+        event.setSource(CURRENT_SOURCE);
     }
     
     private void changePaymentsStatusToRefund(final Event event) {
@@ -145,17 +308,13 @@ public class PaymentService {
         payment.setStatus(EPaymentStatus.REFUND);
         this.setEventAmountItems(event, payment);
         this.save(payment);
-    }
-    
-    private void changePaymentToSuccess(final Payment payment) {
-        payment.setStatus(EPaymentStatus.SUCCESS);
-        this.save(payment);
+        this.processedTransactionCache.markProcessed(payment);
     }
     
     private Payment findByOrderIdAndTransactionId(final Event event) {
         return this.paymentRepository
                 .findByOrderIdAndTransactionId(event.getPayload().getId(), event.getTransactionId())
-                .orElseThrow(() -> new ValidationException("Payment not found by OrderID and TransactionID."));
+                .orElseThrow(() -> new ValidationException(PAYMENT_NOT_FOUND_MESSAGE));
     }
     
     private void save(final Payment payment) {
@@ -0,0 +1,106 @@
+package br.com.microservices.orchestrated.paymentservice.core.service;
+
+import static br.com.microservices.orchestrated.paymentservice.core.service.PaymentService.PAYMENT_NOT_FOUND_MESSAGE;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Service;
+
+import br.com.microservices.orchestrated.paymentservice.config.exception.ValidationException;
+import br.com.microservices.orchestrated.paymentservice.core.cache.ProcessedTransactionCache;
+import br.com.microservices.orchestrated.paymentservice.core.dto.Event;
+import br.com.microservices.orchestrated.paymentservice.core.enums.EHistoryMessage;
+import br.com.microservices.orchestrated.paymentservice.core.enums.EPaymentStatus;
+import br.com.microservices.orchestrated.paymentservice.core.model.Payment;
+import br.com.microservices.orchestrated.paymentservice.core.repository.ReactivePaymentRepository;
+import io.r2dbc.spi.R2dbcTransientException;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+@Slf4j
+@Service
+@Profile("reactive")
+@AllArgsConstructor
+public class ReactivePaymentService {
+    
+    private final PaymentService paymentService;
+    
+    private final ReactivePaymentRepository reactivePaymentRepository;
+    
+    private final ProcessedTransactionCache processedTransactionCache;
+    
+    public Mono<Event> realizePayment(final Event event) {
+        return Mono
+                .fromCallable(() -> this.paymentService.createPayment(event))
+                .flatMap(this::insertOrFindPayment)
+                .doOnNext(payment -> this.paymentService.completePayment(event, payment))
+                .thenReturn(event)
+                .doOnError(ReactivePaymentService::isTransient,
+                           e -> log.warn("Transient error trying to make payment, scheduling retry: {}", e.getMessage()))
+                .onErrorResume(e -> !isTransient(e), e -> {
+                    log.error("Error trying to make payment: ", e);
+                    this.paymentService.handleFailCurrentNotExecuted(event, e.getMessage());
+                    return Mono.just(event);
+                });
+    }
+    
+    private Mono<Payment> insertOrFindPayment(final Payment payment) {
+        final var cachedPayment = this.paymentService.findCachedPayment(payment);
+        
+        if (cachedPayment.isPresent()) {
+            return Mono.fromCallable(() -> this.paymentService.checkRecordedPayment(cachedPayment.get()));
+        }
+        
+        return this.reactivePaymentRepository
+                .insertIfAbsent(payment)
+                .flatMap(inserted -> inserted
+                        ? Mono.just(payment).doOnNext(this.processedTransactionCache::markProcessed)
+                        : this.findRecordedPayment(payment));
+    }
+    
+    private Mono<Payment> findRecordedPayment(final Payment payment) {
+        return this.reactivePaymentRepository
+                .findByOrderIdAndTransactionId(payment.getOrderId(), payment.getTransactionId())
+                .switchIfEmpty(Mono.error(() -> new ValidationException(PAYMENT_NOT_FOUND_MESSAGE)))
+                .doOnNext(this.processedTransactionCache::markProcessed)
+                .map(this.paymentService::checkRecordedPayment);
+    }
+    
+    public Mono<Event> realizeRefund(final Event event) {
+        return Mono
+                .defer(() -> {
+                    this.paymentService.handleRefund(event);
+                    return this.changePaymentsStatusToRefund(event);
+                })
+                .doOnSuccess(ignored -> this.paymentService.addHistory(event, EHistoryMessage.PAYMENT_ROLLBACK))
+                .thenReturn(event)
+                .doOnError(ReactivePaymentService::isTransient,
+                           e -> log.warn("Transient error trying to refund payment, scheduling retry: {}", e.getMessage()))
+                .onErrorResume(e -> !isTransient(e), e -> {
+                    this.paymentService.addHistory(event, EHistoryMessage.PAYMENT_ROLLBACK_FAIL, e.getMessage());
+                    return Mono.just(event);
+                });
+    }
+    
+    private static boolean isTransient(final Throwable exception) {
+        return exception instanceof TransientDataAccessException
+                || exception instanceof DataAccessResourceFailureException
+                || exception instanceof R2dbcTransientException;
+    }
+    
+    private Mono<Long> changePaymentsStatusToRefund(final Event event) {
+        return this.reactivePaymentRepository
+                .findByOrderIdAndTransactionId(event.getPayload().getId(), event.getTransactionId())
+                .switchIfEmpty(Mono.error(() -> new ValidationException(PAYMENT_NOT_FOUND_MESSAGE)))
+                .flatMap(payment -> {
+                    payment.setStatus(EPaymentStatus.REFUND);
+                    this.paymentService.setEventAmountItems(event, payment);
+                    return this.reactivePaymentRepository
+                            .updateStatus(payment)
+                            .doOnNext(rows -> this.processedTransactionCache.markProcessed(payment));
+                });
+    }
+    
+}
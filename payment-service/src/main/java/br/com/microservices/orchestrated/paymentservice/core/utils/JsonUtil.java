@@ -1,32 +1,66 @@
 package br.com.microservices.orchestrated.paymentservice.core.utils;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 
 import br.com.microservices.orchestrated.paymentservice.core.dto.Event;
-import lombok.AllArgsConstructor;
+import br.com.microservices.orchestrated.paymentservice.core.enums.EEventCodec;
 
 @Component
-@AllArgsConstructor
 public class JsonUtil {
     
-    private final ObjectMapper objectMapper;
+    private static final byte[] SMILE_HEADER = {':', ')', '\n'};
     
-    public String toJson(final Object object) {
+    private final ObjectReader jsonReader;
+    
+    private final ObjectReader smileReader;
+    
+    private final ObjectWriter payloadWriter;
+    
+    public JsonUtil(final ObjectMapper objectMapper, @Value("${spring.kafka.codec}") final EEventCodec codec) {
+        final var smileMapper = objectMapper.copyWith(new SmileFactory());
+        
+        this.jsonReader = objectMapper.readerFor(Event.class);
+        this.smileReader = smileMapper.readerFor(Event.class);
+        this.payloadWriter = switch (codec) {
+            case JSON -> objectMapper.writerFor(Event.class);
+            case SMILE -> smileMapper.writerFor(Event.class);
+        };
+    }
+    
+    public byte[] toPayload(final Event event) {
         try {
-            return this.objectMapper.writeValueAsString(object);
+            return this.payloadWriter.writeValueAsBytes(event);
         } catch (final Exception e) {
-            return "";
+            return new byte[0];
         }
     }
     
-    public Event toEvent(final String json) {
+    public Event toEvent(final byte[] payload) {
         try {
-            return this.objectMapper.readValue(json, Event.class);
+            return this.readerFor(payload).readValue(payload);
         } catch (final Exception e) {
             return null;
         }
     }
     
+    private ObjectReader readerFor(final byte[] payload) {
+        if (payload.length < SMILE_HEADER.length) {
+            return this.jsonReader;
+        }
+        
+        for (int i = 0; i < SMILE_HEADER.length; i++) {
+            if (payload[i] != SMILE_HEADER[i]) {
+                return this.jsonReader;
+            }
+        }
+        
+        return this.smileReader;
+    }
+    
 }
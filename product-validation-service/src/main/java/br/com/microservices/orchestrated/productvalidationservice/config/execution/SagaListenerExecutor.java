@@ -0,0 +1,224 @@
+package br.com.microservices.orchestrated.productvalidationservice.config.execution;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.apache.kafka.common.TopicPartition;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.adapter.ConsumerRecordMetadata;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import br.com.microservices.orchestrated.productvalidationservice.core.enums.EExecutionMode;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Component
+public class SagaListenerExecutor {
+    
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 30;
+    
+    private final EExecutionMode mode;
+    
+    private final ExecutorService executor;
+    
+    private final Semaphore inFlight;
+    
+    private final SerialLane[] lanes;
+    
+    private final KafkaListenerEndpointRegistry registry;
+    
+    public SagaListenerExecutor(@Value("${saga.execution.mode}") final EExecutionMode mode,
+                                @Value("${saga.execution.lanes}") final int lanes,
+                                @Value("${saga.execution.max-in-flight}") final int maxInFlight,
+                                final KafkaListenerEndpointRegistry registry) {
+        this.mode = mode;
+        this.registry = registry;
+        this.executor = switch (mode) {
+            case CONTAINER -> null;
+            case PLATFORM -> Executors.newFixedThreadPool(maxInFlight, new CustomizableThreadFactory("saga-lane-"));
+            case VIRTUAL -> newVirtualThreadExecutor();
+        };
+        this.inFlight = new Semaphore(maxInFlight);
+        this.lanes = new SerialLane[lanes];
+        
+        for (int i = 0; i < lanes; i++) {
+            this.lanes[i] = new SerialLane();
+        }
+        
+        log.info("Saga listener execution mode {} with {} lanes and {} in-flight records", mode, lanes, maxInFlight);
+    }
+    
+    public boolean isAsync() {
+        return this.mode != EExecutionMode.CONTAINER;
+    }
+    
+    public void execute(final String key, final Acknowledgment acknowledgment, final Runnable task) {
+        this.execute(key, null, acknowledgment, task, null);
+    }
+    
+    public void execute(final String key,
+                        final ConsumerRecordMetadata record,
+                        final Acknowledgment acknowledgment,
+                        final Runnable task,
+                        final SagaFailureRoute failureRoute) {
+        if (!this.isAsync() || this.isRedelivery(record, failureRoute)) {
+            task.run();
+            acknowledgment.acknowledge();
+            return;
+        }
+        
+        this.inFlight.acquireUninterruptibly();
+        
+        final var context = MDC.getCopyOfContextMap();
+        this.laneFor(key).submit(() -> this.run(context, record, acknowledgment, task, failureRoute));
+    }
+    
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        if (this.executor == null) {
+            return;
+        }
+        
+        this.executor.shutdown();
+        
+        if (!this.executor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+            log.warn("Saga listener executor did not finish {} in-flight records before shutdown", this.executor.shutdownNow().size());
+        }
+    }
+    
+    private void run(final Map<String, String> context,
+                     final ConsumerRecordMetadata record,
+                     final Acknowledgment acknowledgment,
+                     final Runnable task,
+                     final SagaFailureRoute failureRoute) {
+        if (context != null) {
+            MDC.setContextMap(context);
+        }
+        
+        try {
+            task.run();
+            acknowledgment.acknowledge();
+            
+        } catch (final Exception e) {
+            this.handleFailure(record, acknowledgment, failureRoute, e);
+            
+        } finally {
+            this.inFlight.release();
+            MDC.clear();
+        }
+    }
+    
+    private boolean isRedelivery(final ConsumerRecordMetadata record, final SagaFailureRoute failureRoute) {
+        return record != null && failureRoute != null && !failureRoute.topic().equals(record.topic());
+    }
+    
+    private void handleFailure(final ConsumerRecordMetadata record,
+                               final Acknowledgment acknowledgment,
+                               final SagaFailureRoute failureRoute,
+                               final Exception exception) {
+        if (failureRoute == null) {
+            log.error("Error processing saga record on {} execution: ", this.mode, exception);
+            this.redeliver(record);
+            return;
+        }
+        
+        try {
+            failureRoute.publisher().apply(exception).whenComplete((result, e) -> this.onRouted(record, acknowledgment, exception, e));
+            
+        } catch (final Exception e) {
+            this.onRouted(record, acknowledgment, exception, e);
+        }
+    }
+    
+    private void onRouted(final ConsumerRecordMetadata record,
+                          final Acknowledgment acknowledgment,
+                          final Exception exception,
+                          final Throwable routingError) {
+        if (routingError == null) {
+            acknowledgment.acknowledge();
+            return;
+        }
+        
+        routingError.addSuppressed(exception);
+        log.error("Error routing failed saga record on {} execution: ", this.mode, routingError);
+        this.redeliver(record);
+    }
+    
+    private void redeliver(final ConsumerRecordMetadata record) {
+        if (record == null) {
+            log.warn("Failed saga record has no partition to redeliver from, leaving it unacknowledged");
+            return;
+        }
+        
+        final var partition = new TopicPartition(record.topic(), record.partition());
+        
+        this.registry
+                .getListenerContainers()
+                .stream()
+                .filter(container -> container.isRunning() && container.getAssignedPartitions() != null)
+                .filter(container -> container.getAssignedPartitions().contains(partition))
+                .findFirst()
+                .ifPresentOrElse(container -> {
+                    log.warn("Restarting listener {} to redeliver {} from offset {}", container.getListenerId(), partition, record.offset());
+                    container.stop(container::start);
+                }, () -> log.warn("Partition {} is no longer assigned, leaving the record at offset {} to its new owner", partition, record.offset()));
+    }
+    
+    private SerialLane laneFor(final String key) {
+        return this.lanes[Math.floorMod(key == null ? 0 : key.hashCode(), this.lanes.length)];
+    }
+    
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            
+        } catch (final ReflectiveOperationException e) {
+            throw new IllegalStateException("Virtual thread execution requires a Java 21 runtime.", e);
+        }
+    }
+    
+    private final class SerialLane {
+        
+        private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+        
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        
+        private void submit(final Runnable task) {
+            this.tasks.add(task);
+            this.schedule();
+        }
+        
+        private void schedule() {
+            if (this.scheduled.compareAndSet(false, true)) {
+                SagaListenerExecutor.this.executor.execute(this::drain);
+            }
+        }
+        
+        private void drain() {
+            Runnable task;
+            
+            while ((task = this.tasks.poll()) != null) {
+                task.run();
+            }
+            
+            this.scheduled.set(false);
+            
+            if (!this.tasks.isEmpty()) {
+                this.schedule();
+            }
+        }
+        
+    }
+    
+}
@@ -0,0 +1,32 @@
+package br.com.microservices.orchestrated.productvalidationservice.config.kafka;
+
+import java.util.Collection;
+
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.kafka.listener.ConsumerAwareRebalanceListener;
+
+import br.com.microservices.orchestrated.productvalidationservice.core.cache.ProcessedTransactionCache;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@AllArgsConstructor
+public class CacheWarmingRebalanceListener implements ConsumerAwareRebalanceListener {
+    
+    private final ProcessedTransactionCache processedTransactionCache;
+    
+    @Override
+    public void onPartitionsAssigned(final Collection<TopicPartition> partitions) {
+        if (partitions.isEmpty()) {
+            return;
+        }
+        
+        try {
+            this.processedTransactionCache.warm();
+            
+        } catch (final Exception e) {
+            log.error("Error trying to warm the idempotency cache: ", e);
+        }
+    }
+    
+}
@@ -0,0 +1,46 @@
+package br.com.microservices.orchestrated.productvalidationservice.config.kafka;
+
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.slf4j.MDC;
+import org.springframework.kafka.listener.RecordInterceptor;
+
+import br.com.microservices.orchestrated.productvalidationservice.core.dto.Event;
+
+public class SagaLogInterceptor implements RecordInterceptor<String, Event> {
+    
+    private static final String[] KEYS = {"topic", "payloadSize", "transactionId", "orderId", "eventId", "sagaType", "source", "status"};
+    
+    @Override
+    public ConsumerRecord<String, Event> intercept(final ConsumerRecord<String, Event> record, final Consumer<String, Event> consumer) {
+        MDC.put("topic", record.topic());
+        MDC.put("payloadSize", String.valueOf(record.serializedValueSize()));
+        
+        final var event = record.value();
+        
+        if (event != null) {
+            this.put("transactionId", event.getTransactionId());
+            this.put("orderId", event.getOrderId());
+            this.put("eventId", event.getId());
+            this.put("sagaType", event.getSagaType());
+            this.put("source", event.getSource());
+            this.put("status", event.getStatus());
+        }
+        
+        return record;
+    }
+    
+    @Override
+    public void afterRecord(final ConsumerRecord<String, Event> record, final Consumer<String, Event> consumer) {
+        for (final var key : KEYS) {
+            MDC.remove(key);
+        }
+    }
+    
+    private void put(final String key, final Object value) {
+        if (value != null) {
+            MDC.put(key, String.valueOf(value));
+        }
+    }
+    
+}
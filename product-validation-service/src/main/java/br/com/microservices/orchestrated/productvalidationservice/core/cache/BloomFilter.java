@@ -0,0 +1,85 @@
+package br.com.microservices.orchestrated.productvalidationservice.core.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+final class BloomFilter {
+    
+    private final AtomicLongArray bits;
+    
+    private final int bitCount;
+    
+    private final int hashCount;
+    
+    private final int capacity;
+    
+    private final AtomicInteger size = new AtomicInteger();
+    
+    BloomFilter(final int capacity, final double falsePositiveRate) {
+        final var optimalBits = (long) Math.ceil(-capacity * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.bitCount = (int) Math.max(Long.SIZE, Math.min(optimalBits, Integer.MAX_VALUE - Long.SIZE));
+        this.hashCount = Math.max(1, (int) Math.round((double) this.bitCount / capacity * Math.log(2)));
+        this.bits = new AtomicLongArray((this.bitCount + Long.SIZE - 1) / Long.SIZE);
+        this.capacity = capacity;
+    }
+    
+    void put(final String value) {
+        final var hash = hash(value);
+        final var firstHash = (int) hash;
+        final var secondHash = (int) (hash >>> 32);
+        
+        for (int i = 1; i <= this.hashCount; i++) {
+            final var index = Math.floorMod(firstHash + i * secondHash, this.bitCount);
+            final var mask = 1L << index;
+            final var slot = index >>> 6;
+            
+            while (true) {
+                final var current = this.bits.get(slot);
+                
+                if ((current & mask) != 0 || this.bits.compareAndSet(slot, current, current | mask)) {
+                    break;
+                }
+            }
+        }
+        
+        this.size.incrementAndGet();
+    }
+    
+    boolean mightContain(final String value) {
+        final var hash = hash(value);
+        final var firstHash = (int) hash;
+        final var secondHash = (int) (hash >>> 32);
+        
+        for (int i = 1; i <= this.hashCount; i++) {
+            final var index = Math.floorMod(firstHash + i * secondHash, this.bitCount);
+            
+            if ((this.bits.get(index >>> 6) & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        
+        return true;
+    }
+    
+    boolean isSaturated() {
+        return this.size.get() > this.capacity;
+    }
+    
+    private static long hash(final String value) {
+        var hash = 0xcbf29ce484222325L;
+        
+        for (final var b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+    
+}
@@ -0,0 +1,95 @@
+package br.com.microservices.orchestrated.productvalidationservice.core.cache;
+
+import static org.springframework.util.ObjectUtils.isEmpty;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import br.com.microservices.orchestrated.productvalidationservice.core.model.Validation;
+import br.com.microservices.orchestrated.productvalidationservice.core.repository.ValidationRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Component
+public class ProcessedTransactionCache {
+    
+    private static final String KEY_SEPARATOR = "|";
+    
+    private final ValidationRepository validationRepository;
+    
+    private final Cache<String, Boolean> processed;
+    
+    private final Counter databaseDuplicates;
+    
+    private final Counter databaseMisses;
+    
+    private final Duration ttl;
+    
+    private final int warmSize;
+    
+    public ProcessedTransactionCache(final ValidationRepository validationRepository,
+                                     final MeterRegistry meterRegistry,
+                                     @Value("${saga.idempotency.maximum-size}") final long maximumSize,
+                                     @Value("${saga.idempotency.ttl}") final Duration ttl,
+                                     @Value("${saga.idempotency.warm-size}") final int warmSize) {
+        this.validationRepository = validationRepository;
+        this.processed = Caffeine.newBuilder().maximumSize(maximumSize).expireAfterWrite(ttl).recordStats().build();
+        this.databaseDuplicates = meterRegistry.counter("saga.idempotency.database.lookups", "result", "duplicate");
+        this.databaseMisses = meterRegistry.counter("saga.idempotency.database.lookups", "result", "new");
+        this.ttl = ttl;
+        this.warmSize = warmSize;
+        
+        CaffeineCacheMetrics.monitor(meterRegistry, this.processed, "saga.idempotency");
+    }
+    
+    public Optional<Boolean> findSuccess(final String orderId, final String transactionId) {
+        final var key = this.key(orderId, transactionId);
+        final var success = this.processed.getIfPresent(key);
+        
+        if (!isEmpty(success)) {
+            return Optional.of(success);
+        }
+        
+        final var recorded = this.validationRepository
+                .findByOrderIdAndTransactionId(orderId, transactionId)
+                .map(Validation::isSuccess);
+        
+        if (recorded.isPresent()) {
+            this.databaseDuplicates.increment();
+            this.processed.put(key, recorded.get());
+            return recorded;
+        }
+        
+        this.databaseMisses.increment();
+        return recorded;
+    }
+    
+    public void markProcessed(final String orderId, final String transactionId, final boolean success) {
+        this.processed.put(this.key(orderId, transactionId), success);
+    }
+    
+    public void warm() {
+        final var page = PageRequest.of(0, this.warmSize, Sort.by(Sort.Direction.DESC, "createdAt"));
+        final var transactions = this.validationRepository.findByCreatedAtAfter(LocalDateTime.now().minus(this.ttl), page);
+        
+        transactions.forEach(transaction -> this.markProcessed(transaction.getOrderId(), transaction.getTransactionId(), transaction.isSuccess()));
+        log.info("Idempotency cache warmed with {} processed transactions", transactions.size());
+    }
+    
+    private String key(final String orderId, final String transactionId) {
+        return orderId + KEY_SEPARATOR + transactionId;
+    }
+    
+}
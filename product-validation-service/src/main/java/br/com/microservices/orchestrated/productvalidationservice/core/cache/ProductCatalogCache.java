@@ -0,0 +1,128 @@
+package br.com.microservices.orchestrated.productvalidationservice.core.cache;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import br.com.microservices.orchestrated.productvalidationservice.core.model.Product;
+import br.com.microservices.orchestrated.productvalidationservice.core.repository.ProductRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Component
+public class ProductCatalogCache {
+    
+    private static final double BLOOM_FALSE_POSITIVE_RATE = 0.01;
+    
+    private static final int MIN_BLOOM_CAPACITY = 1024;
+    
+    private final ProductRepository productRepository;
+    
+    private final Cache<String, Boolean> existingCodes;
+    
+    private final Cache<String, Boolean> missingCodes;
+    
+    private final Counter bloomRejections;
+    
+    private volatile BloomFilter bloomFilter;
+    
+    private volatile Integer lastProductId;
+    
+    public ProductCatalogCache(final ProductRepository productRepository,
+                               final MeterRegistry meterRegistry,
+                               @Value("${product.cache.maximum-size}") final long maximumSize,
+                               @Value("${product.cache.negative-ttl}") final Duration negativeTtl) {
+        this.productRepository = productRepository;
+        this.existingCodes = Caffeine.newBuilder().maximumSize(maximumSize).recordStats().build();
+        this.missingCodes = Caffeine.newBuilder().maximumSize(maximumSize).expireAfterWrite(negativeTtl).recordStats().build();
+        this.bloomRejections = meterRegistry.counter("product.catalog.bloom.rejections");
+        
+        CaffeineCacheMetrics.monitor(meterRegistry, this.existingCodes, "product.catalog.existing");
+        CaffeineCacheMetrics.monitor(meterRegistry, this.missingCodes, "product.catalog.missing");
+    }
+    
+    @PostConstruct
+    public synchronized void reload() {
+        final var products = this.productRepository.findAll(Sort.by("id"));
+        final var reloadedFilter = new BloomFilter(Math.max(products.size() * 2, MIN_BLOOM_CAPACITY), BLOOM_FALSE_POSITIVE_RATE);
+        
+        this.lastProductId = 0;
+        this.addProducts(reloadedFilter, products);
+        this.bloomFilter = reloadedFilter;
+        
+        log.info("Product catalog cache loaded with {} products", products.size());
+    }
+    
+    @Scheduled(fixedDelayString = "${product.cache.refresh-interval}", initialDelayString = "${product.cache.refresh-interval}")
+    public synchronized void refresh() {
+        if (this.bloomFilter.isSaturated()) {
+            this.reload();
+            return;
+        }
+        
+        final var products = this.productRepository.findByIdGreaterThanOrderByIdAsc(this.lastProductId);
+        
+        if (!products.isEmpty()) {
+            this.addProducts(this.bloomFilter, products);
+            log.info("Product catalog cache refreshed with {} new products", products.size());
+        }
+    }
+    
+    public Set<String> findMissingCodes(final Collection<String> codes) {
+        final var missing = new HashSet<String>();
+        final var unknown = new HashSet<String>();
+        
+        codes.forEach(code -> {
+            if (!this.bloomFilter.mightContain(code)) {
+                this.bloomRejections.increment();
+                missing.add(code);
+                
+            } else if (this.existingCodes.getIfPresent(code) == null) {
+                if (this.missingCodes.getIfPresent(code) != null) {
+                    missing.add(code);
+                } else {
+                    unknown.add(code);
+                }
+            }
+        });
+        
+        if (!unknown.isEmpty()) {
+            final var foundCodes = new HashSet<>(this.productRepository.findExistingCodes(unknown));
+            
+            unknown.forEach(code -> {
+                if (foundCodes.contains(code)) {
+                    this.existingCodes.put(code, Boolean.TRUE);
+                } else {
+                    this.missingCodes.put(code, Boolean.TRUE);
+                    missing.add(code);
+                }
+            });
+        }
+        
+        return missing;
+    }
+    
+    private void addProducts(final BloomFilter filter, final List<Product> products) {
+        products.forEach(product -> {
+            filter.put(product.getCode());
+            this.existingCodes.put(product.getCode(), Boolean.TRUE);
+            this.missingCodes.invalidate(product.getCode());
+            this.lastProductId = Math.max(this.lastProductId, product.getId());
+        });
+    }
+    
+}
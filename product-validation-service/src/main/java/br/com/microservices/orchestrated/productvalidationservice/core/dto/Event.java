@@ -24,6 +24,8 @@ public class Event {
     
     private String orderId;
     
+    private String sagaType;
+    
     private Order payload;
     
     private String source;
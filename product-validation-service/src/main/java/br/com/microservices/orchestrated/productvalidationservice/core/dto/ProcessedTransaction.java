@@ -0,0 +1,11 @@
+package br.com.microservices.orchestrated.productvalidationservice.core.dto;
+
+public interface ProcessedTransaction {
+    
+    String getOrderId();
+    
+    String getTransactionId();
+    
+    boolean isSuccess();
+    
+}
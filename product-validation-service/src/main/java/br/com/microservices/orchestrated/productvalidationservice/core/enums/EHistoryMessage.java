@@ -0,0 +1,23 @@
+package br.com.microservices.orchestrated.productvalidationservice.core.enums;
+
+import static org.springframework.util.ObjectUtils.isEmpty;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public enum EHistoryMessage {
+    
+    PRODUCT_VALIDATION_SUCCESS("Products are validated successfully!"),
+    PRODUCT_VALIDATION_FAIL("Fail to validate products"),
+    PRODUCT_VALIDATION_ROLLBACK("Rollback executed on product validation!"),
+    PRODUCT_VALIDATION_ROLLBACK_FAIL("Rollback not executed on product validation");
+    
+    private final String message;
+    
+    public String describe(final String detail) {
+        return isEmpty(detail) ? this.message : this.message.concat(": ").concat(detail);
+    }
+    
+}
@@ -1,9 +1,23 @@
 package br.com.microservices.orchestrated.productvalidationservice.core.producer;
 
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.internals.RecordHeaders;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Component;
 
+import br.com.microservices.orchestrated.productvalidationservice.core.dto.Event;
+import br.com.microservices.orchestrated.productvalidationservice.core.utils.JsonUtil;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -12,19 +26,95 @@ import lombok.extern.slf4j.Slf4j;
 @Component
 public class KafkaProducer {
     
-    private final KafkaTemplate<String, String> kafkaTemplate;
+    private static final String SEND_METRIC = "saga.producer.send";
+    
+    private static final String DEAD_LETTER_METRIC = "saga.producer.dead-letter";
+    
+    private static final String DROPPED_METRIC = "saga.producer.dropped";
+    
+    private static final String DEAD_LETTER_SUFFIX = "-dlt";
+    
+    private final KafkaTemplate<String, byte[]> kafkaTemplate;
+    
+    private final JsonUtil jsonUtil;
+    
+    private final MeterRegistry meterRegistry;
+    
+    private final ExecutorService deadLetterExecutor = Executors.newSingleThreadExecutor(new CustomizableThreadFactory("saga-dead-letter-"));
     
     @Value("${spring.kafka.topic.orchestrator}")
     private String orchestratorTopic;
     
-    public void sendEvent(final String payload) {
+    public void sendEvent(final Event event) {
+        log.info("Sending event with status {} to topic {}", event.getStatus(), this.orchestratorTopic);
+        
+        final var key = event.getTransactionId();
+        final var payload = this.jsonUtil.toPayload(event);
+        final var startedAt = System.nanoTime();
+        
         try {
-            log.info("Sending event to topic {} with data {}", this.orchestratorTopic, payload);
-            this.kafkaTemplate.send(this.orchestratorTopic, payload);
+            this.kafkaTemplate
+                    .send(this.orchestratorTopic, key, payload)
+                    .whenComplete((result, e) -> this.onSendCompleted(key, payload, startedAt, e));
+            
         } catch (final Exception e) {
-            log.error("Error trying to send data to topic {} with data {}", this.orchestratorTopic, payload, e);
+            this.onSendCompleted(key, payload, startedAt, e);
         }
     }
     
+    @PreDestroy
+    public void shutdown() {
+        this.deadLetterExecutor.shutdown();
+    }
+    
+    private void onSendCompleted(final String key, final byte[] payload, final long startedAt, final Throwable e) {
+        this.meterRegistry
+                .timer(SEND_METRIC, "topic", this.orchestratorTopic, "result", e == null ? "success" : "failure")
+                .record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        
+        if (e == null) {
+            return;
+        }
+        
+        final var deadLetterTopic = this.orchestratorTopic + DEAD_LETTER_SUFFIX;
+        log.error("Error trying to send event with key {} to topic {}, parking it on {}", key, this.orchestratorTopic, deadLetterTopic, e);
+        
+        try {
+            this.deadLetterExecutor.execute(() -> this.sendDeadLetter(deadLetterTopic, key, payload, e));
+            
+        } catch (final RejectedExecutionException deadLetterError) {
+            this.onDeadLetterCompleted(key, deadLetterTopic, deadLetterError);
+        }
+    }
+    
+    private void sendDeadLetter(final String deadLetterTopic, final String key, final byte[] payload, final Throwable e) {
+        try {
+            this.kafkaTemplate
+                    .send(this.createDeadLetterRecord(deadLetterTopic, key, payload, e))
+                    .whenComplete((result, deadLetterError) -> this.onDeadLetterCompleted(key, deadLetterTopic, deadLetterError));
+            
+        } catch (final Exception deadLetterError) {
+            this.onDeadLetterCompleted(key, deadLetterTopic, deadLetterError);
+        }
+    }
+    
+    private ProducerRecord<String, byte[]> createDeadLetterRecord(final String deadLetterTopic, final String key, final byte[] payload, final Throwable e) {
+        final var headers = new RecordHeaders();
+        headers.add(KafkaHeaders.DLT_ORIGINAL_TOPIC, this.orchestratorTopic.getBytes(StandardCharsets.UTF_8));
+        headers.add(KafkaHeaders.DLT_EXCEPTION_FQCN, e.getClass().getName().getBytes(StandardCharsets.UTF_8));
+        headers.add(KafkaHeaders.DLT_EXCEPTION_MESSAGE, String.valueOf(e.getMessage()).getBytes(StandardCharsets.UTF_8));
+        
+        return new ProducerRecord<>(deadLetterTopic, null, key, payload, headers);
+    }
+    
+    private void onDeadLetterCompleted(final String key, final String deadLetterTopic, final Throwable e) {
+        if (e == null) {
+            this.meterRegistry.counter(DEAD_LETTER_METRIC, "topic", this.orchestratorTopic).increment();
+            return;
+        }
+        
+        this.meterRegistry.counter(DROPPED_METRIC, "topic", this.orchestratorTopic).increment();
+        log.error("Error trying to park event with key {} on topic {}, the event was dropped", key, deadLetterTopic, e);
+    }
+    
 }
-
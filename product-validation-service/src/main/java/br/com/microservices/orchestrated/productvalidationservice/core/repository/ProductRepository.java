@@ -1,11 +1,19 @@
 package br.com.microservices.orchestrated.productvalidationservice.core.repository;
 
+import java.util.Collection;
+import java.util.List;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import br.com.microservices.orchestrated.productvalidationservice.core.model.Product;
 
 public interface ProductRepository extends JpaRepository<Product, Integer> {
     
-    Boolean existsByCode(String code);
+    List<Product> findByIdGreaterThanOrderByIdAsc(Integer id);
+    
+    @Query("SELECT p.code FROM Product p WHERE p.code IN :codes")
+    List<String> findExistingCodes(@Param("codes") Collection<String> codes);
     
 }
@@ -1,15 +1,19 @@
 package br.com.microservices.orchestrated.productvalidationservice.core.repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import br.com.microservices.orchestrated.productvalidationservice.core.dto.ProcessedTransaction;
 import br.com.microservices.orchestrated.productvalidationservice.core.model.Validation;
 
 public interface ValidationRepository extends JpaRepository<Validation, Integer> {
     
-    Boolean existsByOrderIdAndTransactionId(String orderId, String transactionId);
-    
     Optional<Validation> findByOrderIdAndTransactionId(String orderId, String transactionId);
     
+    List<ProcessedTransaction> findByCreatedAtAfter(LocalDateTime createdAt, Pageable pageable);
+    
 }
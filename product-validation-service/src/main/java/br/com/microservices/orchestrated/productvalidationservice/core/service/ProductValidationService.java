@@ -2,20 +2,25 @@ package br.com.microservices.orchestrated.productvalidationservice.core.service;
 
 import static org.springframework.util.ObjectUtils.isEmpty;
 
-import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
 
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.TransientDataAccessException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.CannotCreateTransactionException;
 
 import br.com.microservices.orchestrated.productvalidationservice.config.exception.ValidationException;
+import br.com.microservices.orchestrated.productvalidationservice.core.cache.ProcessedTransactionCache;
+import br.com.microservices.orchestrated.productvalidationservice.core.cache.ProductCatalogCache;
 import br.com.microservices.orchestrated.productvalidationservice.core.dto.Event;
-import br.com.microservices.orchestrated.productvalidationservice.core.dto.History;
 import br.com.microservices.orchestrated.productvalidationservice.core.dto.OrderProduct;
+import br.com.microservices.orchestrated.productvalidationservice.core.enums.EHistoryMessage;
 import br.com.microservices.orchestrated.productvalidationservice.core.enums.ESagaStatus;
 import br.com.microservices.orchestrated.productvalidationservice.core.model.Validation;
 import br.com.microservices.orchestrated.productvalidationservice.core.producer.KafkaProducer;
-import br.com.microservices.orchestrated.productvalidationservice.core.repository.ProductRepository;
 import br.com.microservices.orchestrated.productvalidationservice.core.repository.ValidationRepository;
-import br.com.microservices.orchestrated.productvalidationservice.core.utils.JsonUtil;
+import br.com.microservices.orchestrated.productvalidationservice.core.utils.HistoryUtil;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -26,39 +31,64 @@ public class ProductValidationService {
     
     private static final String CURRENT_SOURCE = "PRODUCT_VALIDATION_SERVICE";
     
-    private final JsonUtil jsonUtil;
-    
     private final KafkaProducer producer;
     
-    private final ProductRepository productRepository;
+    private final HistoryUtil historyUtil;
+    
+    private final ProductCatalogCache productCatalogCache;
     
     private final ValidationRepository validationRepository;
     
+    private final ProcessedTransactionCache processedTransactionCache;
+    
     public void validateExistingProducts(final Event event) {
         try {
-            this.checkCurrentValidation(event);
-            this.createValidation(event, true);
+            this.validateProductsInformed(event);
+            
+            final var recordedSuccess = this.findRecordedSuccess(event);
+            
+            if (recordedSuccess.isPresent()) {
+                this.replayValidation(event, recordedSuccess.get());
+            } else {
+                this.checkCurrentValidation(event);
+                this.createValidation(event, true);
+                this.processedTransactionCache.markProcessed(event.getPayload().getId(), event.getTransactionId(), true);
+            }
+            
             this.handleSuccess(event);
             
+        } catch (final TransientDataAccessException | DataAccessResourceFailureException | CannotCreateTransactionException e) {
+            log.warn("Transient error trying to validate products, scheduling retry: {}", e.getMessage());
+            throw e;
+            
         } catch (final Exception e) {
             log.error("Error trying to validate products: ", e);
             this.handleFailCurrentNotExecuted(event, e.getMessage());
         }
         
-        this.producer.sendEvent(this.jsonUtil.toJson(event));
+        this.producer.sendEvent(event);
     }
     
-    private void checkCurrentValidation(final Event event) {
-        this.validateProductsInformed(event);
-        
-        if (this.validationRepository.existsByOrderIdAndTransactionId(event.getOrderId(), event.getTransactionId())) {
-            throw new ValidationException("There's another transactionId for this validation.");
+    public void abandonValidation(final Event event, final String message) {
+        this.handleFailCurrentNotExecuted(event, message);
+        this.producer.sendEvent(event);
+    }
+    
+    private Optional<Boolean> findRecordedSuccess(final Event event) {
+        return this.processedTransactionCache.findSuccess(event.getPayload().getId(), event.getTransactionId());
+    }
+    
+    private void replayValidation(final Event event, final boolean success) {
+        if (!success) {
+            throw new ValidationException("Validation was already rolled back for this transaction.");
         }
         
-        event.getPayload().getProducts().forEach(product -> {
-            this.validateProductInformed(product);
-            this.validateExistingProduct(product.getProduct().getCode());
-        });
+        log.info("Replaying recorded product validation for transaction {}", event.getTransactionId());
+    }
+    
+    private void checkCurrentValidation(final Event event) {
+        event.getPayload().getProducts().forEach(this::validateProductInformed);
+        this.validateExistingProducts(event.getPayload().getProducts().stream().map(product -> product.getProduct().getCode()).toList());
     }
     
     private void validateProductInformed(final OrderProduct product) {
@@ -67,8 +97,8 @@ public class ProductValidationService {
         }
     }
     
-    private void validateExistingProduct(final String code) {
-        if (!this.productRepository.existsByCode(code)) {
+    private void validateExistingProducts(final List<String> codes) {
+        if (!this.productCatalogCache.findMissingCodes(codes).isEmpty()) {
             throw new ValidationException("Product does not exists in database!");
         }
     }
@@ -97,33 +127,36 @@ public class ProductValidationService {
     private void handleSuccess(final Event event) {
         event.setStatus(ESagaStatus.SUCCESS);
         event.setSource(CURRENT_SOURCE);
-        this.addHistory(event, "Products are validated successfully!");
+        this.addHistory(event, EHistoryMessage.PRODUCT_VALIDATION_SUCCESS);
     }
     
-    private void addHistory(final Event event, final String message) {
-        final var history = History
-                .builder()
-                .source(event.getSource())
-                .status(event.getStatus())
-                .message(message)
-                .createdAt(LocalDateTime.now())
-                .build();
-        
-        event.addHistory(history);
+    private void addHistory(final Event event, final EHistoryMessage message) {
+        this.addHistory(event, message, null);
+    }
+    
+    private void addHistory(final Event event, final EHistoryMessage message, final String detail) {
+        event.addHistory(this.historyUtil.create(event, message, detail));
     }
     
     private void handleFailCurrentNotExecuted(final Event event, final String message) {
         event.setStatus(ESagaStatus.ROLLBACK_PENDING);
         event.setSource(CURRENT_SOURCE);
-        this.addHistory(event, "Fail to validate products: " + message);
+        this.addHistory(event, EHistoryMessage.PRODUCT_VALIDATION_FAIL, message);
     }
     
     public void rollbackEvent(final Event event) {
         this.changeValidationToFail(event);
         event.setStatus(ESagaStatus.FAIL);
         event.setSource(CURRENT_SOURCE);
-        this.addHistory(event, "Rollback executed on product validation!");
-        this.producer.sendEvent(this.jsonUtil.toJson(event));
+        this.addHistory(event, EHistoryMessage.PRODUCT_VALIDATION_ROLLBACK);
+        this.producer.sendEvent(event);
+    }
+    
+    public void abandonRollback(final Event event, final String message) {
+        event.setStatus(ESagaStatus.FAIL);
+        event.setSource(CURRENT_SOURCE);
+        this.addHistory(event, EHistoryMessage.PRODUCT_VALIDATION_ROLLBACK_FAIL, message);
+        this.producer.sendEvent(event);
     }
     
     private void changeValidationToFail(final Event event) {
@@ -133,6 +166,8 @@ public class ProductValidationService {
                     validation.setSuccess(false);
                     this.validationRepository.save(validation);
                 }, () -> this.createValidation(event, false));
+        
+        this.processedTransactionCache.markProcessed(event.getPayload().getId(), event.getTransactionId(), false);
     }
     
 }
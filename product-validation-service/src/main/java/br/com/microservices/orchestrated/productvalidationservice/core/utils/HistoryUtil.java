@@ -0,0 +1,42 @@
+package br.com.microservices.orchestrated.productvalidationservice.core.utils;
+
+import java.time.LocalDateTime;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import br.com.microservices.orchestrated.productvalidationservice.core.dto.Event;
+import br.com.microservices.orchestrated.productvalidationservice.core.dto.History;
+import br.com.microservices.orchestrated.productvalidationservice.core.enums.EHistoryMessage;
+import br.com.microservices.orchestrated.productvalidationservice.core.enums.EHistoryMode;
+
+@Component
+public class HistoryUtil {
+    
+    private final EHistoryMode mode;
+    
+    public HistoryUtil(@Value("${saga.history.mode}") final EHistoryMode mode) {
+        this.mode = mode;
+    }
+    
+    public History create(final Event event, final EHistoryMessage message, final String detail) {
+        final var history = History
+                .builder()
+                .source(event.getSource())
+                .status(event.getStatus())
+                .code(message.name());
+        
+        if (this.mode == EHistoryMode.COMPACT) {
+            return history
+                    .detail(detail)
+                    .timestamp(System.currentTimeMillis())
+                    .build();
+        }
+        
+        return history
+                .message(message.describe(detail))
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+    
+}